@@ -0,0 +1,136 @@
+package com.eventHubBackend.Spring.Backend.EventHub.BeanUtils;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * One {@link PropertyCopier} per (source, target) class pair, built on first use. Getters and
+ * setters are bound through LambdaMetafactory into ordinary Function/BiConsumer instances that
+ * the JIT inlines like hand-written calls; accessors it cannot bind (e.g. on a non-public
+ * class) fall back to method handles.
+ */
+public final class CopierRegistry {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType FUNCTION = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType BI_CONSUMER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // Keyed by source class first; ClassValue lets redeployed classes be collected
+    private static final ClassValue<Map<Class<?>, PropertyCopier<?, ?>>> COPIERS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, PropertyCopier<?, ?>> computeValue(Class<?> sourceClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private CopierRegistry() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <S, T> PropertyCopier<S, T> copier(Class<S> sourceClass, Class<T> targetClass) {
+        return (PropertyCopier<S, T>) COPIERS.get(sourceClass)
+                .computeIfAbsent(targetClass, target -> build(sourceClass, target));
+    }
+
+    private static PropertyCopier<?, ?> build(Class<?> sourceClass, Class<?> targetClass) {
+        List<PropertyCopier.Property> properties = new ArrayList<>();
+        for (PropertyDescriptor source : BeanUtils.getPropertyDescriptors(sourceClass)) {
+            Method read = source.getReadMethod();
+            if (read == null || "class".equals(source.getName())) continue;
+
+            PropertyDescriptor target = BeanUtils.getPropertyDescriptor(targetClass, source.getName());
+            Method write = target != null ? target.getWriteMethod() : null;
+            if (write == null || !ClassUtils.isAssignable(write.getParameterTypes()[0], read.getReturnType())) continue;
+
+            Method readTarget = target.getReadMethod();
+            properties.add(new PropertyCopier.Property(
+                    source.getName(),
+                    getter(read),
+                    readTarget != null ? getter(readTarget) : null,
+                    setter(write)));
+        }
+        return new PropertyCopier<>(properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method method) {
+        MethodHandle handle = unreflect(method);
+        if (bindable(method)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+                        MethodType.methodType(Function.class), FUNCTION, handle,
+                        MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()), method.getDeclaringClass()));
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable ex) {
+                // Fall through to the method handle
+            }
+        }
+
+        MethodHandle generic = handle.asType(FUNCTION);
+        return source -> {
+            try {
+                return generic.invokeExact(source);
+            } catch (Throwable ex) {
+                throw rethrow(ex);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method method) {
+        MethodHandle handle = unreflect(method);
+        if (bindable(method)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                        MethodType.methodType(BiConsumer.class), BI_CONSUMER, handle,
+                        MethodType.methodType(void.class, method.getDeclaringClass(),
+                                ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0])));
+                return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable ex) {
+                // Fall through to the method handle
+            }
+        }
+
+        MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (target, value) -> {
+            try {
+                generic.invokeExact(target, value);
+            } catch (Throwable ex) {
+                throw rethrow(ex);
+            }
+        };
+    }
+
+    private static boolean bindable(Method method) {
+        return Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalArgumentException("Property accessor is not accessible: " + method, ex);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable ex) {
+        if (ex instanceof RuntimeException runtime) return runtime;
+        if (ex instanceof Error error) throw error;
+        return new IllegalStateException(ex);
+    }
+}
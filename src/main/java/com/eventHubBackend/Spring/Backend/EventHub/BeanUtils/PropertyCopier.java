@@ -0,0 +1,59 @@
+package com.eventHubBackend.Spring.Backend.EventHub.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Copies the non-null properties of a source onto a target that has a writable property of the
+ * same name and type, skipping values the target already holds. The accessors are generated
+ * once by {@link CopierRegistry}, so a copy is a loop over plain method calls.
+ * <p>
+ * Primitive source properties are never null and are always considered; patch objects should
+ * use wrapper types for fields that may be left out.
+ */
+public final class PropertyCopier<S, T> {
+
+    record Property(String name,
+                    Function<Object, Object> read,
+                    Function<Object, Object> readTarget,
+                    BiConsumer<Object, Object> write) {
+    }
+
+    private final Property[] properties;
+
+    PropertyCopier(List<Property> properties) {
+        this.properties = properties.toArray(Property[]::new);
+    }
+
+    /**
+     * Copies and returns the names of the properties that changed on the target, in
+     * declaration order; empty when nothing did.
+     */
+    public Set<String> copy(S source, T target) {
+        Set<String> changed = null;
+        for (Property property : properties) {
+            Object value = property.read().apply(source);
+            if (value == null) continue;
+            if (property.readTarget() != null && Objects.equals(value, property.readTarget().apply(target))) continue;
+
+            property.write().accept(target, value);
+            if (changed == null) changed = new LinkedHashSet<>();
+            changed.add(property.name());
+        }
+        return changed == null ? Set.of() : changed;
+    }
+
+    /**
+     * Names of the properties this copier considers.
+     */
+    public List<String> propertyNames() {
+        List<String> names = new ArrayList<>(properties.length);
+        for (Property property : properties) names.add(property.name());
+        return names;
+    }
+}
@@ -1,29 +1,26 @@
 package com.eventHubBackend.Spring.Backend.EventHub.BeanUtils;
 
-import org.springframework.beans.BeanUtils;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.util.Set;
 
 public class UpdateUtil {
 
-
-
+    /**
+     * Copies source's non-null properties that differ from target's onto target.
+     * See {@link CopierRegistry}; use {@link #copyChangedProperties} to learn what changed.
+     */
     public static Object copyNonNullAndChangedProperties(Object source, Object target) {
-        for (Field field : source.getClass().getDeclaredFields()) {
-            try {
-                field.setAccessible(true);
-                Object value = field.get(source);
-                if (value != null) {
-                    Field targetField = target.getClass().getDeclaredField(field.getName());
-                    targetField.setAccessible(true);
-                    targetField.set(target, value);
-                }
-            } catch (Exception ignored) {}
-        }
-
+        copyChangedProperties(source, target);
         return target;
     }
 
-}
+    /**
+     * Same copy, returning the names of the properties that changed.
+     */
+    @SuppressWarnings("unchecked")
+    public static Set<String> copyChangedProperties(Object source, Object target) {
+        PropertyCopier<Object, Object> copier =
+                (PropertyCopier<Object, Object>) CopierRegistry.copier(source.getClass(), target.getClass());
+        return copier.copy(source, target);
+    }
 
+}
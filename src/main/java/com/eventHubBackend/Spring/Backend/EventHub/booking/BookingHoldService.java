@@ -0,0 +1,209 @@
+package com.eventHubBackend.Spring.Backend.EventHub.booking;
+
+import com.eventHubBackend.Spring.Backend.EventHub.inventory.SeatInventoryService;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.BookingStatus;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.BookingRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Holds the seats of PENDING bookings for a limited time. Every hold is one timeout on a
+ * {@link HashedTimingWheel}; holds that run out are cancelled in batches, their tickets deleted
+ * and their seats handed back to the {@link SeatInventoryService}. Holds whose node went down
+ * before they ran out are swept up by whichever node looks next.
+ */
+@Slf4j
+@Service
+public class BookingHoldService {
+
+    public record Hold(Long bookingId, Long eventId, int[] seats) {}
+
+    private final BookingRepository bookingRepository;
+    private final TicketRepository ticketRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration sweepInterval;
+    private final int batchSize;
+
+    private final Map<Long, HashedTimingWheel.Timeout<Hold>> holds = new ConcurrentHashMap<>();
+    private final HashedTimingWheel<Hold> wheel;
+
+    public BookingHoldService(BookingRepository bookingRepository,
+                              TicketRepository ticketRepository,
+                              SeatInventoryService seatInventoryService,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${booking.hold.ttl:PT10M}") Duration ttl,
+                              @Value("${booking.hold.tick:PT1S}") Duration tick,
+                              @Value("${booking.hold.wheel-size:1024}") int wheelSize,
+                              @Value("${booking.hold.batch-size:500}") int batchSize,
+                              @Value("${booking.hold.sweep-interval:PT1M}") Duration sweepInterval) {
+        this.bookingRepository = bookingRepository;
+        this.ticketRepository = ticketRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.sweepInterval = sweepInterval;
+        this.batchSize = batchSize;
+        this.wheel = new HashedTimingWheel<>("booking-hold-wheel", tick, wheelSize, batchSize, this::expire);
+    }
+
+    /**
+     * Starts the hold clock for a booking that was just committed as PENDING.
+     */
+    public LocalDateTime place(Long bookingId, Long eventId, int[] seats) {
+        holds.put(bookingId, wheel.schedule(new Hold(bookingId, eventId, seats), ttl));
+        return LocalDateTime.now().plus(ttl);
+    }
+
+    /**
+     * Stops the hold clock, e.g. once the booking is confirmed or cancelled by its owner.
+     */
+    public void release(Long bookingId) {
+        HashedTimingWheel.Timeout<Hold> timeout = holds.remove(bookingId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Bookings made before this have run out of hold time.
+     */
+    public LocalDateTime heldSince() {
+        return LocalDateTime.now().minus(ttl);
+    }
+
+    public int activeHolds() {
+        return wheel.pendingTimeouts();
+    }
+
+    /**
+     * Re-creates the holds of bookings still PENDING in the database, then starts the wheel.
+     * Runs after the seat inventory rebuild so released seats land in a loaded seat map.
+     */
+    @Order(2)
+    @EventListener(ApplicationReadyEvent.class)
+    // Read-write on purpose: a read-only transaction may go to a replica, which could miss recent holds
+    @Transactional
+    public void restore() {
+        LocalDateTime now = LocalDateTime.now();
+        int[] restored = {0};
+
+        try (Stream<BookingRepository.HeldSeat> seats = bookingRepository.streamSeatsByStatus(BookingStatus.PENDING)) {
+            List<BookingRepository.HeldSeat> group = new ArrayList<>();
+            seats.forEach(seat -> {
+                if (!group.isEmpty() && !group.get(0).getBookingId().equals(seat.getBookingId())) {
+                    restoreHold(group, now);
+                    restored[0]++;
+                    group.clear();
+                }
+                group.add(seat);
+            });
+            if (!group.isEmpty()) {
+                restoreHold(group, now);
+                restored[0]++;
+            }
+        } finally {
+            // Holds placed by new bookings must expire even if the restore broke off
+            wheel.start();
+        }
+
+        log.info("Restored {} pending booking holds", restored[0]);
+    }
+
+    private void restoreHold(List<BookingRepository.HeldSeat> group, LocalDateTime now) {
+        Hold hold = toHold(group);
+        Duration remaining = Duration.between(now, group.get(0).getBookingDate().plus(ttl));
+        holds.put(hold.bookingId(), wheel.schedule(hold, remaining));
+    }
+
+    private Hold toHold(List<BookingRepository.HeldSeat> group) {
+        BookingRepository.HeldSeat first = group.get(0);
+        // The booking is still held and expired as a whole; only its unusable seats are not released
+        int[] seats = seatInventoryService.parseStoredSeats(first.getEventId(),
+                group.stream().map(BookingRepository.HeldSeat::getSeatNumber).toList());
+        return new Hold(first.getBookingId(), first.getEventId(), seats);
+    }
+
+    /**
+     * Expires PENDING bookings overdue by more than a sweep interval, which the wheel of the
+     * node that placed them should long have done. Every node sweeps; expire() only cancels
+     * bookings still PENDING under the row lock, so none is cancelled twice.
+     */
+    @Scheduled(initialDelayString = "${booking.hold.sweep-interval:PT1M}",
+            fixedDelayString = "${booking.hold.sweep-interval:PT1M}")
+    public void sweepOrphans() {
+        List<BookingRepository.HeldSeat> seats = bookingRepository.findSeatsByStatusBookedBefore(
+                BookingStatus.PENDING, heldSince().minus(sweepInterval));
+        if (seats.isEmpty()) return;
+
+        List<Hold> overdue = new ArrayList<>();
+        List<BookingRepository.HeldSeat> group = new ArrayList<>();
+        for (BookingRepository.HeldSeat seat : seats) {
+            if (!group.isEmpty() && !group.get(0).getBookingId().equals(seat.getBookingId())) {
+                overdue.add(toHold(group));
+                group.clear();
+            }
+            group.add(seat);
+        }
+        overdue.add(toHold(group));
+
+        log.warn("Sweeping {} booking holds that were not expired in time", overdue.size());
+        for (int from = 0; from < overdue.size(); from += batchSize) {
+            List<Hold> batch = overdue.subList(from, Math.min(from + batchSize, overdue.size()));
+            batch.forEach(hold -> release(hold.bookingId()));
+            expire(batch);
+        }
+    }
+
+    /**
+     * Called on the wheel thread with up to batch-size expired holds. Only bookings that are
+     * still PENDING under a row lock are cancelled, so a confirmation racing the expiry wins cleanly.
+     */
+    private void expire(List<Hold> batch) {
+        List<Long> ids = batch.stream().map(Hold::bookingId).toList();
+
+        List<Long> cancelled = transactionTemplate.execute(status -> {
+            List<Long> pending = bookingRepository.lockIdsByStatus(ids, BookingStatus.PENDING);
+            if (!pending.isEmpty()) {
+                bookingRepository.transition(pending, BookingStatus.PENDING, BookingStatus.CANCELLED);
+                ticketRepository.deleteByBookingIds(pending);
+            }
+            return pending;
+        });
+
+        Set<Long> cancelledIds = new HashSet<>(cancelled);
+        for (Hold hold : batch) {
+            holds.remove(hold.bookingId());
+            if (cancelledIds.contains(hold.bookingId())) {
+                seatInventoryService.release(hold.eventId(), hold.seats());
+            }
+        }
+
+        log.info("Expired {} booking holds, {} were still pending", batch.size(), cancelled.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.close();
+    }
+}
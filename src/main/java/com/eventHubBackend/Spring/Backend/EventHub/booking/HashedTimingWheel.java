@@ -0,0 +1,223 @@
+package com.eventHubBackend.Spring.Backend.EventHub.booking;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: a ring of buckets that one worker thread visits once per tick.
+ * Scheduling and cancelling only push onto lock-free queues, so both are O(1) for the caller;
+ * the worker moves new timeouts into their bucket and unlinks cancelled ones.
+ * Everything that expires in a tick is handed to the expiry handler in batches.
+ */
+@Slf4j
+public final class HashedTimingWheel<T> implements AutoCloseable {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final Bucket<T>[] wheel;
+    private final int mask;
+    private final int batchSize;
+    private final Consumer<List<T>> expiryHandler;
+
+    private final Queue<Timeout<T>> incoming = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final Thread worker;
+
+    private volatile long startTime;
+    private volatile boolean running;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, Duration tickDuration, int ticksPerWheel, int batchSize,
+                             Consumer<List<T>> expiryHandler) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(ticksPerWheel, 1) - 1) << 1;
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[Math.max(size, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.mask = wheel.length - 1;
+        this.batchSize = batchSize;
+        this.expiryHandler = expiryHandler;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        startTime = System.nanoTime();
+        running = true;
+        worker.start();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    public Timeout<T> schedule(T item, Duration delay) {
+        long delayNanos = Math.max(delay.toNanos(), 0);
+        Timeout<T> timeout = new Timeout<>(this, item, System.nanoTime() + delayNanos);
+        pendingTimeouts.incrementAndGet();
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    public int pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    private void run() {
+        while (running) {
+            if (!waitForNextTick()) break;
+
+            unlinkCancelled();
+            transferIncoming();
+
+            List<T> expired = wheel[(int) (tick & mask)].expire();
+            tick++;
+
+            for (int from = 0; from < expired.size(); from += batchSize) {
+                List<T> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+                try {
+                    expiryHandler.accept(batch);
+                } catch (RuntimeException ex) {
+                    log.error("Expiry handler failed for a batch of {} timeouts", batch.size(), ex);
+                }
+            }
+        }
+    }
+
+    private boolean waitForNextTick() {
+        long deadline = startTime + (tick + 1) * tickNanos;
+        while (true) {
+            long sleepNanos = deadline - System.nanoTime();
+            // Catch up without sleeping when a slow batch made us late
+            if (sleepNanos <= 0) return true;
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException ex) {
+                if (!running) return false;
+            }
+        }
+    }
+
+    private void transferIncoming() {
+        Timeout<T> timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.state.get() != PENDING) continue;
+
+            long deadlineTick = Math.max((timeout.deadline - startTime) / tickNanos, tick);
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+            wheel[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void unlinkCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    public static final class Timeout<T> {
+        private final HashedTimingWheel<T> timer;
+        private final T item;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Owned by the worker thread
+        private long remainingRounds;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HashedTimingWheel<T> timer, T item, long deadline) {
+            this.timer = timer;
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        /**
+         * Returns false when the timeout already fired or was cancelled before.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) return false;
+            timer.pendingTimeouts.decrementAndGet();
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        private boolean expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) return false;
+            timer.pendingTimeouts.decrementAndGet();
+            return true;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.bucket != this) return;
+            if (timeout.prev != null) timeout.prev.next = timeout.next;
+            if (timeout.next != null) timeout.next.prev = timeout.prev;
+            if (timeout == head) head = timeout.next;
+            if (timeout == tail) tail = timeout.prev;
+            timeout.prev = timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        List<T> expire() {
+            List<T> expired = new ArrayList<>();
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.expire()) expired.add(timeout.item);
+                } else if (timeout.state.get() == CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+            return expired;
+        }
+    }
+}
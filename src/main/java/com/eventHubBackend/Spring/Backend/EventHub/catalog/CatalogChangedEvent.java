@@ -0,0 +1,15 @@
+package com.eventHubBackend.Spring.Backend.EventHub.catalog;
+
+import java.util.Set;
+
+/**
+ * Entities of a catalog that another node changed, published when this node's refresh picks up
+ * the new version. Listeners re-read them: a missing row means the entity was deleted. A null
+ * set means this node fell too far behind to know what changed, so everything is re-read.
+ */
+public record CatalogChangedEvent(CatalogVersions.Catalog catalog, Set<Long> ids) {
+
+    public boolean everything() {
+        return ids == null;
+    }
+}
@@ -0,0 +1,292 @@
+package com.eventHubBackend.Spring.Backend.EventHub.catalog;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.CatalogChange;
+import com.eventHubBackend.Spring.Backend.EventHub.model.CatalogVersion;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogChangeRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Versions of the event and venue catalogs, used as entity tags for their read endpoints. Every
+ * write bumps a row in catalog_versions right after it commits; this node sees the new version
+ * straight away, other nodes within one refresh interval.
+ * <p>
+ * The tag is read from memory before anything is loaded, so a request whose If-None-Match
+ * still matches is answered without touching the database. A body that does get loaded is
+ * tagged with the version read first in its own transaction, from the database it was read
+ * from, so data on a lagging replica is never tagged with this node's newer version.
+ * <p>
+ * The tag is nothing but the shared version, so every node hands out the same tag for the same
+ * data. Like counts move it at most once per likes.tag-interval, so a revalidated response may
+ * lag them by that much; see EventLikeCounter.
+ * <p>
+ * Writes that name the entities they {@link #changed} also log them in catalog_changes with the
+ * version they moved to. When a refresh sees another node's versions it publishes those
+ * entities as a {@link CatalogChangedEvent}, so the in-memory indexes re-read them. A write
+ * whose node dies between its commit and its bump is lost to the other nodes until a restart,
+ * as it is to the tags.
+ */
+@Slf4j
+@Component
+public class CatalogVersions implements ApplicationEventPublisherAware {
+
+    public enum Catalog { EVENTS, VENUES }
+
+    public record Tagged<T>(T body, String etag) {
+    }
+
+    private static final Catalog[] CATALOGS = Catalog.values();
+
+    /**
+     * Committed writes of one catalog whose bump has not reached the database yet.
+     */
+    private static final class Owed {
+        boolean bumped;
+        final Set<Long> ids = new HashSet<>();
+    }
+
+    private final CatalogVersionRepository repository;
+    private final CatalogChangeRepository changeRepository;
+    private final TransactionTemplate incrementTemplate;
+    private final TransactionTemplate readTemplate;
+    private final String origin = UUID.randomUUID().toString();
+    private ApplicationEventPublisher publisher;
+
+    @Value("${catalog.changes.retention:PT24H}")
+    private Duration changeRetention = Duration.ofHours(24);
+
+    // -1 until loaded; no tags are issued before that
+    private final AtomicLongArray stored = new AtomicLongArray(CATALOGS.length);
+    // Highest version whose changes from other nodes were published; -1 until loaded
+    private final long[] synced = new long[CATALOGS.length];
+    private long syncedAt;
+    private final Owed[] owed = new Owed[CATALOGS.length];
+
+    public CatalogVersions(CatalogVersionRepository repository, CatalogChangeRepository changeRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.changeRepository = changeRepository;
+        this.incrementTemplate = new TransactionTemplate(transactionManager);
+        incrementTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Named inside the application package, so it is routed like a service read
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        readTemplate.setName(CatalogVersions.class.getName() + ".read");
+        for (int i = 0; i < CATALOGS.length; i++) {
+            stored.set(i, -1);
+            synced[i] = -1;
+            owed[i] = new Owed();
+        }
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Seeds the rows a fresh database does not have yet. Several nodes may race to insert the
+     * same row; the losers simply read the winner's. Runs before the indexes are built, so a
+     * change committed in between is published again rather than missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        for (Catalog catalog : CATALOGS) {
+            if (repository.existsById(catalog.name())) continue;
+            try {
+                repository.saveAndFlush(new CatalogVersion(catalog.name(), 0));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Catalog version {} was seeded by another node", catalog);
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * Retries bumps that failed, then picks up bumps committed by other nodes and publishes
+     * what they changed.
+     */
+    @Scheduled(fixedDelayString = "${catalog.version.refresh-interval:PT2S}")
+    public void refresh() {
+        incrementOwed();
+        try {
+            for (CatalogVersion row : repository.findAll()) {
+                Catalog catalog = catalogOf(row.getName());
+                if (catalog == null) continue;
+                advance(catalog, row.getVersion());
+                sync(catalog, row.getVersion());
+            }
+            syncedAt = System.nanoTime();
+        } catch (DataAccessException e) {
+            log.warn("Refreshing catalog versions failed, keeping the current ones: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops changes every node has long since picked up.
+     */
+    @Scheduled(fixedDelayString = "${catalog.changes.prune-interval:PT1H}")
+    public void prune() {
+        try {
+            changeRepository.deleteOlderThan(LocalDateTime.now().minus(changeRetention));
+        } catch (DataAccessException e) {
+            log.warn("Pruning catalog changes failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Bumps the catalogs once the caller's transaction commits, or at once when there is none.
+     * The increment runs in a short transaction of its own, so the shared row is never locked
+     * for as long as the write; one that fails is retried by the next refresh.
+     */
+    public void bump(Catalog... catalogs) {
+        afterCommit(() -> {
+            for (Catalog catalog : catalogs) {
+                owe(catalog, List.of());
+            }
+        });
+    }
+
+    /**
+     * Bumps the catalog like {@link #bump} and tells the other nodes which entities changed.
+     */
+    public void changed(Catalog catalog, Collection<Long> ids) {
+        afterCommit(() -> owe(catalog, ids));
+    }
+
+    /**
+     * Weak entity tag of the catalog's current version, or null while it is not known yet.
+     */
+    public String etag(Catalog catalog) {
+        return etag(catalog, stored.get(catalog.ordinal()));
+    }
+
+    /**
+     * Loads the body in one read-only transaction with the catalog version, read before it.
+     * Service reads join that transaction, so both come from the same database and snapshot.
+     */
+    public <T> Tagged<T> read(Catalog catalog, Supplier<T> body) {
+        return readTemplate.execute(status -> {
+            long version = repository.findVersion(catalog.name()).orElse(-1L);
+            return new Tagged<>(body.get(), etag(catalog, version));
+        });
+    }
+
+    private static String etag(Catalog catalog, long version) {
+        if (version < 0) return null;
+        return "W/\"" + catalog.name().toLowerCase(Locale.ROOT) + "-" + version + "\"";
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void owe(Catalog catalog, Collection<Long> ids) {
+        Owed pending = owed[catalog.ordinal()];
+        synchronized (pending) {
+            pending.bumped = true;
+            pending.ids.addAll(ids);
+        }
+        incrementOwed();
+    }
+
+    // A single increment covers every write that committed before it started, so whoever claims
+    // the owed writes settles all of them
+    private void incrementOwed() {
+        for (Catalog catalog : CATALOGS) {
+            Owed pending = owed[catalog.ordinal()];
+            List<Long> ids;
+            synchronized (pending) {
+                if (!pending.bumped) continue;
+                ids = List.copyOf(pending.ids);
+                pending.bumped = false;
+                pending.ids.clear();
+            }
+            try {
+                Long version = incrementTemplate.execute(status -> {
+                    repository.increment(catalog.name());
+                    long bumped = repository.findVersion(catalog.name()).orElse(-1L);
+                    LocalDateTime now = LocalDateTime.now();
+                    changeRepository.saveAll(ids.stream()
+                            .map(id -> new CatalogChange(null, catalog.name(), bumped, id, origin, now))
+                            .toList());
+                    return bumped;
+                });
+                advance(catalog, version == null ? -1 : version);
+            } catch (DataAccessException | TransactionException e) {
+                synchronized (pending) {
+                    pending.bumped = true;
+                    pending.ids.addAll(ids);
+                }
+                log.warn("Bumping catalog version {} failed, retrying on the next refresh: {}", catalog, e.getMessage());
+            }
+        }
+    }
+
+    // Never backwards: a refresh that read before a local bump committed must not undo it
+    private void advance(Catalog catalog, long version) {
+        stored.accumulateAndGet(catalog.ordinal(), version, Math::max);
+    }
+
+    // Only the scheduled refresh and the one in load() get here, never concurrently
+    private synchronized void sync(Catalog catalog, long version) {
+        int i = catalog.ordinal();
+        long from = synced[i];
+        if (from >= 0 && version > from) {
+            // Changes this old may already be pruned, so it is no longer known what changed
+            boolean behind = System.nanoTime() - syncedAt > changeRetention.toNanos() / 2;
+            Set<Long> ids = behind
+                    ? null
+                    : Set.copyOf(changeRepository.findChangedIds(catalog.name(), from, version, origin));
+            if (publisher != null && (ids == null || !ids.isEmpty())) {
+                publisher.publishEvent(new CatalogChangedEvent(catalog, ids));
+            }
+        }
+        synced[i] = Math.max(from, version);
+    }
+
+    private static Catalog catalogOf(String name) {
+        for (Catalog catalog : CATALOGS) {
+            if (catalog.name().equals(name)) return catalog;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.eventHubBackend.Spring.Backend.EventHub.catalog;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers a GET from its entity tag when the client already has the current version, and
+ * only runs the body supplier, with its queries and serialisation, when it does not.
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Matches If-None-Match against this node's version of the catalog; a body that has to be
+     * loaded is tagged with the version it was read at, see {@link CatalogVersions#read}.
+     */
+    public static <T> ResponseEntity<T> respond(WebRequest request, CatalogVersions versions, CatalogVersions.Catalog catalog,
+                                                CacheControl cacheControl, Supplier<T> body) {
+        String current = versions.etag(catalog);
+        if (current != null && matches(request, current)) {
+            return notModified(current, cacheControl);
+        }
+
+        CatalogVersions.Tagged<T> loaded = versions.read(catalog, body);
+        if (loaded.etag() == null) {
+            return ResponseEntity.ok().cacheControl(cacheControl).body(loaded.body());
+        }
+        // A lagging replica may still hold exactly what the client has
+        if (request.checkNotModified(loaded.etag())) {
+            return notModified(loaded.etag(), cacheControl);
+        }
+        return ResponseEntity.ok().eTag(loaded.etag()).cacheControl(cacheControl).body(loaded.body());
+    }
+
+    // Weak comparison over every tag in If-None-Match, * included. Unlike checkNotModified it
+    // leaves the response alone, so a miss does not put this node's tag on the loaded body
+    private static boolean matches(WebRequest request, String etag) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (headers == null) return false;
+
+        ETag current = ETag.create(etag);
+        for (String header : headers) {
+            for (ETag tag : ETag.parse(header)) {
+                if (tag.isWildcard() || tag.compare(current, false)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+}
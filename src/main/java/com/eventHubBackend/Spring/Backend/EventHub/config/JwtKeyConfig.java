@@ -0,0 +1,66 @@
+package com.eventHubBackend.Spring.Backend.EventHub.config;
+
+import com.eventHubBackend.Spring.Backend.EventHub.jwt.FileSigningKeySource;
+import com.eventHubBackend.Spring.Backend.EventHub.jwt.InMemorySigningKeySource;
+import com.eventHubBackend.Spring.Backend.EventHub.jwt.JwtKeyRing;
+import com.eventHubBackend.Spring.Backend.EventHub.jwt.KeyStoreSigningKeySource;
+import com.eventHubBackend.Spring.Backend.EventHub.jwt.SigningKeySource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class JwtKeyConfig {
+
+    // JSON key file on storage shared by all replicas; rotated automatically
+    @Value("${jwt.keys.file:}")
+    private String keyFile;
+
+    // Alternatively a keystore of secret keys, rotated by operators
+    @Value("${jwt.keys.keystore:}")
+    private String keyStore;
+
+    @Value("${jwt.keys.keystore-type:PKCS12}")
+    private String keyStoreType;
+
+    @Value("${jwt.keys.keystore-password:}")
+    private String keyStorePassword;
+
+    @Value("${jwt.keys.rotation-period:P7D}")
+    private Duration rotationPeriod;
+
+    @Value("${jwt.keys.refresh-interval:PT1M}")
+    private Duration refreshInterval;
+
+    @Value("${jwt.keys.auto-rotate:true}")
+    private boolean autoRotate;
+
+    @Value("${jwt.expiration}")
+    private Duration jwtExpiration;
+
+    @Bean
+    public JwtKeyRing jwtKeyRing() {
+        SigningKeySource source;
+        if (!keyFile.isBlank()) {
+            source = new FileSigningKeySource(Path.of(keyFile));
+        } else if (!keyStore.isBlank()) {
+            source = new KeyStoreSigningKeySource(Path.of(keyStore), keyStoreType, keyStorePassword);
+        } else {
+            log.warn("No jwt.keys.file or jwt.keys.keystore configured, tokens will not survive a restart " +
+                    "or verify on other nodes");
+            source = new InMemorySigningKeySource();
+        }
+
+        // Old keys must outlive every token they signed; new keys wait until all nodes have reloaded
+        Duration retention = jwtExpiration.plus(refreshInterval.multipliedBy(2));
+        Duration propagationDelay = refreshInterval.multipliedBy(2);
+
+        return new JwtKeyRing(source, rotationPeriod, retention, propagationDelay, autoRotate, Clock.systemUTC());
+    }
+}
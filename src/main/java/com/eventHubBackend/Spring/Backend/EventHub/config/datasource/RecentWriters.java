@@ -0,0 +1,64 @@
+package com.eventHubBackend.Spring.Backend.EventHub.config.datasource;
+
+import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users who committed a write less than one replica lag window ago. Their read-only
+ * transactions stay on the primary until the window has passed, so they always read their own
+ * writes. Kept per node, like the token version cache; background work has no user and never
+ * pins anyone.
+ */
+public class RecentWriters implements TransactionExecutionListener {
+
+    private final long windowNanos;
+    private final int maxEntries;
+
+    private final Map<Integer, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public RecentWriters(Duration window, int maxEntries) {
+        this.windowNanos = window.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()) return;
+
+        Integer userId = currentUserId();
+        if (userId != null) pin(userId);
+    }
+
+    public void pin(Integer userId) {
+        long now = System.nanoTime();
+        if (pinnedUntil.size() >= maxEntries) {
+            pinnedUntil.values().removeIf(until -> until - now < 0);
+        }
+        pinnedUntil.put(userId, now + windowNanos);
+    }
+
+    public boolean isPinned(Integer userId) {
+        if (userId == null) return false;
+
+        Long until = pinnedUntil.get(userId);
+        if (until == null) return false;
+        if (until - System.nanoTime() < 0) {
+            pinnedUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+
+    public static Integer currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrinciple user ? user.getId() : null;
+    }
+}
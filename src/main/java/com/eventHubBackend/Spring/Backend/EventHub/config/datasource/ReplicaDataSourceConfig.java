@@ -0,0 +1,67 @@
+package com.eventHubBackend.Spring.Backend.EventHub.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Primary and replica pools behind one routing DataSource, switched on by setting
+ * {@code datasource.replica.url}. The primary keeps the usual {@code spring.datasource.*}
+ * settings; the replica takes the same keys under {@code datasource.replica}, pool settings
+ * under {@code datasource.replica.hikari}. Without a replica URL Spring Boot's single pool is
+ * used unchanged.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public RecentWriters recentWriters(@Value("${datasource.replica.lag-window:PT5S}") Duration lagWindow,
+                                       @Value("${datasource.replica.max-pinned-users:100000}") int maxPinnedUsers) {
+        return new RecentWriters(lagWindow, maxPinnedUsers);
+    }
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        return pool(properties, "spring.datasource.hikari", "primary", environment);
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("datasource.replica", DataSourceProperties.class)
+                .get();
+        HikariDataSource replica = pool(properties, "datasource.replica.hikari", "replica", environment);
+        // A routing mistake fails loudly instead of writing to a replica
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 RecentWriters recentWriters) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, recentWriters));
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String hikariPrefix, String poolName,
+                                         Environment environment) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(poolName);
+        Binder.get(environment).bind(hikariPrefix, Bindable.ofInstance(pool));
+        return pool;
+    }
+}
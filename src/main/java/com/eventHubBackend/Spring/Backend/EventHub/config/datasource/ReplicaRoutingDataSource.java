@@ -0,0 +1,49 @@
+package com.eventHubBackend.Spring.Backend.EventHub.config.datasource;
+
+import com.eventHubBackend.Spring.Backend.EventHub.SpringBackendEventHubApplication;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends the read-only transactions of this application's own services to the replica and
+ * everything else to the primary. It must sit behind a LazyConnectionDataSourceProxy: the
+ * transaction is only marked read-only after it has asked for its connection, so the target is
+ * chosen when the first statement runs.
+ * <p>
+ * Spring Data wraps single repository calls in read-only transactions of its own. Those stay on
+ * the primary, because code that reads and then writes outside a transaction must not see a
+ * lagging copy. So do users who wrote within the last lag window; see {@link RecentWriters}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private static final String APPLICATION_PACKAGE = SpringBackendEventHubApplication.class.getPackageName() + ".";
+
+    private final RecentWriters recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, RecentWriters recentWriters) {
+        this.recentWriters = recentWriters;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Target determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        // The outermost transaction names it; a repository call inside a service keeps the service's name
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (name == null || !name.startsWith(APPLICATION_PACKAGE)) {
+            return Target.PRIMARY;
+        }
+        return recentWriters.isPinned(RecentWriters.currentUserId()) ? Target.PRIMARY : Target.REPLICA;
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventHubBackend.Spring.Backend.EventHub.config.security;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.stereotype.Component;
@@ -14,6 +15,9 @@ import java.util.Map;
 @Component
 public class CustomAccessDeniedHandler implements AccessDeniedHandler {
 
+    @Autowired
+    ObjectMapper objectMapper; // Spring-managed, has JavaTimeModule for the timestamp
+
     @Override
     public void handle(HttpServletRequest request,
                        HttpServletResponse response,
@@ -29,7 +33,7 @@ public class CustomAccessDeniedHandler implements AccessDeniedHandler {
         errorBody.put("message", accessDeniedException.getMessage());
         errorBody.put("path", request.getRequestURI());
 
-        new ObjectMapper().writeValue(response.getOutputStream(), errorBody);
+        objectMapper.writeValue(response.getOutputStream(), errorBody);
     }
 }
 
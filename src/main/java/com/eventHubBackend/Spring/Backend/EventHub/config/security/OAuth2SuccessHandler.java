@@ -44,9 +44,6 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
 
         String email = oauthUser.getAttribute("email");
         String name = oauthUser.getAttribute("name");
-        String token = jwtService.generateToken(email);
-
-
         User user = userRepo.findByEmail(email);
 
         if(user == null){
@@ -57,9 +54,11 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
                     .password("{noop} %s".formatted(email))
                     .build();
 
-            userService.saveUser(user);
+            user = userService.saveUser(user);
         }
 
+        String token = jwtService.generateToken(new UserPrinciple(user));
+
         // Set Secure HttpOnly Cookie like signin()
         ResponseCookie cookie = ResponseCookie.from("authToken", token)
                 .httpOnly(true)
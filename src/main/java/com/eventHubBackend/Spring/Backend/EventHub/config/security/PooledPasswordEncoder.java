@@ -0,0 +1,158 @@
+package com.eventHubBackend.Spring.Backend.EventHub.config.security;
+
+import com.eventHubBackend.Spring.Backend.EventHub.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a small dedicated pool. At most hash-threads hashes run at once and at most
+ * queue-capacity wait; anything beyond that is refused straight away with a 503 instead of
+ * pinning Tomcat workers, so a login burst cannot starve the other endpoints.
+ * <p>
+ * The work factor is calibrated at startup to the highest cost that stays within the target
+ * hash time (never below min-cost), and stored hashes with a lower cost are reported for
+ * upgrade so they are re-hashed on the next successful login.
+ */
+@Slf4j
+@Component
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder encoder;
+    private final int cost;
+    private final Duration maxWait;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PooledPasswordEncoder(MeterRegistry meterRegistry,
+                                 @Value("${security.password.hash-threads:0}") int threads,
+                                 @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                                 @Value("${security.password.max-wait:PT5S}") Duration maxWait,
+                                 @Value("${security.password.bcrypt-cost:0}") int fixedCost,
+                                 @Value("${security.password.min-cost:12}") int minCost,
+                                 @Value("${security.password.max-cost:15}") int maxCost,
+                                 @Value("${security.password.target-hash-time:PT0.25S}") Duration targetHashTime) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWait = maxWait;
+        this.cost = fixedCost > 0 ? fixedCost : calibrate(minCost, maxCost, targetHashTime);
+        this.encoder = new BCryptPasswordEncoder(cost);
+
+        this.encodeTimer = Timer.builder("eventhub.password.hash").tag("operation", "encode")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.matchesTimer = Timer.builder("eventhub.password.hash").tag("operation", "matches")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.rejected = Counter.builder("eventhub.password.hash.rejected").register(meterRegistry);
+        Gauge.builder("eventhub.password.hash.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("eventhub.password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("eventhub.password.hash.cost", this, e -> e.cost).register(meterRegistry);
+
+        log.info("Password hashing on {} threads, queue {}, BCrypt cost {}", poolSize, queueCapacity, cost);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.recordCallable(() -> encoder.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.recordCallable(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) return false;
+
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    private <T> T run(Callable<T> hash) {
+        Future<T> future;
+        try {
+            future = executor.submit(hash);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Too many sign-in attempts in progress, please retry shortly");
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Password hashing timed out, please retry shortly");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingRejectedException("Password hashing was interrupted");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Highest cost whose measured hash time fits the target. Each step doubles the work,
+     * so the loop stops at the first cost that is too slow.
+     */
+    private static int calibrate(int minCost, int maxCost, Duration target) {
+        // Warm up the JIT so the first measurement is not dominated by interpretation
+        new BCryptPasswordEncoder(4).encode("calibration");
+
+        int chosen = minCost;
+        for (int candidate = minCost; candidate <= maxCost; candidate++) {
+            long started = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode("calibration");
+            long elapsed = System.nanoTime() - started;
+
+            if (elapsed > target.toNanos()) break;
+            chosen = candidate;
+        }
+        return chosen;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
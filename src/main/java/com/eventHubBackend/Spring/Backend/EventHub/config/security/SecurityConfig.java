@@ -1,10 +1,13 @@
 package com.eventHubBackend.Spring.Backend.EventHub.config.security;
 
 import com.eventHubBackend.Spring.Backend.EventHub.jwt.JwtAuthenticationFilter;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.Role;
 import com.eventHubBackend.Spring.Backend.EventHub.publicData.PublicEndpoints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -13,8 +16,8 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -38,16 +41,27 @@ public class SecurityConfig {
     @Autowired
     private OAuth2SuccessHandler oAuth2SuccessHandler;
 
+    @Autowired
+    private PooledPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserDetailsPasswordService userDetailsPasswordService;
+
 
 
     // Centralized list of public (no-auth) endpoints
     private static final String[] PUBLIC_ENDPOINTS = PublicEndpoints.PUBLIC_ENDPOINTS;
 
+    // Port of the internal actuator listener (metrics-defaults.properties); -1 while actuator shares the public one
+    private volatile int managementPort = -1;
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(new BCryptPasswordEncoder(12));
+        provider.setPasswordEncoder(passwordEncoder);
+        // Hashes below the calibrated cost are re-hashed after a successful login
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
         return provider;
     }
 
@@ -57,13 +71,29 @@ public class SecurityConfig {
     }
 
 
+    /**
+     * The management server starts in a child context whose events reach this one; its actual port
+     * is only known once it listens (e.g. port 0 in tests).
+     */
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort = event.getWebServer().getPort();
+        }
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Under the public /api/events/** but a full dump and a bulk insert, so they come first
+                        .requestMatchers(HttpMethod.GET, "/api/events/export").hasAuthority(Role.ADMIN.name())
+                        .requestMatchers(HttpMethod.POST, "/api/events/import").hasAuthority(Role.ADMIN.name())
                         .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
+                        // Prometheus scrapes without a token, but only on the internal management port
+                        .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -0,0 +1,40 @@
+package com.eventHubBackend.Spring.Backend.EventHub.controller;
+
+import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.BookingRequest;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.BookingResponse;
+import com.eventHubBackend.Spring.Backend.EventHub.service.BookingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/bookings")
+public class BookingController {
+
+    private final BookingService bookingService;
+
+    public BookingController(BookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    @PostMapping
+    public ResponseEntity<BookingResponse> createBooking(@RequestBody BookingRequest request,
+                                                         @AuthenticationPrincipal UserPrinciple userDetails) {
+        // The booking always belongs to the caller, whatever userId the body carries
+        return new ResponseEntity<>(bookingService.createBooking(userDetails.getId(), request), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<BookingResponse> confirmBooking(@PathVariable Long id,
+                                                          @AuthenticationPrincipal UserPrinciple userDetails) {
+        return ResponseEntity.ok(bookingService.confirmBooking(userDetails.getId(), id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BookingResponse> cancelBooking(@PathVariable Long id,
+                                                         @AuthenticationPrincipal UserPrinciple userDetails) {
+        return ResponseEntity.ok(bookingService.cancelBooking(userDetails.getId(), id));
+    }
+}
@@ -1,13 +1,36 @@
 package com.eventHubBackend.Spring.Backend.EventHub.controller;
 
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.ConditionalGet;
+import com.eventHubBackend.Spring.Backend.EventHub.eventexport.EventExportService;
+import com.eventHubBackend.Spring.Backend.EventHub.eventimport.EventImportService;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.CursorPage;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventFilter;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventRequest;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.NearbyEventResponse;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.TrendingEventResponse;
+import com.eventHubBackend.Spring.Backend.EventHub.search.EventSearchIndex;
 import com.eventHubBackend.Spring.Backend.EventHub.service.EventService;
+import com.eventHubBackend.Spring.Backend.EventHub.trending.TrendingEventsTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,20 +41,122 @@ public class EventController {
     @Autowired
     EventService eventService;
 
+    @Autowired
+    EventImportService eventImportService;
+
+    @Autowired
+    EventExportService eventExportService;
+
+    @Autowired
+    TrendingEventsTracker trendingEventsTracker;
+
+    @Autowired
+    CatalogVersions catalogVersions;
+
+    @Autowired
+    EventSearchIndex eventSearchIndex;
+
+    @Value("${catalog.cache.list-max-age:PT5S}")
+    Duration listMaxAge;
+
     @PostMapping
     public ResponseEntity<EventResponse> createEvent(@RequestBody EventRequest request) {
         return ResponseEntity.ok(eventService.createEvent(request));
     }
 
+    /**
+     * Tagged with the events catalog version; a proxy may serve it for listMaxAge and then revalidate.
+     */
     @GetMapping
-    public ResponseEntity<List<EventResponse>> getAllEvents() {
+    public ResponseEntity<CursorPage<EventResponse>> getAllEvents(@ModelAttribute EventFilter filter,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "20") int size,
+                                                                  WebRequest webRequest) {
 
-        return ResponseEntity.ok(eventService.getAllEvents());
+        return ConditionalGet.respond(webRequest, catalogVersions, CatalogVersions.Catalog.EVENTS,
+                CacheControl.maxAge(listMaxAge).cachePublic(),
+                () -> eventService.getEvents(filter, cursor, size));
     }
 
+    /**
+     * Ranked full-text search; combine q with any of the list filters (category, venueId, from, to, minPrice, maxPrice).
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<EventResponse>> searchEvents(@RequestParam("q") String query,
+                                                            @ModelAttribute EventFilter filter,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventService.searchEvents(query, filter, page, size));
+    }
+
+    /**
+     * Upcoming events around a point, closest venue first, e.g. ?lat=52.52&lon=13.40&radiusKm=5.
+     * from defaults to now and to to 30 days after from.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyEventResponse>> getNearbyEvents(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventService.getNearbyEvents(lat, lon, radiusKm, from, to, size));
+    }
+
+    /**
+     * Events with the most views and likes in the last hour or day, e.g. ?category=MUSIC&window=DAY
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingEventResponse>> getTrendingEvents(
+            @RequestParam(required = false) EventCategories category,
+            @RequestParam(defaultValue = "HOUR") TrendingEventsTracker.Window window,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.getTrendingEvents(category, window, size));
+    }
+
+    /**
+     * Bulk import from an NDJSON or CSV body. The per-row report is streamed back as NDJSON
+     * while the body is still being read, ending with a summary line. Admins only.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public void importEvents(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        EventImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? EventImportService.Format.CSV
+                : EventImportService.Format.NDJSON;
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        eventImportService.importEvents(request.getInputStream(), format, response.getOutputStream());
+    }
+
+    /**
+     * Every event in id order, streamed as NDJSON or, with ?format=JSON, as one JSON array. Admins only.
+     */
+    @GetMapping("/export")
+    public void exportEvents(@RequestParam(defaultValue = "NDJSON") EventExportService.Format format,
+                             HttpServletResponse response) throws IOException {
+        response.setContentType(format == EventExportService.Format.JSON ? "application/json" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        eventExportService.exportEvents(format, response.getOutputStream());
+    }
+
+    /**
+     * Always revalidated, so a like shows up once it is flushed; an unchanged event costs a 304.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponse> getEventById(@PathVariable Long id) {
-        return ResponseEntity.ok(eventService.getEventById(id));
+    public ResponseEntity<EventResponse> getEventById(@PathVariable Long id, WebRequest webRequest) {
+        ResponseEntity<EventResponse> response = ConditionalGet.respond(webRequest,
+                catalogVersions, CatalogVersions.Catalog.EVENTS, CacheControl.noCache().cachePublic(),
+                () -> eventService.getEventById(id));
+
+        // A 304 still counts as a view; its category comes from the search index instead of the database
+        EventCategories category = response.getStatusCode() == HttpStatus.NOT_MODIFIED
+                ? eventSearchIndex.category(id)
+                : response.getBody().getEventCategories();
+        if (category != null) trendingEventsTracker.recordView(id, category);
+        return response;
     }
 
     @PutMapping("/{id}")
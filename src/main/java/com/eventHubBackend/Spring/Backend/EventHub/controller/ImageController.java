@@ -3,13 +3,20 @@
 
 package com.eventHubBackend.Spring.Backend.EventHub.controller;
 
+import com.eventHubBackend.Spring.Backend.EventHub.image.UploadJob;
+import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.ImageJobResponse;
 import com.eventHubBackend.Spring.Backend.EventHub.service.ImageUploadService;
 import com.eventHubBackend.Spring.Backend.EventHub.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/images")
 public class ImageController {
@@ -21,12 +28,9 @@ public class ImageController {
     private UserService userService;
 
     @PostMapping("/upload")
-    public ResponseEntity<String> upload(@RequestParam("file") MultipartFile file) {
-        try {
-            String url = imageUploadService.uploadImage(file);
-            return ResponseEntity.ok(url);
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body("Upload failed: " + e.getMessage());
-        }
+    public ResponseEntity<ImageJobResponse> upload(@RequestParam("file") MultipartFile file,
+                                                   @AuthenticationPrincipal UserPrinciple userDetails) throws IOException {
+        UploadJob job = imageUploadService.submit(file, userDetails.getId(), null);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ImageJobResponse.of(job));
     }
 }
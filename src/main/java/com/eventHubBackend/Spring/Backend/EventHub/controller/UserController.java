@@ -1,9 +1,11 @@
 package com.eventHubBackend.Spring.Backend.EventHub.controller;
 
+import com.eventHubBackend.Spring.Backend.EventHub.image.UploadJob;
 import com.eventHubBackend.Spring.Backend.EventHub.jwt.JwtService;
 import com.eventHubBackend.Spring.Backend.EventHub.model.User;
 import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.ImageJobResponse;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.LoginRequest;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.UserRequest;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.UserResponse;
@@ -14,6 +16,9 @@ import com.eventHubBackend.Spring.Backend.EventHub.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
@@ -27,6 +32,7 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -93,7 +99,7 @@ public class UserController {
         if (authentication.isAuthenticated()) {
             UserPrinciple userDetails = (UserPrinciple) authentication.getPrincipal();
             UserResponse userResponse = userService.getUserResponse(userDetails.getUsername());
-            String jwtToken = jwtService.generateToken(userDetails.getUsername());
+            String jwtToken = jwtService.generateToken(userDetails);
 
             // Set JWT in Secure HTTP-Only Cookie
             ResponseCookie cookie = ResponseCookie.from("authToken", jwtToken)
@@ -184,7 +190,7 @@ public class UserController {
     public ResponseEntity<Map<String, Object>> likedEvent(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrinciple userDetails) {
-        userService.addEvent(userDetails.getUsername(), id);
+        userService.addEvent(userDetails.getId(), id);
         Map<String, Object> mp = new HashMap<>();
         mp.put("Event", eventService.getEventById(id));
         return new ResponseEntity<>(mp, HttpStatus.ACCEPTED);
@@ -197,7 +203,7 @@ public class UserController {
     public ResponseEntity<Map<String, Object>> unlikedEvent(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrinciple userDetails) {
-        userService.removeEvent(userDetails.getUsername(), id);
+        userService.removeEvent(userDetails.getId(), id);
         Map<String, Object> mp = new HashMap<>();
         mp.put("Event", eventService.getEventById(id));
         return new ResponseEntity<>(mp, HttpStatus.ACCEPTED);
@@ -208,26 +214,38 @@ public class UserController {
      **/
     @GetMapping("/liked")
     public ResponseEntity<Map<String, Object>> getLikedEvents(
-            @AuthenticationPrincipal UserPrinciple userDetails) {
-        List<EventResponse> likedEvents = userService.getLikedEvents(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrinciple userDetails,
+            @PageableDefault(size = 50) Pageable pageable) {
+        Page<EventResponse> likedEvents = userService.getLikedEvents(userDetails.getId(), pageable);
         Map<String, Object> response = new HashMap<>();
-        response.put("likedEvents", likedEvents);
+        response.put("likedEvents", likedEvents.getContent());
+        response.put("page", likedEvents.getNumber());
+        response.put("size", likedEvents.getSize());
+        response.put("totalElements", likedEvents.getTotalElements());
+        response.put("totalPages", likedEvents.getTotalPages());
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Queues the upload and answers 202 with a job handle; poll /profile-pic/jobs/{jobId}
+     * for the resulting URLs. The profile picture is switched once every size is stored.
+     **/
     @PostMapping("/profile-pic/upload")
-    public ResponseEntity<Map<String, String>> uploadUserImage(@RequestParam("file") MultipartFile file,
-                                                  @AuthenticationPrincipal UserPrinciple userDetails) {
-            Map<String, String> mp = new HashMap<>();
-        try {
-            String url = imageUploadService.uploadImage(file);
-            userService.addProfileUrl(userDetails.getUsername(), url);
-            mp.put("imgUrl", url);
-            return new ResponseEntity<>(mp, HttpStatus.OK);
-        } catch (Exception e) {
-            mp.put("msg","Upload failed: " + e.getMessage() );
-            return new ResponseEntity<>(mp, HttpStatus.BAD_REQUEST);
-        }
+    public ResponseEntity<ImageJobResponse> uploadUserImage(@RequestParam("file") MultipartFile file,
+                                                            @AuthenticationPrincipal UserPrinciple userDetails) throws IOException {
+        String username = userDetails.getUsername();
+        UploadJob job = imageUploadService.submit(file, userDetails.getId(),
+                urls -> userService.addProfileUrl(username, urls.values().iterator().next()));
+        return new ResponseEntity<>(ImageJobResponse.of(job), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/profile-pic/jobs/{jobId}")
+    public ResponseEntity<ImageJobResponse> getUploadJob(@PathVariable String jobId,
+                                                         @AuthenticationPrincipal UserPrinciple userDetails) {
+        return imageUploadService.getJob(jobId)
+                .filter(job -> Objects.equals(job.getOwnerId(), userDetails.getId()))
+                .map(job -> ResponseEntity.ok(ImageJobResponse.of(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/profile-pic")
@@ -1,22 +1,36 @@
 package com.eventHubBackend.Spring.Backend.EventHub.controller;
 
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.ConditionalGet;
+import com.eventHubBackend.Spring.Backend.EventHub.dto.TimeSlot;
 import com.eventHubBackend.Spring.Backend.EventHub.dto.VenueDTO;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.VenueRequest;
 import com.eventHubBackend.Spring.Backend.EventHub.service.VenueService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/venues")
 public class VenueController {
 
+    // Venue reads need a login, so only the client's own cache may keep them
+    private static final CacheControl REVALIDATE_PRIVATELY = CacheControl.noCache().cachePrivate();
+
     private final VenueService venueService;
+    private final CatalogVersions catalogVersions;
 
-    public VenueController(VenueService venueService) {
+    public VenueController(VenueService venueService, CatalogVersions catalogVersions) {
         this.venueService = venueService;
+        this.catalogVersions = catalogVersions;
     }
 
     @PostMapping("/addVenue")
@@ -30,13 +44,26 @@ public class VenueController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<VenueDTO> getVenueById(@PathVariable Long id) {
-        return ResponseEntity.ok(venueService.getVenueById(id));
+    public ResponseEntity<VenueDTO> getVenueById(@PathVariable Long id, WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, catalogVersions, CatalogVersions.Catalog.VENUES,
+                REVALIDATE_PRIVATELY, () -> venueService.getVenueById(id));
     }
 
     @GetMapping
-    public ResponseEntity<Page<VenueDTO>> getAllVenues(Pageable pageable) {
-        return ResponseEntity.ok(venueService.getAllVenues(pageable));
+    public ResponseEntity<Page<VenueDTO>> getAllVenues(Pageable pageable, WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, catalogVersions, CatalogVersions.Catalog.VENUES,
+                REVALIDATE_PRIVATELY, () -> venueService.getAllVenues(pageable));
+    }
+
+    /**
+     * Free slots of the venue between from and to, e.g. ?from=2025-09-01T00:00:00&to=2025-09-08T00:00:00
+     */
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<List<TimeSlot>> getAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(venueService.getAvailability(id, from, to));
     }
 
     @DeleteMapping("/{id}")
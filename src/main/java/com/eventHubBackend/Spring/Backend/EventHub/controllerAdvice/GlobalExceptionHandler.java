@@ -1,11 +1,17 @@
 package com.eventHubBackend.Spring.Backend.EventHub.controllerAdvice;
 
+import com.eventHubBackend.Spring.Backend.EventHub.exception.ImageUploadRejectedException;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.InvalidBookingStateException;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.InvalidImageException;
 import com.eventHubBackend.Spring.Backend.EventHub.exception.InvalidJwtSignatureException;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.PasswordHashingRejectedException;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.SeatUnavailableException;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import org.hibernate.PropertyValueException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -81,5 +87,41 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.UNAUTHORIZED, "", ex.getMessage());
     }
 
+    /* ---------- Overload ---------- */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handlePasswordHashingRejected(PasswordHashingRejectedException ex) {
+        ResponseEntity<Map<String, Object>> response =
+                buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service busy", ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(ImageUploadRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleImageUploadRejected(ImageUploadRejectedException ex) {
+        ResponseEntity<Map<String, Object>> response =
+                buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service busy", ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response.getBody());
+    }
+
+    /* ---------- Image Exceptions ---------- */
+    @ExceptionHandler(InvalidImageException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidImage(InvalidImageException ex) {
+        return buildResponse(HttpStatus.BAD_REQUEST, "Invalid image", ex.getMessage());
+    }
+
+    /* ---------- Booking Exceptions ---------- */
+    @ExceptionHandler(SeatUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleSeatUnavailable(SeatUnavailableException ex) {
+        return buildResponse(HttpStatus.CONFLICT, "Seat unavailable", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidBookingStateException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidBookingState(InvalidBookingStateException ex) {
+        return buildResponse(HttpStatus.CONFLICT, "Invalid booking state", ex.getMessage());
+    }
+
 
 }
@@ -0,0 +1,14 @@
+package com.eventHubBackend.Spring.Backend.EventHub.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeSlot {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
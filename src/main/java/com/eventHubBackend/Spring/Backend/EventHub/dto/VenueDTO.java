@@ -10,4 +10,6 @@ public class VenueDTO {
     private Long id;
     private String name;
     private String address;
+    private Double latitude;
+    private Double longitude;
 }
@@ -0,0 +1,123 @@
+package com.eventHubBackend.Spring.Backend.EventHub.eventexport;
+
+import com.eventHubBackend.Spring.Backend.EventHub.likes.EventLikeCounter;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Full catalog dump for admins and partner integrations. Rows come through a forward-only,
+ * read-only cursor and each one is written to the response as soon as it is read, so memory
+ * use does not depend on the number of events and nothing is left for the old generation.
+ * <p>
+ * MySQL Connector/J only streams a result set row by row when the fetch size is
+ * Integer.MIN_VALUE, which is the default of {@code events.export.fetch-size}; other drivers
+ * take a positive row count. Either way the connection is held for the whole export.
+ */
+@Slf4j
+@Service
+public class EventExportService {
+
+    public enum Format {
+        /** One event per line. */
+        NDJSON,
+        /** A single JSON array. */
+        JSON
+    }
+
+    private static final String EXPORT_SQL = "SELECT e.id, e.title, e.description, e.price, e.start_time, e.end_time, " +
+            "v.address, e.event_category, e.like_count FROM events e JOIN venues v ON v.id = e.venue_id ORDER BY e.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventLikeCounter eventLikeCounter;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter eventWriter;
+    private final int fetchSize;
+
+    public EventExportService(JdbcTemplate jdbcTemplate,
+                              EventLikeCounter eventLikeCounter,
+                              ObjectMapper objectMapper,
+                              @Value("${events.export.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventLikeCounter = eventLikeCounter;
+        this.objectMapper = objectMapper;
+        // The servlet buffer decides when bytes go out; a flush per event would mean a chunk per event
+        this.eventWriter = objectMapper.writerFor(EventResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes every event, in id order, and returns how many. One read-only transaction, so the
+     * export is a consistent snapshot however long it takes.
+     */
+    @Transactional(readOnly = true)
+    public long exportEvents(Format format, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        long[] count = new long[1];
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // A failed export must not be closed into valid JSON that looks complete
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.setRootValueSeparator(null);
+            if (format == Format.JSON) generator.writeStartArray();
+
+            EventResponse event = new EventResponse();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (ResultSet row) -> {
+                // One response object reused for every row; it only lives until it is written
+                read(row, event);
+                try {
+                    eventWriter.writeValue(generator, event);
+                    if (format == Format.NDJSON) generator.writeRaw('\n');
+                } catch (IOException e) {
+                    // Most likely the client went away; nothing more can be written
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+
+            if (format == Format.JSON) generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            log.info("Event export aborted after {} rows: {}", count[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        out.flush();
+
+        log.info("Exported {} events in {} ms", count[0], System.currentTimeMillis() - started);
+        return count[0];
+    }
+
+    private void read(ResultSet row, EventResponse event) throws SQLException {
+        long id = row.getLong(1);
+        event.setId(id);
+        event.setTitle(row.getString(2));
+        event.setDescription(row.getString(3));
+        event.setPrice(row.getDouble(4));
+        event.setStartTime(row.getTimestamp(5).toLocalDateTime());
+        event.setEndTime(row.getTimestamp(6).toLocalDateTime());
+        event.setVenueAddress(row.getString(7));
+        event.setEventCategories(EventCategories.valueOf(row.getString(8)));
+        // Same as the list endpoints: the stored count plus this node's unflushed likes
+        event.setLikeCount(row.getLong(9) + eventLikeCounter.pending(id));
+    }
+}
@@ -0,0 +1,287 @@
+package com.eventHubBackend.Spring.Backend.EventHub.eventimport;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.VenueRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventRequest;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueLockManager;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueSchedule;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueScheduleIndex;
+import com.eventHubBackend.Spring.Backend.EventHub.search.EventSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk event import. The payload is read line by line and handled in batches, so memory use is
+ * bounded by the batch size rather than the upload. Per batch: one query locks and resolves the
+ * venues, one query loads the existing bookings in the batch's time window, conflicts are checked
+ * in memory against those and against earlier rows, and the accepted rows go in as one JDBC batch.
+ * The per-row report is streamed back as NDJSON while the import runs.
+ */
+@Slf4j
+@Service
+public class EventImportService {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO events " +
+            "(title, description, price, capacity, start_time, end_time, venue_id, event_category, like_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private record Row(long number, EventRequest request) {}
+
+    private final VenueRepository venueRepository;
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VenueLockManager venueLockManager;
+    private final VenueScheduleIndex venueScheduleIndex;
+    private final EventSearchIndex eventSearchIndex;
+    private final CatalogVersions catalogVersions;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter reportWriter;
+    private final int batchSize;
+
+    public EventImportService(VenueRepository venueRepository,
+                              EventRepository eventRepository,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              VenueLockManager venueLockManager,
+                              VenueScheduleIndex venueScheduleIndex,
+                              EventSearchIndex eventSearchIndex,
+                              CatalogVersions catalogVersions,
+                              ObjectMapper objectMapper,
+                              @Value("${events.import.batch-size:500}") int batchSize) {
+        this.venueRepository = venueRepository;
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.venueLockManager = venueLockManager;
+        this.venueScheduleIndex = venueScheduleIndex;
+        this.eventSearchIndex = eventSearchIndex;
+        this.catalogVersions = catalogVersions;
+        this.objectMapper = objectMapper;
+        this.reportWriter = objectMapper.writerFor(ImportRowResult.class);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports every row of the input and writes one report line per row, followed by a summary line.
+     */
+    public void importEvents(InputStream input, Format format, OutputStream report) throws IOException {
+        EventRowParser parser = new EventRowParser(objectMapper);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        int[] totals = new int[ImportRowResult.Status.values().length];
+
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            if (header == null) {
+                writeSummary(report, totals);
+                return;
+            }
+            parser.csvHeader(header);
+        }
+
+        List<Row> batch = new ArrayList<>(batchSize);
+        List<ImportRowResult> results = new ArrayList<>(batchSize);
+        long rowNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            rowNumber++;
+            try {
+                batch.add(new Row(rowNumber, format == Format.CSV ? parser.csv(line) : parser.json(line)));
+            } catch (IllegalArgumentException ex) {
+                results.add(ImportRowResult.rejected(rowNumber, ex.getMessage()));
+            }
+
+            if (batch.size() == batchSize) {
+                results.addAll(importBatch(batch));
+                writeResults(report, results, totals);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            results.addAll(importBatch(batch));
+        }
+        writeResults(report, results, totals);
+        writeSummary(report, totals);
+    }
+
+    private List<ImportRowResult> importBatch(List<Row> batch) {
+        Set<Long> venueIds = new HashSet<>();
+        for (Row row : batch) venueIds.add(row.request().getVenueId());
+
+        List<ImportRowResult> results = new ArrayList<>(batch.size());
+        Map<Long, Venue> venues = new HashMap<>();
+        try {
+            List<Row> inserted = venueLockManager.withVenues(venueIds, () -> {
+                List<Row> accepted = new ArrayList<>(batch.size());
+                List<Long> keys = transactionTemplate.execute(status -> {
+                    for (Venue venue : venueRepository.lockAllByIdIn(venueIds)) {
+                        venues.put(venue.getId(), venue);
+                    }
+                    Map<Long, VenueSchedule> schedules = loadSchedules(venues.keySet(), batch);
+
+                    for (Row row : batch) {
+                        EventRequest request = row.request();
+                        VenueSchedule schedule = schedules.get(request.getVenueId());
+                        if (schedule == null) {
+                            results.add(ImportRowResult.rejected(row.number(), "Venue not found with id: " + request.getVenueId()));
+                        } else if (schedule.conflicts(request.getStartTime(), request.getEndTime(), null)) {
+                            results.add(ImportRowResult.rejected(row.number(), "Venue already booked for the given time slot"));
+                        } else {
+                            // Negative ids stand in for rows of this batch until the insert assigns real ones
+                            schedule.put(-row.number(), request.getStartTime(), request.getEndTime());
+                            accepted.add(row);
+                        }
+                    }
+                    List<Long> ids = insert(accepted);
+                    if (!ids.isEmpty()) catalogVersions.changed(CatalogVersions.Catalog.EVENTS, ids);
+                    return ids;
+                });
+
+                for (int i = 0; i < accepted.size(); i++) {
+                    EventRequest request = accepted.get(i).request();
+                    Venue venue = venues.get(request.getVenueId());
+                    venueScheduleIndex.put(keys.get(i), request.getVenueId(), request.getStartTime(), request.getEndTime());
+                    eventSearchIndex.index(new EventSearchIndex.Entry(keys.get(i), request.getTitle(), request.getDescription(),
+                            venue.getId(), venue.getName(), venue.getAddress(),
+                            categoryOf(request), request.getStartTime(), priceOf(request)));
+                    results.add(ImportRowResult.created(accepted.get(i).number(), keys.get(i)));
+                }
+                return accepted;
+            });
+            log.debug("Imported {} of {} rows", inserted.size(), batch.size());
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("Import batch of {} rows failed", batch.size(), ex);
+            results.clear();
+            for (Row row : batch) {
+                results.add(ImportRowResult.failed(row.number(), "Batch could not be written"));
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * One query for every booking that could collide with the batch, grouped per venue.
+     */
+    private Map<Long, VenueSchedule> loadSchedules(Set<Long> venueIds, List<Row> batch) {
+        Map<Long, VenueSchedule> schedules = new HashMap<>();
+        if (venueIds.isEmpty()) return schedules;
+
+        LocalDateTime from = batch.get(0).request().getStartTime();
+        LocalDateTime to = batch.get(0).request().getEndTime();
+        for (Row row : batch) {
+            if (row.request().getStartTime().isBefore(from)) from = row.request().getStartTime();
+            if (row.request().getEndTime().isAfter(to)) to = row.request().getEndTime();
+        }
+
+        for (Long venueId : venueIds) schedules.put(venueId, new VenueSchedule());
+        for (EventRepository.ScheduledSlot slot : eventRepository.findSlotsInRange(venueIds, from, to)) {
+            schedules.get(slot.getVenueId()).put(slot.getId(), slot.getStartTime(), slot.getEndTime());
+        }
+        return schedules;
+    }
+
+    private List<Long> insert(List<Row> rows) {
+        if (rows.isEmpty()) return List.of();
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        EventRequest request = rows.get(i).request();
+                        ps.setString(1, request.getTitle());
+                        ps.setString(2, request.getDescription());
+                        ps.setDouble(3, priceOf(request));
+                        if (request.getCapacity() != null) ps.setInt(4, request.getCapacity());
+                        else ps.setNull(4, Types.INTEGER);
+                        ps.setTimestamp(5, Timestamp.valueOf(request.getStartTime()));
+                        ps.setTimestamp(6, Timestamp.valueOf(request.getEndTime()));
+                        ps.setLong(7, request.getVenueId());
+                        ps.setString(8, categoryOf(request).name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keys);
+
+        return keys.getKeyList().stream()
+                .map(row -> ((Number) row.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    private static double priceOf(EventRequest request) {
+        return request.getPrice() != null ? request.getPrice() : 0;
+    }
+
+    private static EventCategories categoryOf(EventRequest request) {
+        return request.getEventCategory() != null ? request.getEventCategory() : EventCategories.GENERAL;
+    }
+
+    private void writeResults(OutputStream report, List<ImportRowResult> results, int[] totals) throws IOException {
+        results.sort(Comparator.comparingLong(ImportRowResult::row));
+        for (ImportRowResult result : results) {
+            totals[result.status().ordinal()]++;
+            report.write(reportWriter.writeValueAsBytes(result));
+            report.write('\n');
+        }
+        report.flush();
+        results.clear();
+    }
+
+    private void writeSummary(OutputStream report, int[] totals) throws IOException {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("summary", true);
+        summary.put("created", totals[ImportRowResult.Status.CREATED.ordinal()]);
+        summary.put("rejected", totals[ImportRowResult.Status.REJECTED.ordinal()]);
+        summary.put("failed", totals[ImportRowResult.Status.FAILED.ordinal()]);
+        report.write(objectMapper.writeValueAsBytes(summary));
+        report.write('\n');
+        report.flush();
+    }
+}
@@ -0,0 +1,152 @@
+package com.eventHubBackend.Spring.Backend.EventHub.eventimport;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Turns one NDJSON or CSV line into a validated {@link EventRequest}. Any problem is reported
+ * as an IllegalArgumentException whose message ends up in the row's report entry.
+ */
+class EventRowParser {
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("title", "description", "venueId", "startTime", "endTime", "capacity", "price", "eventCategory");
+
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> csvColumns;
+
+    EventRowParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the CSV header. Columns may come in any order; title, venueId, startTime and endTime are required.
+     */
+    void csvHeader(String line) {
+        List<String> names = splitCsv(line);
+        csvColumns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim();
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new IllegalArgumentException("Unknown CSV column '" + name + "'");
+            }
+            csvColumns.put(name, i);
+        }
+        for (String required : List.of("title", "venueId", "startTime", "endTime")) {
+            if (!csvColumns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column '" + required + "'");
+            }
+        }
+    }
+
+    EventRequest json(String line) {
+        try {
+            return validate(objectMapper.readValue(line, EventRequest.class));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    EventRequest csv(String line) {
+        List<String> values = splitCsv(line);
+        try {
+            return validate(EventRequest.builder()
+                    .title(value(values, "title"))
+                    .description(value(values, "description"))
+                    .venueId(parse(values, "venueId", Long::valueOf))
+                    .startTime(parse(values, "startTime", LocalDateTime::parse))
+                    .endTime(parse(values, "endTime", LocalDateTime::parse))
+                    .capacity(parse(values, "capacity", Integer::valueOf))
+                    .price(parse(values, "price", Double::valueOf))
+                    .eventCategory(parse(values, "eventCategory", v -> EventCategories.valueOf(v.toUpperCase(Locale.ROOT))))
+                    .build());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid date-time '" + ex.getParsedString() + "'");
+        }
+    }
+
+    /**
+     * Same rules as the EventRequest constraints.
+     */
+    private static EventRequest validate(EventRequest request) {
+        if (request.getTitle() == null || request.getTitle().isBlank()) throw new IllegalArgumentException("title is required");
+        if (request.getTitle().length() > 150) throw new IllegalArgumentException("title is longer than 150 characters");
+        if (request.getDescription() != null && request.getDescription().length() > 500) {
+            throw new IllegalArgumentException("description is longer than 500 characters");
+        }
+        if (request.getVenueId() == null) throw new IllegalArgumentException("venueId is required");
+        if (request.getStartTime() == null || request.getEndTime() == null) {
+            throw new IllegalArgumentException("startTime and endTime are required");
+        }
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            throw new IllegalArgumentException("startTime must be before endTime");
+        }
+        if (request.getCapacity() != null && request.getCapacity() <= 0) throw new IllegalArgumentException("capacity must be positive");
+        if (request.getPrice() != null && request.getPrice() < 0) throw new IllegalArgumentException("price must not be negative");
+        return request;
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = csvColumns.get(column);
+        if (index == null || index >= values.size()) return null;
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private <T> T parse(List<String> values, String column, Function<String, T> parser) {
+        String value = value(values, column);
+        if (value == null) return null;
+        try {
+            return parser.apply(value.trim());
+        } catch (DateTimeParseException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+        }
+    }
+
+    /**
+     * RFC 4180 fields on a single line: commas separate, double quotes wrap, "" escapes a quote.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted field");
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,28 @@
+package com.eventHubBackend.Spring.Backend.EventHub.eventimport;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of the import report. Rows are numbered from 1, not counting a CSV header.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportRowResult(long row, Status status, Long id, String error) {
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+
+    static ImportRowResult created(long row, Long id) {
+        return new ImportRowResult(row, Status.CREATED, id, null);
+    }
+
+    static ImportRowResult rejected(long row, String error) {
+        return new ImportRowResult(row, Status.REJECTED, null, error);
+    }
+
+    static ImportRowResult failed(long row, String error) {
+        return new ImportRowResult(row, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventHubBackend.Spring.Backend.EventHub.exception;
+
+public class ImageUploadRejectedException extends RuntimeException {
+    public ImageUploadRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventHubBackend.Spring.Backend.EventHub.exception;
+
+public class InvalidBookingStateException extends RuntimeException {
+    public InvalidBookingStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.eventHubBackend.Spring.Backend.EventHub.exception;
+
+/**
+ * Raised on a pipeline worker when an upload is not an acceptable image; ends the job as FAILED.
+ */
+public class InvalidImageException extends RuntimeException {
+    public InvalidImageException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventHubBackend.Spring.Backend.EventHub.exception;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventHubBackend.Spring.Backend.EventHub.exception;
+
+public class SeatUnavailableException extends RuntimeException {
+    public SeatUnavailableException(String message) {
+        super(message);
+    }
+}
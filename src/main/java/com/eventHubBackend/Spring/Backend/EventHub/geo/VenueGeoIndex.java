@@ -0,0 +1,275 @@
+package com.eventHubBackend.Spring.Backend.EventHub.geo;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogChangedEvent;
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.VenueRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Venue coordinates bucketed into a fixed grid of CELL_DEGREES cells. A radius query visits only
+ * the cells overlapping the circle's bounding box and checks the venues in them with the
+ * haversine distance. VenueService keeps it in step with this node's venue writes, and
+ * {@link CatalogChangedEvent}s with other nodes'; it is rebuilt from the venues table at startup.
+ */
+@Slf4j
+@Service
+public class VenueGeoIndex {
+
+    public record Nearby(long venueId, double distanceKm) {}
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double CELL_DEGREES = 0.1;
+    private static final int ROWS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+    private static final Comparator<Nearby> CLOSEST_FIRST =
+            Comparator.comparingDouble(Nearby::distanceKm).thenComparingLong(Nearby::venueId);
+
+    private record Point(long venueId, double latitude, double longitude, double cosLatitude) {
+
+        Point(long venueId, double latitude, double longitude) {
+            this(venueId, latitude, longitude, Math.cos(Math.toRadians(latitude)));
+        }
+    }
+
+    /**
+     * The circle's bounding box in degrees; it rejects most candidates before any trigonometry.
+     */
+    private record Circle(double latitude, double longitude, double cosLatitude, double radiusKm,
+                          double minLatitude, double maxLatitude, double longitudeDelta) {
+
+        /**
+         * Distance to the point, or infinity when it is outside the bounding box.
+         */
+        double distanceTo(Point point) {
+            if (point.latitude() < minLatitude || point.latitude() > maxLatitude) return Double.POSITIVE_INFINITY;
+            double dLongitude = Math.abs(point.longitude() - longitude);
+            if (Math.min(dLongitude, 360 - dLongitude) > longitudeDelta) return Double.POSITIVE_INFINITY;
+            return distanceKm(latitude, longitude, cosLatitude, point);
+        }
+    }
+
+    private final VenueRepository venueRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<Long, Point> points = new HashMap<>();
+
+    public VenueGeoIndex(VenueRepository venueRepository) {
+        this.venueRepository = venueRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        reloadAll();
+        log.info("Venue geo index built with {} venues in {} ms", size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Re-reads the venues another node changed, dropping the ones that are gone. Read-write, so
+     * it is routed to the primary, which already has the changes the catalog version announced.
+     */
+    @EventListener
+    @Transactional
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.catalog() != CatalogVersions.Catalog.VENUES) return;
+        if (event.everything()) {
+            reloadAll();
+            return;
+        }
+
+        Set<Long> deleted = new HashSet<>(event.ids());
+        for (VenueRepository.VenueLocation location : venueRepository.findLocationsByIdIn(event.ids())) {
+            put(location.getId(), location.getLatitude(), location.getLongitude());
+            deleted.remove(location.getId());
+        }
+        deleted.forEach(this::remove);
+    }
+
+    // Needs a surrounding transaction for the stream; drops venues that are gone or lost their coordinates
+    private void reloadAll() {
+        Set<Long> seen = new HashSet<>();
+        try (Stream<VenueRepository.VenueLocation> locations = venueRepository.streamLocations()) {
+            locations.forEach(location -> {
+                put(location.getId(), location.getLatitude(), location.getLongitude());
+                seen.add(location.getId());
+            });
+        }
+        List<Long> indexed;
+        lock.readLock().lock();
+        try {
+            indexed = List.copyOf(points.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (Long venueId : indexed) {
+            if (!seen.contains(venueId)) remove(venueId);
+        }
+    }
+
+    /**
+     * Records or moves a venue; null coordinates take it out of the index.
+     */
+    public void put(long venueId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            remove(venueId);
+            return;
+        }
+
+        Point point = new Point(venueId, latitude, longitude);
+        lock.writeLock().lock();
+        try {
+            Point previous = points.put(venueId, point);
+            if (previous != null) unlink(previous);
+            cells.computeIfAbsent(cellOf(latitude, longitude), cell -> new ArrayList<>()).add(point);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long venueId) {
+        lock.writeLock().lock();
+        try {
+            Point previous = points.remove(venueId);
+            if (previous != null) unlink(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Venues within radiusKm of the point, closest first.
+     */
+    public List<Nearby> within(double latitude, double longitude, double radiusKm) {
+        List<Nearby> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            double latitudeDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+            double minLatitude = latitude - latitudeDelta;
+            double maxLatitude = latitude + latitudeDelta;
+
+            // Widest longitude span of the circle; it covers every longitude once a pole is inside
+            double columnSpan = COLUMNS;
+            double minLongitude = -180;
+            double longitudeDelta = 180;
+            double cosLatitude = Math.cos(Math.toRadians(latitude));
+            if (minLatitude > -90 && maxLatitude < 90) {
+                double sine = Math.sin(radiusKm / EARTH_RADIUS_KM) / cosLatitude;
+                if (sine < 1) {
+                    longitudeDelta = Math.toDegrees(Math.asin(sine));
+                    minLongitude = longitude - longitudeDelta;
+                    columnSpan = unwrappedColumn(longitude + longitudeDelta) - unwrappedColumn(minLongitude) + 1;
+                }
+            }
+            Circle circle = new Circle(latitude, longitude, cosLatitude, radiusKm, minLatitude, maxLatitude, longitudeDelta);
+
+            int firstRow = row(minLatitude);
+            int lastRow = row(maxLatitude);
+            int columns = (int) Math.min(columnSpan, COLUMNS);
+
+            // A big circle over a sparse index: scanning every venue is cheaper than visiting cells
+            if ((long) (lastRow - firstRow + 1) * columns > points.size()) {
+                collect(points.values(), circle, found);
+            } else {
+                int firstColumn = column(minLongitude);
+                for (int row = firstRow; row <= lastRow; row++) {
+                    for (int i = 0; i < columns; i++) {
+                        List<Point> cell = cells.get(key(row, (firstColumn + i) % COLUMNS));
+                        if (cell != null) collect(cell, circle, found);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        found.sort(CLOSEST_FIRST);
+        return found;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Great-circle distance in kilometres.
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static double distanceKm(double latitude, double longitude, double cosLatitude, Point point) {
+        double dLatitude = Math.toRadians(point.latitude() - latitude);
+        double dLongitude = Math.toRadians(point.longitude() - longitude);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                + cosLatitude * point.cosLatitude() * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static void collect(Collection<Point> candidates, Circle circle, List<Nearby> found) {
+        for (Point point : candidates) {
+            double distance = circle.distanceTo(point);
+            if (distance <= circle.radiusKm()) {
+                found.add(new Nearby(point.venueId(), distance));
+            }
+        }
+    }
+
+    private void unlink(Point point) {
+        long cell = cellOf(point.latitude(), point.longitude());
+        List<Point> bucket = cells.get(cell);
+        bucket.remove(point);
+        if (bucket.isEmpty()) cells.remove(cell);
+    }
+
+    private static long cellOf(double latitude, double longitude) {
+        return key(row(latitude), column(longitude));
+    }
+
+    private static int row(double latitude) {
+        int row = (int) Math.floor((latitude + 90) / CELL_DEGREES);
+        return Math.max(0, Math.min(ROWS - 1, row));
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod(unwrappedColumn(longitude), COLUMNS);
+    }
+
+    /**
+     * Column before wrapping at the antimeridian, so spans across it stay contiguous.
+     */
+    private static int unwrappedColumn(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+
+    private static long key(int row, int column) {
+        return (long) row * COLUMNS + column;
+    }
+}
@@ -0,0 +1,46 @@
+package com.eventHubBackend.Spring.Backend.EventHub.image;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "image.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStorage implements ImageStorage {
+
+    private final Cloudinary cloudinary;
+    private final MeterRegistry meterRegistry;
+
+    public CloudinaryImageStorage(Cloudinary cloudinary, MeterRegistry meterRegistry) {
+        this.cloudinary = cloudinary;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String store(String key, Path file, String contentType) throws IOException {
+        // Cloudinary appends the extension itself
+        String publicId = key.contains(".") ? key.substring(0, key.lastIndexOf('.')) : key;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            // Passing the File lets the SDK stream it instead of buffering a byte[]
+            Map<?, ?> result = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap(
+                    "public_id", publicId,
+                    "resource_type", "image",
+                    "overwrite", true));
+            outcome = "success";
+            return result.get("secure_url").toString();
+        } finally {
+            sample.stop(Timer.builder("eventhub.cloudinary.upload").tag("outcome", outcome)
+                    .publishPercentileHistogram().register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.eventHubBackend.Spring.Backend.EventHub.image;
+
+import com.eventHubBackend.Spring.Backend.EventHub.exception.InvalidImageException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Decodes uploads and renders square avatars. Dimensions are read from the header before any
+ * pixels are decoded, so oversized images (decompression bombs) are rejected cheaply, and large
+ * sources are subsampled while decoding instead of being loaded at full resolution.
+ */
+public final class ImageResizer {
+
+    private static final Set<String> ACCEPTED_FORMATS = Set.of("jpeg", "png", "gif", "bmp");
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Decodes the image, subsampled so that its shorter side stays at least minSide pixels.
+     */
+    public static BufferedImage read(Path file, long maxPixels, int minSide) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                throw new InvalidImageException("Unreadable image");
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new InvalidImageException("Unsupported image format");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                String format = reader.getFormatName().toLowerCase();
+                if (!ACCEPTED_FORMATS.contains(format)) {
+                    throw new InvalidImageException("Unsupported image format " + format);
+                }
+
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+                    throw new InvalidImageException("Image dimensions " + width + "x" + height + " are not allowed");
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.min(width, height) / Math.max(1, minSide));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Centre-crops to a square and scales to size x size, halving in steps on the way down so
+     * bilinear filtering does not alias.
+     */
+    public static BufferedImage squareAvatar(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        BufferedImage current = source.getSubimage(
+                (source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+
+        if (side <= size) {
+            return scale(current, size);
+        }
+
+        int currentSize = side;
+        while (currentSize > size) {
+            currentSize = currentSize / 2 >= size ? currentSize / 2 : size;
+            current = scale(current, currentSize);
+        }
+        return current;
+    }
+
+    public static void writeJpeg(BufferedImage image, Path target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int size) {
+        // JPEG has no alpha channel, so transparent pixels are flattened onto white
+        BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, size, size);
+            g.drawImage(source, 0, 0, size, size, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+}
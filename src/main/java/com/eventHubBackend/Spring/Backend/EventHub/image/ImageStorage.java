@@ -0,0 +1,15 @@
+package com.eventHubBackend.Spring.Backend.EventHub.image;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Where processed images end up. Selected with image.storage (cloudinary or local).
+ */
+public interface ImageStorage {
+
+    /**
+     * Stores the file under the given key, replacing any previous object, and returns its public URL.
+     */
+    String store(String key, Path file, String contentType) throws IOException;
+}
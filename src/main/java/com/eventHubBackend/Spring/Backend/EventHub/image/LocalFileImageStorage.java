@@ -0,0 +1,40 @@
+package com.eventHubBackend.Spring.Backend.EventHub.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps images on the local disk, for development and tests. URLs are base-url + key, or a
+ * file: URI when no base URL is configured.
+ */
+@Component
+@ConditionalOnProperty(name = "image.storage", havingValue = "local")
+public class LocalFileImageStorage implements ImageStorage {
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalFileImageStorage(@Value("${image.storage.local.dir:${java.io.tmpdir}/eventhub-images}") Path root,
+                                 @Value("${image.storage.local.base-url:}") String baseUrl) {
+        this.root = root.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public String store(String key, Path file, String contentType) throws IOException {
+        Path target = root.resolve(key).normalize();
+        if (!target.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid image key " + key);
+        }
+
+        Files.createDirectories(target.getParent());
+        Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+        return baseUrl.isEmpty() ? target.toUri().toString() : baseUrl + "/" + key;
+    }
+}
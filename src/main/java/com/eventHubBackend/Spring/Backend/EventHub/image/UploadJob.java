@@ -0,0 +1,54 @@
+package com.eventHubBackend.Spring.Backend.EventHub.image;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Progress of one image upload. Written by a pipeline worker, read by status requests.
+ */
+@Getter
+public class UploadJob {
+
+    public enum Status {
+        QUEUED,
+        PROCESSING,
+        DONE,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Integer ownerId;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Map<Integer, String> urls = Map.of();
+    private volatile String error;
+    private volatile LocalDateTime completedAt;
+
+    public UploadJob(Integer ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public void processing() {
+        status = Status.PROCESSING;
+    }
+
+    public void done(Map<Integer, String> urls) {
+        this.urls = Map.copyOf(urls);
+        completedAt = LocalDateTime.now();
+        status = Status.DONE;
+    }
+
+    public void failed(String error) {
+        this.error = error;
+        completedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+}
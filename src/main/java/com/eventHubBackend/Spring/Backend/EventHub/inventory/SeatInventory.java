@@ -0,0 +1,97 @@
+package com.eventHubBackend.Spring.Backend.EventHub.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Seat map of a single event packed into one bit per seat.
+ * Seats are numbered from 1 to capacity; a set bit means the seat is taken.
+ * All mutations are lock-free compare-and-set on 64-seat words.
+ */
+public final class SeatInventory {
+
+    private final int capacity;
+    private final AtomicLongArray words;
+
+    public SeatInventory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.words = new AtomicLongArray((capacity + 63) >>> 6);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean tryReserve(int seat) {
+        int index = wordIndex(seat);
+        long mask = mask(seat);
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reserves every seat or none of them. Seats already won by this call are
+     * handed back as soon as one of them turns out to be taken.
+     */
+    public boolean tryReserveAll(int[] seats) {
+        for (int i = 0; i < seats.length; i++) {
+            if (!tryReserve(seats[i])) {
+                for (int j = 0; j < i; j++) {
+                    release(seats[j]);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void release(int seat) {
+        int index = wordIndex(seat);
+        long mask = mask(seat);
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) == 0
+                    || words.compareAndSet(index, current, current & ~mask)) {
+                return;
+            }
+        }
+    }
+
+    public void releaseAll(int[] seats) {
+        for (int seat : seats) {
+            release(seat);
+        }
+    }
+
+    public boolean isReserved(int seat) {
+        return (words.get(wordIndex(seat)) & mask(seat)) != 0;
+    }
+
+    public int available() {
+        int taken = 0;
+        for (int i = 0; i < words.length(); i++) {
+            taken += Long.bitCount(words.get(i));
+        }
+        return capacity - taken;
+    }
+
+    private int wordIndex(int seat) {
+        if (seat < 1 || seat > capacity) {
+            throw new IllegalArgumentException("Seat " + seat + " is outside 1.." + capacity);
+        }
+        return (seat - 1) >>> 6;
+    }
+
+    private static long mask(int seat) {
+        return 1L << ((seat - 1) & 63);
+    }
+}
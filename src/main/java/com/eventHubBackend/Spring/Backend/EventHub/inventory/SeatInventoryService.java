@@ -0,0 +1,201 @@
+package com.eventHubBackend.Spring.Backend.EventHub.inventory;
+
+import com.eventHubBackend.Spring.Backend.EventHub.exception.ResourceNotFoundException;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one {@link SeatInventory} per event so contested seats are decided in memory
+ * before any Ticket/Booking row is written. The uq_ticket_event_seat constraint stays
+ * the final guard, e.g. for seats sold through another node.
+ * <p>
+ * Seats released on another node stay taken here, so a seat this node sees as taken is
+ * confirmed against the tickets table before a request is turned away.
+ */
+@Slf4j
+@Service
+public class SeatInventoryService {
+
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final int defaultCapacity;
+
+    private final ConcurrentMap<Long, SeatInventory> inventories = new ConcurrentHashMap<>();
+
+    public SeatInventoryService(EventRepository eventRepository,
+                                TicketRepository ticketRepository,
+                                @Value("${inventory.default-capacity:500}") int defaultCapacity) {
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    /**
+     * Rebuilds every seat map from the tickets table in a single ordered pass.
+     */
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    // Read-write on purpose: a read-only transaction may go to a replica, and a lagging one would hand out sold seats
+    @Transactional
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        int[] events = {0};
+
+        try (Stream<TicketRepository.TakenSeat> seats = ticketRepository.streamTakenSeats()) {
+            Long[] currentEvent = {null};
+            SeatInventory[] current = {null};
+
+            seats.forEach(seat -> {
+                if (!seat.getEventId().equals(currentEvent[0])) {
+                    currentEvent[0] = seat.getEventId();
+                    current[0] = new SeatInventory(capacityOf(seat.getCapacity()));
+                    SeatInventory existing = inventories.putIfAbsent(seat.getEventId(), current[0]);
+                    // A request may already have loaded this event lazily; that copy is just as fresh
+                    if (existing != null) current[0] = null;
+                    events[0]++;
+                }
+                if (current[0] != null) {
+                    reserveLoaded(current[0], seat.getEventId(), seat.getSeatNumber());
+                }
+            });
+        }
+
+        log.info("Seat inventory rebuilt for {} events in {} ms", events[0], System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Claims the requested seats and returns the ones this call took in memory, which the
+     * caller hands back if its booking is not written. Returns null when a seat is sold.
+     * <p>
+     * When the seat map shows a seat taken but no ticket holds it, the seat was released on
+     * another node or is being booked on this one; the booking goes ahead without it and
+     * uq_ticket_event_seat decides. Such seats are not returned, so a booking that loses to
+     * one on this node never frees that booking's seat.
+     */
+    public int[] reserve(Long eventId, int[] seats) {
+        SeatInventory inventory = inventoryFor(eventId);
+        if (inventory.tryReserveAll(seats)) return seats;
+
+        List<String> seatNumbers = Arrays.stream(seats).mapToObj(String::valueOf).toList();
+        if (!ticketRepository.findTakenSeatNumbers(eventId, seatNumbers).isEmpty()) return null;
+
+        return Arrays.stream(seats).filter(inventory::tryReserve).toArray();
+    }
+
+    public void release(Long eventId, int[] seats) {
+        SeatInventory inventory = inventories.get(eventId);
+        if (inventory != null) {
+            inventory.releaseAll(seats);
+        }
+    }
+
+    public int available(Long eventId) {
+        return inventoryFor(eventId).available();
+    }
+
+    /**
+     * Drops the cached seat map, e.g. after the event is deleted or its capacity changes.
+     */
+    public void evict(Long eventId) {
+        inventories.remove(eventId);
+    }
+
+    /**
+     * Converts seat numbers to seat indexes, rejecting malformed, out of range and duplicate seats.
+     */
+    public int[] parseSeats(Long eventId, List<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat number is required");
+        }
+
+        SeatInventory inventory = inventoryFor(eventId);
+        int[] seats = new int[seatNumbers.size()];
+        Set<Integer> seen = new HashSet<>();
+
+        for (int i = 0; i < seats.length; i++) {
+            int seat = parseSeat(seatNumbers.get(i));
+            if (seat > inventory.getCapacity()) {
+                throw new IllegalArgumentException("Seat " + seat + " does not exist for event " + eventId);
+            }
+            if (!seen.add(seat)) {
+                throw new IllegalArgumentException("Seat " + seat + " requested more than once");
+            }
+            seats[i] = seat;
+        }
+        return seats;
+    }
+
+    /**
+     * Seat numbers as stored on tickets, which is free text. Unusable ones are logged and left
+     * out rather than failing the caller, like the rebuild does.
+     */
+    public int[] parseStoredSeats(Long eventId, List<String> seatNumbers) {
+        return seatNumbers.stream()
+                .mapToInt(seatNumber -> storedSeat(eventId, seatNumber))
+                .filter(seat -> seat > 0)
+                .toArray();
+    }
+
+    private SeatInventory inventoryFor(Long eventId) {
+        return inventories.computeIfAbsent(eventId, this::load);
+    }
+
+    private SeatInventory load(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        Integer capacity = eventRepository.findCapacityById(eventId).orElse(null);
+
+        SeatInventory inventory = new SeatInventory(capacityOf(capacity));
+        for (String seatNumber : ticketRepository.findSeatNumbersByEventId(eventId)) {
+            reserveLoaded(inventory, eventId, seatNumber);
+        }
+        return inventory;
+    }
+
+    private void reserveLoaded(SeatInventory inventory, Long eventId, String seatNumber) {
+        try {
+            inventory.tryReserve(parseSeat(seatNumber));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring ticket with unusable seat '{}' for event {}", seatNumber, eventId);
+        }
+    }
+
+    private static int storedSeat(Long eventId, String seatNumber) {
+        try {
+            return parseSeat(seatNumber);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring ticket with unusable seat '{}' for event {}", seatNumber, eventId);
+            return 0;
+        }
+    }
+
+    private int capacityOf(Integer capacity) {
+        return capacity != null && capacity > 0 ? capacity : defaultCapacity;
+    }
+
+    private static int parseSeat(String seatNumber) {
+        try {
+            int seat = Integer.parseInt(seatNumber.trim());
+            if (seat < 1) throw new NumberFormatException();
+            return seat;
+        } catch (NumberFormatException | NullPointerException ex) {
+            throw new IllegalArgumentException("Invalid seat number: " + seatNumber);
+        }
+    }
+}
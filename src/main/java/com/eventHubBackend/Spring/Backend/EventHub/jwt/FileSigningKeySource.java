@@ -0,0 +1,72 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keys kept in a JSON file on storage shared by every node:
+ * {"keys":[{"kid":"...","secret":"<base64>","activatesAt":"2025-01-01T00:00:00Z"}]}.
+ * Rotation takes an exclusive lock on a sibling .lock file and replaces the file atomically,
+ * so readers never see a half-written key set and two nodes cannot rotate at once.
+ */
+public class FileSigningKeySource implements SigningKeySource {
+
+    private record KeyFile(List<KeyEntry> keys) {}
+
+    private final Path file;
+    private final Path lockFile;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    public FileSigningKeySource(Path file) {
+        this.file = file.toAbsolutePath();
+        this.lockFile = this.file.resolveSibling(this.file.getFileName() + ".lock");
+    }
+
+    @Override
+    public List<KeyEntry> load() throws IOException {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        KeyFile keyFile = mapper.readValue(file.toFile(), KeyFile.class);
+        return keyFile.keys() == null ? List.of() : List.copyOf(keyFile.keys());
+    }
+
+    @Override
+    public boolean supportsRotation() {
+        return true;
+    }
+
+    @Override
+    public void update(UnaryOperator<List<KeyEntry>> change) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+
+            List<KeyEntry> next = change.apply(load());
+            if (next == null) return;
+
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                mapper.writeValue(temp.toFile(), new KeyFile(next));
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keys that live only in this JVM. Fine for a single node or tests; every restart
+ * invalidates issued tokens.
+ */
+public class InMemorySigningKeySource implements SigningKeySource {
+
+    private List<KeyEntry> keys = List.of();
+
+    @Override
+    public synchronized List<KeyEntry> load() {
+        return keys;
+    }
+
+    @Override
+    public boolean supportsRotation() {
+        return true;
+    }
+
+    @Override
+    public synchronized void update(UnaryOperator<List<KeyEntry>> change) {
+        List<KeyEntry> next = change.apply(keys);
+        if (next != null) {
+            keys = List.copyOf(next);
+        }
+    }
+}
@@ -1,19 +1,21 @@
 package com.eventHubBackend.Spring.Backend.EventHub.jwt;
 
 import com.eventHubBackend.Spring.Backend.EventHub.exception.InvalidJwtSignatureException;
+import com.eventHubBackend.Spring.Backend.EventHub.loggers.AccessLogFilter;
+import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
 import com.eventHubBackend.Spring.Backend.EventHub.publicData.PublicEndpoints;
-import com.eventHubBackend.Spring.Backend.EventHub.service.EventUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,6 +23,7 @@ import io.jsonwebtoken.security.SignatureException;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,11 +32,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtService jwtService;
 
     @Autowired
-    private ApplicationContext context;
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer acceptedTimer;
+    private Timer rejectedTimer;
 
     // Centralized list of public (no-auth) endpoints
     private static final String[] PUBLIC_ENDPOINTS = PublicEndpoints.PUBLIC_ENDPOINTS;
 
+    @PostConstruct
+    void registerTimers() {
+        acceptedTimer = Timer.builder("eventhub.jwt.authentication").tag("outcome", "accepted")
+                .publishPercentileHistogram().register(meterRegistry);
+        rejectedTimer = Timer.builder("eventhub.jwt.authentication").tag("outcome", "rejected")
+                .publishPercentileHistogram().register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -47,28 +64,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
 
+        String token = extractToken(request);
+        long started = System.nanoTime();
+        boolean accepted = false;
         try {
-            String token = extractToken(request);
+            if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Signature and expiry are checked here; identity comes from the claims, not the users table
+                UserPrinciple userDetails = jwtService.toPrinciple(jwtService.parseClaims(token));
 
-            if (token != null) {
-                String userName = jwtService.extractUsername(token);
-
-                if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = context.getBean(EventUserDetailsService.class)
-                            .loadUserByUsername(userName);
-
-                    if (jwtService.validateToken(token, userDetails)) {
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    } else {
-                        throw new BadCredentialsException("Invalid JWT token");
-                    }
+                if (userDetails == null
+                        || !tokenVersionCache.isCurrent(userDetails.getId(), userDetails.getTokenVersion())) {
+                    throw new BadCredentialsException("Invalid JWT token");
                 }
+
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                request.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, userDetails.getId());
             }
+            accepted = true;
         } catch (SignatureException ex) {
             throw new InvalidJwtSignatureException("Invalid JWT signature");
+        } finally {
+            // Only the token checks; the rest of the chain is in http.server.requests
+            if (token != null) {
+                (accepted ? acceptedTimer : rejectedTimer).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,185 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.crypto.KeyGenerator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The set of HMAC keys this node signs and verifies tokens with.
+ * <p>
+ * Tokens are signed with the newest active key and carry its id in the kid header; verification
+ * looks the kid up in a map. A new key is written with an activation instant in the future
+ * (the propagation delay) so every node has loaded it before anyone signs with it, and a
+ * superseded key keeps verifying for the retention window so tokens it signed can run out.
+ */
+@Slf4j
+public class JwtKeyRing {
+
+    public record SigningKey(String kid, Key key) {}
+
+    private record Snapshot(SigningKey signing, Map<String, Key> verification) {}
+
+    private final SigningKeySource source;
+    private final Duration rotationPeriod;
+    private final Duration retention;
+    private final Duration propagationDelay;
+    private final boolean autoRotate;
+    private final Clock clock;
+    private final List<Runnable> revocationListeners = new CopyOnWriteArrayList<>();
+
+    private volatile Snapshot snapshot;
+
+    public JwtKeyRing(SigningKeySource source, Duration rotationPeriod, Duration retention,
+                      Duration propagationDelay, boolean autoRotate, Clock clock) {
+        this.source = source;
+        this.rotationPeriod = rotationPeriod;
+        this.retention = retention;
+        this.propagationDelay = propagationDelay;
+        this.autoRotate = autoRotate && source.supportsRotation();
+        this.clock = clock;
+
+        try {
+            if (source.supportsRotation()) {
+                // First node to start with an empty key set creates a key that is usable right away
+                source.update(keys -> keys.isEmpty() ? List.of(newKey(clock.instant())) : null);
+            }
+            reload();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load JWT signing keys", e);
+        }
+        if (snapshot.signing() == null) {
+            throw new IllegalStateException("No JWT signing key available");
+        }
+    }
+
+    public static JwtKeyRing inMemory(Duration retention) {
+        return new JwtKeyRing(new InMemorySigningKeySource(), Duration.ofDays(7), retention,
+                Duration.ZERO, true, Clock.systemUTC());
+    }
+
+    public SigningKey signingKey() {
+        return snapshot.signing();
+    }
+
+    /**
+     * Key for the given kid, or null when it is unknown or already retired.
+     */
+    public Key verificationKey(String kid) {
+        return kid == null ? null : snapshot.verification().get(kid);
+    }
+
+    /**
+     * Runs after a reload dropped keys, so caches of tokens they signed can be flushed.
+     */
+    public void onRevocation(Runnable listener) {
+        revocationListeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval:PT1M}",
+            initialDelayString = "${jwt.keys.refresh-interval:PT1M}")
+    public void refresh() {
+        try {
+            if (autoRotate) {
+                source.update(this::rotateIfDue);
+            }
+            reload();
+        } catch (IOException | RuntimeException e) {
+            // Keep serving with the keys already loaded
+            log.error("Refreshing JWT signing keys failed", e);
+        }
+    }
+
+    private List<SigningKeySource.KeyEntry> rotateIfDue(List<SigningKeySource.KeyEntry> keys) {
+        Instant now = clock.instant();
+        Instant newest = keys.stream().map(SigningKeySource.KeyEntry::activatesAt).max(Comparator.naturalOrder())
+                .orElse(Instant.MIN);
+
+        // Another node may already have rotated while we waited for the lock
+        if (newest.plus(rotationPeriod).isAfter(now)) {
+            return null;
+        }
+
+        List<SigningKeySource.KeyEntry> next = new ArrayList<>();
+        for (SigningKeySource.KeyEntry key : sorted(keys)) {
+            Instant supersededAt = supersededAt(key, keys, now);
+            if (supersededAt == null || supersededAt.plus(retention).isAfter(now)) {
+                next.add(key);
+            }
+        }
+        SigningKeySource.KeyEntry added = newKey(now.plus(propagationDelay));
+        next.add(added);
+
+        log.info("Rotated JWT signing key, {} becomes active at {}", added.kid(), added.activatesAt());
+        return next;
+    }
+
+    private synchronized void reload() throws IOException {
+        List<SigningKeySource.KeyEntry> keys = sorted(source.load());
+        Instant now = clock.instant();
+
+        SigningKey signing = null;
+        Map<String, Key> verification = new HashMap<>();
+
+        for (SigningKeySource.KeyEntry entry : keys) {
+            Instant supersededAt = supersededAt(entry, keys, now);
+            if (supersededAt != null && !supersededAt.plus(retention).isAfter(now)) {
+                continue;
+            }
+
+            Key key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(entry.secret()));
+            verification.put(entry.kid(), key);
+            if (!entry.activatesAt().isAfter(now) || signing == null) {
+                signing = new SigningKey(entry.kid(), key);
+            }
+        }
+
+        Snapshot previous = snapshot;
+        snapshot = new Snapshot(signing, Map.copyOf(verification));
+
+        if (previous != null && !verification.keySet().containsAll(previous.verification().keySet())) {
+            revocationListeners.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * When the next key became active, or null while this key is still the newest active one.
+     */
+    private static Instant supersededAt(SigningKeySource.KeyEntry key, List<SigningKeySource.KeyEntry> keys, Instant now) {
+        return keys.stream()
+                .map(SigningKeySource.KeyEntry::activatesAt)
+                .filter(at -> at.isAfter(key.activatesAt()) && !at.isAfter(now))
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    private static List<SigningKeySource.KeyEntry> sorted(List<SigningKeySource.KeyEntry> keys) {
+        return keys.stream().sorted(Comparator.comparing(SigningKeySource.KeyEntry::activatesAt)).toList();
+    }
+
+    private static SigningKeySource.KeyEntry newKey(Instant activatesAt) {
+        try {
+            byte[] secret = KeyGenerator.getInstance("HmacSHA256").generateKey().getEncoded();
+            return new SigningKeySource.KeyEntry(UUID.randomUUID().toString(),
+                    Base64.getEncoder().encodeToString(secret), activatesAt);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Error getting Secret Key", e);
+        }
+    }
+}
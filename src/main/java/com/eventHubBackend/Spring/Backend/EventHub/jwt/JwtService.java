@@ -2,24 +2,24 @@ package com.eventHubBackend.Spring.Backend.EventHub.jwt;
 
 
 import com.eventHubBackend.Spring.Backend.EventHub.model.User;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.Role;
 import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.KeyGenerator;
-import javax.crypto.SecretKey;
 import java.security.Key;
-import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
-import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -28,44 +28,62 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    private String secretKey;
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String VERSION_CLAIM = "ver";
 
-    @Value("${jwt.expiration}")
-    private Duration jwtExpiration;
+    private final JwtKeyRing keyRing;
 
-    public JwtService(){
-        secretKey = generateKey();
-    }
+    // Immutable and thread-safe, so it is built once instead of per call
+    private final JwtParser parser;
 
-    public String generateKey(){
+    private final VerifiedClaimsCache claimsCache;
 
-        try{
-            KeyGenerator keyGen = KeyGenerator.getInstance("HmacSHA256");
-            SecretKey secretKey = keyGen.generateKey();
-            return Base64.getEncoder().encodeToString(secretKey.getEncoded());
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error getting Secret Key", e);
-        }
+    @Value("${jwt.expiration}")
+    private Duration jwtExpiration;
+
+    public JwtService(JwtKeyRing keyRing,
+                      @Value("${jwt.claims-cache.max-entries:50000}") int claimsCacheSize){
+        this.keyRing = keyRing;
+        this.claimsCache = new VerifiedClaimsCache(claimsCacheSize);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyRing.verificationKey(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown or retired signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+
+        keyRing.onRevocation(claimsCache::clear);
     }
 
-    public String generateToken(String username){
+    public String generateToken(UserPrinciple user){
 
         Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(VERSION_CLAIM, user.getTokenVersion());
+
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setClaims(claims)
-                .setSubject(username)
+                .setSubject(user.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration.toMillis()))
-                .signWith(getKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.key(), SignatureAlgorithm.HS256)
                 .compact();
 
     }
 
     public Key getKey(){
-
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return keyRing.signingKey().key();
     }
 
     public String extractUsername(String token){
@@ -73,27 +91,62 @@ public class JwtService {
     }
 
     private <T> T extractClaim(String token, Function<Claims, T> claimResolver){
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token){
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build().parseClaimsJws(token).getBody();
+    /**
+     * Verifies the signature and expiry and returns the claims; throws a JwtException otherwise.
+     * A token already verified by this node is answered from the cache until it expires.
+     */
+    public Claims parseClaims(String token){
+        Claims cached = claimsCache.get(token, System.currentTimeMillis());
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = extractAllClaims(token);
+        claimsCache.put(token, claims);
+        return claims;
     }
 
-    public boolean validateToken(String token, UserDetails userDetails){
-        final String userName = extractUsername(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    @Scheduled(fixedDelayString = "${jwt.claims-cache.sweep-interval:PT1M}")
+    public void evictExpiredClaims(){
+        claimsCache.evictExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Rebuilds the authenticated user from verified claims alone. Returns null for tokens
+     * issued before the identity claims existed.
+     */
+    public UserPrinciple toPrinciple(Claims claims){
+        Integer userId = claims.get(USER_ID_CLAIM, Integer.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Integer version = claims.get(VERSION_CLAIM, Integer.class);
+
+        if (userId == null || role == null || version == null) {
+            return null;
+        }
+
+        return new UserPrinciple(User.builder()
+                .id(userId)
+                .username(claims.getSubject())
+                .role(Role.valueOf(role))
+                .tokenVersion(version)
+                .build());
     }
 
-    private boolean isTokenExpired(String token){
-        return extractExpiration(token).before(new Date());
+    private Claims extractAllClaims(String token){
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public boolean validateToken(String token, UserDetails userDetails){
+        final Claims claims = parseClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 
-    private Date extractExpiration(String token){
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims){
+        return claims.getExpiration().before(new Date());
     }
 
     public String refreshAuthentication(User user) {
@@ -109,7 +162,7 @@ public class JwtService {
         SecurityContextHolder.getContext().setAuthentication(authToken);
 
         // Ensure you use the same field used during JWT creation & validation
-        return generateToken(userPrinciple.getUsername());
+        return generateToken(userPrinciple);
     }
 
 }
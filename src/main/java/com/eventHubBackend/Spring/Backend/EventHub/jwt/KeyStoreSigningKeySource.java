@@ -0,0 +1,62 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-only keys from a PKCS12/JCEKS keystore: every secret-key entry is one key, its alias is
+ * the kid and its creation date the activation instant. New keys are added with keytool.
+ */
+public class KeyStoreSigningKeySource implements SigningKeySource {
+
+    private final Path path;
+    private final String type;
+    private final char[] password;
+
+    public KeyStoreSigningKeySource(Path path, String type, String password) {
+        this.path = path;
+        this.type = type;
+        this.password = password.toCharArray();
+    }
+
+    @Override
+    public List<KeyEntry> load() throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            KeyStore keyStore = KeyStore.getInstance(type);
+            keyStore.load(in, password);
+
+            List<KeyEntry> entries = new ArrayList<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (!keyStore.isKeyEntry(alias)) continue;
+
+                Key key = keyStore.getKey(alias, password);
+                entries.add(new KeyEntry(alias,
+                        Base64.getEncoder().encodeToString(key.getEncoded()),
+                        keyStore.getCreationDate(alias).toInstant()));
+            }
+            return entries;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Cannot read signing keys from keystore " + path, e);
+        }
+    }
+
+    @Override
+    public boolean supportsRotation() {
+        return false;
+    }
+
+    @Override
+    public void update(UnaryOperator<List<KeyEntry>> change) {
+        throw new UnsupportedOperationException("Keystore keys are rotated with keytool");
+    }
+}
@@ -0,0 +1,28 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Where the HMAC signing keys shared by all nodes are stored.
+ */
+public interface SigningKeySource {
+
+    /**
+     * One key: its id (the JWT kid header), the Base64 secret and the instant from which
+     * nodes may sign with it. Verification also accepts keys that are not active yet.
+     */
+    record KeyEntry(String kid, String secret, Instant activatesAt) {}
+
+    List<KeyEntry> load() throws IOException;
+
+    boolean supportsRotation();
+
+    /**
+     * Atomically replaces the stored keys with the result of {@code change}, which receives the
+     * freshly read keys and returns null to leave them untouched.
+     */
+    void update(UnaryOperator<List<KeyEntry>> change) throws IOException;
+}
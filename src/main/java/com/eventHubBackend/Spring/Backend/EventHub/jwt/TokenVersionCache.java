@@ -0,0 +1,76 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import com.eventHubBackend.Spring.Backend.EventHub.repository.UserRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of each user's current token version. Authenticated requests compare the
+ * version inside the JWT against it, so a revoked token is refused with at most one scalar
+ * query per user per TTL instead of a user lookup on every request.
+ */
+@Component
+public class TokenVersionCache {
+
+    private record Entry(int version, long loadedAt) {}
+
+    private final UserRepo userRepo;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final Map<Integer, Entry> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionCache(UserRepo userRepo,
+                             @Value("${jwt.version-cache.ttl:PT30S}") Duration ttl,
+                             @Value("${jwt.version-cache.max-entries:100000}") int maxEntries) {
+        this.userRepo = userRepo;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isCurrent(Integer userId, int tokenVersion) {
+        long now = System.nanoTime();
+        Entry entry = versions.get(userId);
+
+        if (entry == null || now - entry.loadedAt() > ttlNanos) {
+            Integer current = userRepo.findTokenVersionById(userId).orElse(null);
+            if (current == null) {
+                versions.remove(userId);
+                return false;
+            }
+            entry = new Entry(current, now);
+            store(userId, entry, now);
+        }
+        return entry.version() == tokenVersion;
+    }
+
+    /**
+     * Publishes a new version once the surrounding transaction commits, so this node rejects
+     * older tokens immediately; other nodes catch up within the TTL.
+     */
+    public void updateAfterCommit(Integer userId, int newVersion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(userId, new Entry(newVersion, System.nanoTime()), System.nanoTime());
+                }
+            });
+        } else {
+            store(userId, new Entry(newVersion, System.nanoTime()), System.nanoTime());
+        }
+    }
+
+    private void store(Integer userId, Entry entry, long now) {
+        if (versions.size() >= maxEntries) {
+            versions.values().removeIf(e -> now - e.loadedAt() > ttlNanos);
+        }
+        versions.put(userId, entry);
+    }
+}
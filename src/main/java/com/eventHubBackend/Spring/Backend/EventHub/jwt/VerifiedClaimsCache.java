@@ -0,0 +1,72 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Claims of tokens whose signature was already verified, keyed by the SHA-256 digest of the
+ * compact token. An entry lives until the token expires; the cache is capped so a flood of
+ * distinct tokens cannot grow it without bound, and a miss on a full cache costs nothing extra.
+ */
+public class VerifiedClaimsCache {
+
+    private record Entry(Claims claims, long expiresAtMillis) {}
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+
+    public VerifiedClaimsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Claims get(String token, long nowMillis) {
+        ByteBuffer key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+
+        if (entry.expiresAtMillis() <= nowMillis) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    public void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) return;
+
+        // A full cache just stops caching; expired entries are swept by the scheduled evictExpired,
+        // never on the request thread
+        if (entries.size() >= maxEntries) return;
+        entries.put(digest(token), new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    public void evictExpired(long nowMillis) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= nowMillis);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,194 @@
+package com.eventHubBackend.Spring.Backend.EventHub.likes;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Like/unlike deltas per event, kept in LongAdders so a popular event does not serialise its
+ * likers on one counter, and added to events.like_count in one JDBC batch per flush.
+ * <p>
+ * Responses add this node's pending delta to the stored count, so a user sees their own like
+ * at once; other nodes see it after the next flush. A flush takes a delta by subtracting what it
+ * read rather than resetting, so likes arriving mid-flush stay pending for the next one.
+ * <p>
+ * Flushed counts move the EVENTS catalog version at most once per likes.tag-interval, so a busy
+ * like stream does not invalidate every event tag on every flush. A client revalidating with a
+ * tag may therefore see like counts up to that interval old.
+ */
+@Slf4j
+@Component
+public class EventLikeCounter {
+
+    private static final String FLUSH_SQL = "UPDATE events SET like_count = like_count + ? WHERE id = ?";
+    private static final String RECONCILE_SQL = "UPDATE events e SET like_count = " +
+            "(SELECT COUNT(*) FROM user_liked_events l WHERE l.event_id = e.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersions catalogVersions;
+    private final int batchSize;
+    private final boolean reconcileOnStartup;
+
+    private final ConcurrentMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    @Value("${likes.tag-interval:PT1M}")
+    private Duration tagInterval = Duration.ofMinutes(1);
+
+    // Guarded by flush(): counts were written since the version last moved for them
+    private boolean untagged;
+    private long taggedAt = System.nanoTime();
+
+    public EventLikeCounter(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            CatalogVersions catalogVersions,
+                            @Value("${likes.flush.batch-size:500}") int batchSize,
+                            @Value("${likes.reconcile-on-startup:false}") boolean reconcileOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogVersions = catalogVersions;
+        this.batchSize = batchSize;
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    /**
+     * One-off recount from user_liked_events, for databases whose likes predate like_count.
+     * Run it on a single node while no other node holds unflushed deltas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        if (!reconcileOnStartup) return;
+
+        long started = System.currentTimeMillis();
+        int updated = transactionTemplate.execute(status -> {
+            int rows = jdbcTemplate.update(RECONCILE_SQL);
+            catalogVersions.bump(CatalogVersions.Catalog.EVENTS);
+            return rows;
+        });
+        log.info("Recounted likes of {} events in {} ms", updated, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Counts the change once the surrounding transaction commits, so a rolled back like is never counted.
+     */
+    public void addAfterCommit(Long eventId, long delta) {
+        addAfterCommit(eventId, delta, () -> {});
+    }
+
+    /**
+     * Counts the change like {@link #addAfterCommit(Long, long)} and runs the follow-up in the
+     * same callback, so whatever else reacts to the like sees exactly the committed ones.
+     */
+    public void addAfterCommit(Long eventId, long delta, Runnable andThen) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(eventId, delta);
+                    andThen.run();
+                }
+            });
+        } else {
+            add(eventId, delta);
+            andThen.run();
+        }
+    }
+
+    public void add(Long eventId, long delta) {
+        // Responses on this node include the delta straight away; their tags only move with a later flush
+        pending.computeIfAbsent(eventId, id -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Change not yet written to the database, to add to a stored like_count.
+     */
+    public long pending(Long eventId) {
+        LongAdder adder = pending.get(eventId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Stops tracking a deleted event; its row and count are gone.
+     */
+    public void forget(Long eventId) {
+        pending.remove(eventId);
+    }
+
+    @Scheduled(fixedDelayString = "${likes.flush.interval:PT5S}")
+    public synchronized void flush() {
+        // Id order, so concurrent flushes from several nodes lock rows in the same order
+        Map<Long, Long> deltas = new TreeMap<>();
+        pending.forEach((eventId, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                adder.add(-delta);
+                deltas.put(eventId, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            tag(false);
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(Math.min(batchSize, deltas.size()));
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            batch.add(new Object[]{entry.getValue(), entry.getKey()});
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) write(batch);
+        tag(false);
+    }
+
+    /**
+     * Moves the EVENTS version for the counts written since it last moved, once the tag
+     * interval is up or when forced.
+     */
+    private void tag(boolean force) {
+        if (!untagged || !force && System.nanoTime() - taggedAt < tagInterval.toNanos()) return;
+        catalogVersions.bump(CatalogVersions.Catalog.EVENTS);
+        untagged = false;
+        taggedAt = System.nanoTime();
+    }
+
+    private void write(List<Object[]> batch) {
+        try {
+            // One transaction per batch, so a failed batch left nothing behind and can be retried whole
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+            untagged = true;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Flushing {} like counters failed, retrying on the next flush: {}", batch.size(), e.getMessage());
+            for (Object[] args : batch) {
+                add((Long) args[1], (Long) args[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        flush();
+        tag(true);
+    }
+}
@@ -0,0 +1,142 @@
+package com.eventHubBackend.Spring.Backend.EventHub.loggers;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Owns the access-log ring buffer and the one thread that empties it. Request threads only
+ * offer an entry; formatting, payload rendering and the logback call all happen here. When
+ * the buffer is full the entry is dropped rather than blocking the request, and the number
+ * of drops is logged with the next batch.
+ */
+@Component
+public class AccessLogAppender implements Runnable {
+
+    static final Logger ACCESS_LOG = LoggerFactory.getLogger("eventhub.access");
+
+    private static final int DRAIN_BATCH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final Pattern SECRET_FIELD =
+            Pattern.compile("(\"(?:password|newPassword|oldPassword|token)\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*\"");
+
+    private final MpscRingBuffer<AccessLogEntry> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Consumer<AccessLogEntry> writer = this::write;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AccessLogAppender(@Value("${access-log.buffer-size:8192}") int bufferSize) {
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+    }
+
+    /**
+     * Called on the request thread; never blocks.
+     */
+    public void append(AccessLogEntry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread = new Thread(this, "access-log-appender");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        long reportedDrops = 0;
+        while (running) {
+            int drained = buffer.drain(writer, DRAIN_BATCH);
+
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                ACCESS_LOG.warn("Access log buffer full, dropped {} entries", drops - reportedDrops);
+                reportedDrops = drops;
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+        // Whatever was offered before shutdown still gets written, by the buffer's only consumer
+        drain(writer);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread == null) {
+            drain(writer);
+            return;
+        }
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(1));
+        if (thread.isAlive()) {
+            // Draining here too would make two consumers; the thread finishes the drain on its own
+            ACCESS_LOG.warn("Access log appender still writing at shutdown, entries it has not reached may be lost");
+        }
+    }
+
+    /**
+     * Consumer side only: either the appender thread, or a caller that never started it.
+     */
+    int drain(Consumer<AccessLogEntry> sink) {
+        int total = 0;
+        int drained;
+        while ((drained = buffer.drain(sink, DRAIN_BATCH)) > 0) {
+            total += drained;
+        }
+        return total;
+    }
+
+    private void write(AccessLogEntry entry) {
+        if (entry.requestPayload() != null || entry.responsePayload() != null) {
+            ACCESS_LOG.debug(render(entry));
+        } else {
+            ACCESS_LOG.info(render(entry));
+        }
+    }
+
+    static String render(AccessLogEntry entry) {
+        StringBuilder line = new StringBuilder(160)
+                .append("method=").append(entry.method())
+                .append(" route=").append(entry.route())
+                .append(" status=").append(entry.status())
+                .append(" latency_us=").append(entry.latencyMicros())
+                .append(" user=").append(entry.userId() != null ? entry.userId().toString() : "-")
+                .append(" req_bytes=").append(entry.requestBytes())
+                .append(" resp_bytes=").append(entry.responseBytes());
+
+        if (entry.requestPayload() != null) {
+            line.append(" req_body=").append(payload(entry.requestPayload(), entry.requestBytes()));
+        }
+        if (entry.responsePayload() != null) {
+            line.append(" resp_body=").append(payload(entry.responsePayload(), entry.responseBytes()));
+        }
+        return line.toString();
+    }
+
+    private static String payload(byte[] captured, long total) {
+        String text = SECRET_FIELD.matcher(new String(captured, StandardCharsets.UTF_8)).replaceAll("$1\"***\"");
+        return total > captured.length ? text + "...(truncated)" : text;
+    }
+}
@@ -0,0 +1,18 @@
+package com.eventHubBackend.Spring.Backend.EventHub.loggers;
+
+/**
+ * One request as captured on the request thread: plain fields only, so nothing is formatted
+ * there. The payload bytes are present only when the access logger is at DEBUG, capped, and
+ * rendered to text by the appender thread.
+ */
+record AccessLogEntry(long timestampMillis,
+                      String method,
+                      String route,
+                      int status,
+                      long latencyMicros,
+                      Integer userId,
+                      long requestBytes,
+                      long responseBytes,
+                      byte[] requestPayload,
+                      byte[] responsePayload) {
+}
@@ -0,0 +1,167 @@
+package com.eventHubBackend.Spring.Backend.EventHub.loggers;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One access-log entry per request: route template, status, latency, user and body sizes. The
+ * entry is built from plain fields and handed to {@link AccessLogAppender}, which formats and
+ * writes it on its own thread.
+ * <p>
+ * Routes can be sampled with {@code access-log.sample-rates}, a comma-separated list of
+ * {@code METHOD /route/{template}=rate} (the method is optional); other routes use
+ * {@code access-log.default-sample-rate}. Server errors are always logged. With the
+ * {@code eventhub.access} logger at DEBUG the first {@code access-log.debug.max-payload}
+ * bytes of each body are kept too, except for credentials and multipart uploads.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    /**
+     * Set by the authentication filter; the security context is already cleared by the time
+     * the entry is built.
+     */
+    public static final String USER_ID_ATTRIBUTE = AccessLogFilter.class.getName() + ".userId";
+
+    private static final String[] NO_PAYLOAD_PATHS = {
+            "/api/users/signup",
+            "/api/users/signin",
+    };
+
+    private final AccessLogAppender appender;
+    private final double defaultSampleRate;
+    private final Map<String, Double> sampleRates;
+    private final int maxPayload;
+
+    public AccessLogFilter(AccessLogAppender appender,
+                           @Value("${access-log.default-sample-rate:1.0}") double defaultSampleRate,
+                           @Value("${access-log.sample-rates:}") String sampleRates,
+                           @Value("${access-log.debug.max-payload:2048}") int maxPayload) {
+        this.appender = appender;
+        this.defaultSampleRate = defaultSampleRate;
+        this.sampleRates = parseSampleRates(sampleRates);
+        this.maxPayload = maxPayload;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        int captureCap = AccessLogAppender.ACCESS_LOG.isDebugEnabled() && capturesPayload(request) ? maxPayload : 0;
+        CountingRequestWrapper countingRequest = new CountingRequestWrapper(request, captureCap);
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response, captureCap);
+
+        boolean failed = true;
+        try {
+            filterChain.doFilter(countingRequest, countingResponse);
+            failed = false;
+        } finally {
+            if (!failed && countingRequest.isAsyncStarted()) {
+                // Streaming and deferred responses finish on another thread
+                countingRequest.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(countingRequest, countingResponse, start, false);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(countingRequest, countingResponse, start, failed);
+            }
+        }
+    }
+
+    private void record(CountingRequestWrapper request, CountingResponseWrapper response, long start, boolean failed) {
+        // An exception still propagating has not been turned into a response yet
+        int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+        String route = route(request);
+        if (status < 500 && !sampled(request.getMethod(), route)) return;
+
+        appender.append(new AccessLogEntry(
+                System.currentTimeMillis(),
+                request.getMethod(),
+                route,
+                status,
+                (System.nanoTime() - start) / 1_000,
+                (Integer) request.getAttribute(USER_ID_ATTRIBUTE),
+                request.bodyBytes(),
+                response.bodyBytes(),
+                request.captured(),
+                response.captured()));
+    }
+
+    private boolean sampled(String method, String route) {
+        double rate = defaultSampleRate;
+        if (!sampleRates.isEmpty()) {
+            Double routeRate = sampleRates.get(method + ' ' + route);
+            if (routeRate == null) routeRate = sampleRates.get(route);
+            if (routeRate != null) rate = routeRate;
+        }
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * The handler's path template, so /api/events/7 and /api/events/8 log as one route.
+     */
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+
+    private static boolean capturesPayload(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith("multipart/")) return false;
+
+        String path = request.getRequestURI();
+        for (String noPayload : NO_PAYLOAD_PATHS) {
+            if (path.startsWith(noPayload)) return false;
+        }
+        return true;
+    }
+
+    static Map<String, Double> parseSampleRates(String spec) {
+        Map<String, Double> rates = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) continue;
+
+            int equals = entry.lastIndexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("access-log.sample-rates entry needs a rate: " + entry.trim());
+            }
+            double rate = Double.parseDouble(entry.substring(equals + 1).trim());
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("access-log.sample-rates rate must be between 0 and 1: " + entry.trim());
+            }
+            rates.put(entry.substring(0, equals).trim().replaceAll("\\s+", " "), rate);
+        }
+        return rates;
+    }
+}
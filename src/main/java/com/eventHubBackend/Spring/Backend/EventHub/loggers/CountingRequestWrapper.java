@@ -0,0 +1,96 @@
+package com.eventHubBackend.Spring.Backend.EventHub.loggers;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Counts the request body as the handler reads it, keeping the first bytes when capturing.
+ * Unlike ContentCachingRequestWrapper nothing is buffered beyond the capture cap.
+ */
+final class CountingRequestWrapper extends HttpServletRequestWrapper {
+
+    private final PayloadCapture capture;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    CountingRequestWrapper(HttpServletRequest request, int captureCap) {
+        super(request);
+        this.capture = new PayloadCapture(captureCap);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new CountingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        return reader;
+    }
+
+    /**
+     * Bytes read through this wrapper, or the declared length when the container consumed
+     * the body itself (form parameters, multipart parts).
+     */
+    long bodyBytes() {
+        return Math.max(capture.count(), getContentLengthLong());
+    }
+
+    byte[] captured() {
+        return capture.captured();
+    }
+
+    private final class CountingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        CountingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) capture.write(b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = delegate.read(bytes, offset, length);
+            if (read > 0) capture.write(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            delegate.setReadListener(listener);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventHubBackend.Spring.Backend.EventHub.loggers;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Counts the response body as it is written, keeping the first bytes when capturing. The body
+ * still streams straight to the client; nothing is buffered beyond the capture cap, so large
+ * or streamed responses cost the same as without the wrapper.
+ */
+final class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final PayloadCapture capture;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CountingResponseWrapper(HttpServletResponse response, int captureCap) {
+        super(response);
+        this.capture = new PayloadCapture(captureCap);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return countingStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(countingStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) writer.flush();
+        super.flushBuffer();
+    }
+
+    long bodyBytes() {
+        if (writer != null) writer.flush();
+        return capture.count();
+    }
+
+    byte[] captured() {
+        return capture.captured();
+    }
+
+    private ServletOutputStream countingStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CountingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            capture.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.eventHubBackend.Spring.Backend.EventHub.loggers;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer (Vyukov's sequence-per-slot
+ * design). A slot's sequence says whose turn it is: producers claim slots by CAS on the tail,
+ * and the consumer hands a slot back by moving its sequence one lap ahead. Producers never
+ * wait; when the consumer is a full lap behind, offer fails and the caller drops the item.
+ */
+final class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Only the consumer thread touches head
+    private long head;
+
+    MpscRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    // Publishes the element to the consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            // Another producer took this position; try the next one
+        }
+    }
+
+    /**
+     * Consumer only. Hands up to max elements to the sink and returns how many there were.
+     */
+    int drain(Consumer<E> sink, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) break;
+
+            E element = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+            sink.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
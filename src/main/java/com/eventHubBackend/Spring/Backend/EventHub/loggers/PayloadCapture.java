@@ -0,0 +1,56 @@
+package com.eventHubBackend.Spring.Backend.EventHub.loggers;
+
+import java.util.Arrays;
+
+/**
+ * Counts the bytes that pass through a request or response body and, when given a non-zero
+ * cap, keeps a copy of the first cap of them. Only ever used by the thread serving the request.
+ */
+final class PayloadCapture {
+
+    private final int cap;
+    private byte[] head;
+    private int captured;
+    private long count;
+
+    PayloadCapture(int cap) {
+        this.cap = cap;
+    }
+
+    void write(int b) {
+        count++;
+        if (captured < cap) {
+            ensureRoom(1);
+            head[captured++] = (byte) b;
+        }
+    }
+
+    void write(byte[] bytes, int offset, int length) {
+        count += length;
+        int room = Math.min(length, cap - captured);
+        if (room > 0) {
+            ensureRoom(room);
+            System.arraycopy(bytes, offset, head, captured, room);
+            captured += room;
+        }
+    }
+
+    long count() {
+        return count;
+    }
+
+    /**
+     * The captured bytes, or null when nothing was captured.
+     */
+    byte[] captured() {
+        return captured == 0 ? null : Arrays.copyOf(head, captured);
+    }
+
+    private void ensureRoom(int needed) {
+        if (head == null) {
+            head = new byte[Math.min(cap, Math.max(256, needed))];
+        } else if (head.length - captured < needed) {
+            head = Arrays.copyOf(head, Math.min(cap, Math.max(head.length * 2, captured + needed)));
+        }
+    }
+}
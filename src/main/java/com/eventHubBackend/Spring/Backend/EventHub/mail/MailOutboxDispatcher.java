@@ -0,0 +1,235 @@
+package com.eventHubBackend.Spring.Backend.EventHub.mail;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.OutboxMail;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.MailStatus;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.OutboxMailRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the mail outbox. Each batch is claimed with SKIP LOCKED in a short transaction that
+ * marks it SENDING under a lease, handed to the mail sender as one array so it goes out over a
+ * single SMTP connection with no transaction open, then marked SENT or rescheduled with
+ * exponential backoff in a second short transaction. A batch whose node died mid-send is
+ * claimed again once its lease runs out, so a mail may go out twice but is never stuck. Mails
+ * that keep failing end up DEAD.
+ */
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+
+    private final OutboxMailRepository outboxMailRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final String from;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final MeterRegistry meterRegistry;
+
+    private static final Set<MailStatus> CLAIMABLE = Set.of(MailStatus.PENDING, MailStatus.SENDING);
+
+    public MailOutboxDispatcher(MeterRegistry meterRegistry,
+                                OutboxMailRepository outboxMailRepository,
+                                JavaMailSender mailSender,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${spring.mail.username}") String from,
+                                @Value("${mail.outbox.batch-size:50}") int batchSize,
+                                @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+                                @Value("${mail.outbox.initial-backoff:PT30S}") Duration initialBackoff,
+                                @Value("${mail.outbox.max-backoff:PT1H}") Duration maxBackoff,
+                                @Value("${mail.outbox.lease:PT5M}") Duration lease) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:PT2S}")
+    public void dispatch() {
+        // Keep draining while batches come back full
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+    }
+
+    /**
+     * Sends one batch of due mails and returns how many were claimed.
+     */
+    public int dispatchBatch() {
+        List<OutboxMail> claimed = claim();
+        List<OutboxMail> sending = claimed.stream().filter(mail -> mail.getStatus() == MailStatus.SENDING).toList();
+        if (sending.isEmpty()) return claimed.size();
+
+        Map<SimpleMailMessage, OutboxMail> messages = new IdentityHashMap<>();
+        for (OutboxMail mail : sending) {
+            messages.put(toMessage(mail), mail);
+        }
+
+        Map<Object, Exception> failures = send(messages);
+        Map<Long, Exception> failed = new HashMap<>();
+        for (Map.Entry<SimpleMailMessage, OutboxMail> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure != null || failures.containsKey(null)) {
+                failed.put(entry.getValue().getId(), failure != null ? failure : failures.get(null));
+            }
+        }
+
+        record(sending, failed);
+        return claimed.size();
+    }
+
+    /**
+     * Locks the due mails, including ones whose lease ran out, and leases them to this node
+     * until the lease ends. A lapsed lease counts as a failed attempt.
+     */
+    private List<OutboxMail> claim() {
+        List<OutboxMail> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMail> due = outboxMailRepository.claimDue(CLAIMABLE, now, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) return due;
+
+            // Whole seconds, so the lease compares equal after a round trip through any DATETIME column
+            LocalDateTime leasedUntil = now.plus(lease).truncatedTo(ChronoUnit.SECONDS);
+            for (OutboxMail mail : due) {
+                if (mail.getStatus() == MailStatus.SENDING && mail.getAttempts() >= maxAttempts) {
+                    mail.setStatus(MailStatus.DEAD);
+                    mail.setLastError("Sending did not finish within the lease");
+                    log.warn("Giving up on mail {} to {} after {} attempts: its lease ran out",
+                            mail.getId(), mail.getRecipient(), mail.getAttempts());
+                    continue;
+                }
+                if (mail.getStatus() == MailStatus.SENDING) {
+                    log.warn("Mail {} was not marked within its lease, sending it again", mail.getId());
+                }
+                mail.setStatus(MailStatus.SENDING);
+                mail.setAttempts(mail.getAttempts() + 1);
+                mail.setNextAttemptAt(leasedUntil);
+            }
+            outboxMailRepository.saveAll(due);
+            return due;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    /**
+     * Marks the sent batch. Rows whose lease ran out while sending may already be claimed by
+     * another dispatcher; they are left to it.
+     */
+    private void record(List<OutboxMail> sending, Map<Long, Exception> failed) {
+        Map<Long, OutboxMail> leased = sending.stream().collect(Collectors.toMap(OutboxMail::getId, Function.identity()));
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMail> rows = outboxMailRepository.lockAllById(leased.keySet());
+            for (OutboxMail row : rows) {
+                OutboxMail ours = leased.get(row.getId());
+                if (row.getStatus() != MailStatus.SENDING || !row.getNextAttemptAt().equals(ours.getNextAttemptAt())) {
+                    log.warn("Mail {} was claimed again after its lease ran out, leaving it to that dispatcher", row.getId());
+                    continue;
+                }
+                Exception failure = failed.get(row.getId());
+                if (failure == null) {
+                    markSent(row, now);
+                } else {
+                    markFailed(row, failure, now);
+                }
+            }
+            outboxMailRepository.saveAll(rows);
+        });
+    }
+
+    /**
+     * Returns the failed messages. A null key means the whole batch failed, e.g. the server
+     * could not be reached or rejected the login.
+     */
+    private Map<Object, Exception> send(Map<SimpleMailMessage, OutboxMail> messages) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(messages.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException ex) {
+            if (ex.getFailedMessages().isEmpty()) {
+                failures.put(null, ex);
+            } else {
+                ex.getFailedMessages().forEach(failures::put);
+            }
+        } catch (MailException ex) {
+            failures.put(null, ex);
+        }
+        // One sample per SMTP session, i.e. per batch
+        sample.stop(Timer.builder("eventhub.mail.send")
+                .tag("outcome", failures.isEmpty() ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return failures;
+    }
+
+    private SimpleMailMessage toMessage(OutboxMail mail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(mail.getRecipient());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getBody());
+        return message;
+    }
+
+    private void markSent(OutboxMail mail, LocalDateTime now) {
+        mail.setStatus(MailStatus.SENT);
+        mail.setSentAt(now);
+        mail.setLastError(null);
+    }
+
+    // The attempt was already counted when the mail was claimed
+    private void markFailed(OutboxMail mail, Exception failure, LocalDateTime now) {
+        int attempts = mail.getAttempts();
+        mail.setLastError(truncate(failure.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            mail.setStatus(MailStatus.DEAD);
+            log.warn("Giving up on mail {} to {} after {} attempts: {}", mail.getId(), mail.getRecipient(), attempts, failure.getMessage());
+        } else {
+            mail.setStatus(MailStatus.PENDING);
+            mail.setNextAttemptAt(now.plus(backoff(attempts)));
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
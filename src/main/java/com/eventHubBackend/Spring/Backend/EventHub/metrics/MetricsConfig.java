@@ -0,0 +1,30 @@
+package com.eventHubBackend.Spring.Backend.EventHub.metrics;
+
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import java.time.Duration;
+
+/**
+ * Defaults for the actuator metrics surface (Prometheus endpoint, latency histograms), kept in
+ * metrics-defaults.properties so any application property overrides them, and the Hibernate
+ * hooks behind the per-request database metrics.
+ */
+@Configuration
+@PropertySource("classpath:metrics-defaults.properties")
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementMetricsCustomizer(
+            @Value("${metrics.db.slow-statement-threshold:PT0.25S}") Duration slowThreshold) {
+        return properties -> {
+            properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, StatementTimingListener.class.getName());
+            properties.putIfAbsent(JdbcSettings.LOG_SLOW_QUERY, slowThreshold.toMillis());
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.eventHubBackend.Spring.Backend.EventHub.metrics;
+
+/**
+ * JDBC work done by Hibernate on behalf of the current request: how many statements ran, how
+ * long they took in total and how many were slow. Bound to the request thread by
+ * {@link RequestMetricsFilter} and filled in by {@link StatementTimingListener}.
+ */
+final class RequestDbStats {
+
+    private static final ThreadLocal<RequestDbStats> CURRENT = new ThreadLocal<>();
+
+    private final long slowThresholdNanos;
+    int statements;
+    int slowStatements;
+    long executeNanos;
+
+    private RequestDbStats(long slowThresholdNanos) {
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    static RequestDbStats begin(long slowThresholdNanos) {
+        RequestDbStats stats = new RequestDbStats(slowThresholdNanos);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Null outside a request, e.g. on scheduler threads.
+     */
+    static RequestDbStats current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(long elapsedNanos) {
+        statements++;
+        executeNanos += elapsedNanos;
+        if (elapsedNanos >= slowThresholdNanos) slowStatements++;
+    }
+}
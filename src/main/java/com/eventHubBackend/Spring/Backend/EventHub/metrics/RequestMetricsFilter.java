@@ -0,0 +1,79 @@
+package com.eventHubBackend.Spring.Backend.EventHub.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route database cost, next to the http.server.requests latency Spring already records:
+ * statements executed, time spent executing them and slow statements, each tagged with the
+ * same route template. A slow route with little database time points at authentication or
+ * serialization instead.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry,
+                                @Value("${metrics.db.slow-statement-threshold:PT0.25S}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestDbStats stats = RequestDbStats.begin(slowThresholdNanos);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDbStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestDbStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Raw URIs would make a new time series per id
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("eventhub.db.statements")
+                .description("Statements executed by Hibernate per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                // A handful of buckets is enough to tell one query from an N+1
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                .register(meterRegistry)
+                .record(stats.statements);
+        Timer.builder("eventhub.db.time")
+                .description("Time spent executing Hibernate statements per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.executeNanos, TimeUnit.NANOSECONDS);
+        if (stats.slowStatements > 0) {
+            Counter.builder("eventhub.db.slow-statements")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .increment(stats.slowStatements);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.eventHubBackend.Spring.Backend.EventHub.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times every statement and batch a Hibernate session executes and adds it to the request's
+ * {@link RequestDbStats}. Hibernate creates one per session from the class name, so it holds
+ * no state beyond the statement in flight. The SQL of slow statements is logged by Hibernate
+ * itself (hibernate.log_slow_query).
+ */
+public class StatementTimingListener implements SessionEventListener {
+
+    private long started;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        finished();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        finished();
+    }
+
+    private void finished() {
+        RequestDbStats stats = RequestDbStats.current();
+        if (stats != null) stats.statementExecuted(System.nanoTime() - started);
+    }
+}
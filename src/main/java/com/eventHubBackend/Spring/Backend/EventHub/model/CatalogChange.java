@@ -0,0 +1,37 @@
+package com.eventHubBackend.Spring.Backend.EventHub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entity changed by the write that moved its catalog to version. Written in the same
+ * transaction as the version, so a node that reads version N finds every change up to N.
+ */
+@Entity
+@Table(name = "catalog_changes", indexes = {
+        @Index(name = "idx_catalog_changes_catalog_version", columnList = "catalog,version"),
+        @Index(name = "idx_catalog_changes_changed_at", columnList = "changed_at")
+})
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class CatalogChange {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String catalog;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // The node that made the change; it has already applied it to its own indexes
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
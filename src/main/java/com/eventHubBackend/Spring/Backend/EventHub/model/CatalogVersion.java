@@ -0,0 +1,19 @@
+package com.eventHubBackend.Spring.Backend.EventHub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One row per cacheable catalog, bumped right after every write to it commits.
+ */
+@Entity
+@Table(name = "catalog_versions")
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class CatalogVersion {
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(nullable = false)
+    private long version;
+}
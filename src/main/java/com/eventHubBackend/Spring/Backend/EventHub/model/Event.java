@@ -15,7 +15,12 @@ import java.util.List;
 @Table(
         name = "events",
         indexes = {
-                @Index(name = "idx_events_venue_time", columnList = "venue_id,start_time,end_time")
+                @Index(name = "idx_events_venue_time", columnList = "venue_id,start_time,end_time"),
+                // Keyset listing ordered by (start_time, id), one index per equality-filter combination
+                @Index(name = "idx_events_start_id", columnList = "start_time,id"),
+                @Index(name = "idx_events_category_start_id", columnList = "event_category,start_time,id"),
+                @Index(name = "idx_events_venue_start_id", columnList = "venue_id,start_time,id"),
+                @Index(name = "idx_events_venue_category_start_id", columnList = "venue_id,event_category,start_time,id")
         }
 )
 @Data @NoArgsConstructor @AllArgsConstructor @Builder
@@ -33,6 +38,10 @@ public class Event {
     @Column(nullable = false)
     private double price;
 
+    // Number of seats on sale, numbered 1..capacity. Null falls back to inventory.default-capacity
+    @Column
+    private Integer capacity;
+
     @Column(name = "start_time", nullable = false)
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime startTime;
@@ -50,7 +59,13 @@ public class Event {
 
 
 
-    @Column(nullable = false)
+    @Column(name = "event_category", nullable = false)
     @Enumerated(EnumType.STRING)
+    @Builder.Default
     private EventCategories eventCategory = EventCategories.GENERAL;
+
+    // Maintained only by EventLikeCounter's batched increments; entity updates never write it
+    @Column(name = "like_count", nullable = false, updatable = false)
+    @Builder.Default
+    private long likeCount = 0;
 }
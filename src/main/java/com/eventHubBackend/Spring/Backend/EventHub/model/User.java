@@ -43,8 +43,10 @@ public class User {
     private Role role;
 
 
+    // The unique key is what lets a like be a single INSERT IGNORE (see UserRepo.insertLikeIfAbsent)
     @ElementCollection
-    @CollectionTable(name = "user_liked_events", joinColumns = @JoinColumn(name = "user_id"))
+    @CollectionTable(name = "user_liked_events", joinColumns = @JoinColumn(name = "user_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_user_liked_events", columnNames = {"user_id", "event_id"}))
     @Column(name = "event_id")
     private Set<Long> likedEventId = new HashSet<>();
 
@@ -52,6 +54,10 @@ public class User {
     @Column(nullable = false)
     private boolean isVerified = false;
 
+    // Bumped whenever the username or role changes; tokens carrying an older value are rejected
+    @Column(nullable = false)
+    private int tokenVersion;
+
 
     @PrePersist
     public void setDefaultFullName() {
@@ -23,6 +23,11 @@ public class Venue {
     @Column(nullable = false, length = 200)
     private String address;
 
+    // WGS84 degrees; null for venues created before coordinates were collected
+    private Double latitude;
+
+    private Double longitude;
+
     @OneToMany(mappedBy = "venue", cascade = CascadeType.ALL)
     private List<Event> events;
 }
@@ -0,0 +1,8 @@
+package com.eventHubBackend.Spring.Backend.EventHub.model.enums;
+
+public enum MailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -1,6 +1,7 @@
 package com.eventHubBackend.Spring.Backend.EventHub.principles;
 
 import com.eventHubBackend.Spring.Backend.EventHub.model.User;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.Role;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -69,4 +70,12 @@ public class UserPrinciple implements UserDetails {
 
        return user.getId();
     }
+
+    public Role getRole() {
+       return user.getRole();
+    }
+
+    public int getTokenVersion() {
+       return user.getTokenVersion();
+    }
 }
@@ -9,6 +9,7 @@ public class PublicEndpoints {
             "/api/users/oauth2/success/**",
             "/api/events/**", // example for public events list
             "/swagger-ui/**",        // if you expose Swagger
-            "/v3/api-docs/**"    // OpenAPI docs
+            "/v3/api-docs/**",    // OpenAPI docs
+            "/actuator/health"
     };
 }
@@ -2,11 +2,65 @@ package com.eventHubBackend.Spring.Backend.EventHub.repository;
 
 
 import com.eventHubBackend.Spring.Backend.EventHub.model.Booking;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.BookingStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-}
+    interface HeldSeat {
+        Long getBookingId();
+        Long getEventId();
+        LocalDateTime getBookingDate();
+        String getSeatNumber();
+    }
+
+    @Query("SELECT b.id AS bookingId, b.event.id AS eventId, b.bookingDate AS bookingDate, t.seatNumber AS seatNumber " +
+            "FROM Ticket t JOIN t.booking b WHERE b.status = :status ORDER BY b.id")
+    Stream<HeldSeat> streamSeatsByStatus(@Param("status") BookingStatus status);
+
+    @Query("SELECT b.id AS bookingId, b.event.id AS eventId, b.bookingDate AS bookingDate, t.seatNumber AS seatNumber " +
+            "FROM Ticket t JOIN t.booking b WHERE b.status = :status AND b.bookingDate <= :before ORDER BY b.id")
+    List<HeldSeat> findSeatsByStatusBookedBefore(@Param("status") BookingStatus status,
+                                                 @Param("before") LocalDateTime before);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids AND b.status = :status")
+    List<Long> lockIdsByStatus(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.id IN :ids AND b.status = :from")
+    int transition(@Param("ids") Collection<Long> ids,
+                   @Param("from") BookingStatus from,
+                   @Param("to") BookingStatus to);
+
+    /**
+     * Like {@link #transitionOwned}, but only while the booking's hold has not run out.
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.id = :id AND b.user.id = :userId AND b.status = :from " +
+            "AND b.bookingDate > :heldSince")
+    int transitionHeld(@Param("id") Long id,
+                       @Param("userId") Integer userId,
+                       @Param("from") BookingStatus from,
+                       @Param("to") BookingStatus to,
+                       @Param("heldSince") LocalDateTime heldSince);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.id = :id AND b.user.id = :userId AND b.status = :from")
+    int transitionOwned(@Param("id") Long id,
+                        @Param("userId") Integer userId,
+                        @Param("from") BookingStatus from,
+                        @Param("to") BookingStatus to);
+}
@@ -0,0 +1,31 @@
+package com.eventHubBackend.Spring.Backend.EventHub.repository;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.CatalogChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    /**
+     * Entities other nodes changed in versions (after, upTo] of the catalog.
+     */
+    @Query("SELECT DISTINCT c.entityId FROM CatalogChange c WHERE c.catalog = :catalog " +
+            "AND c.version > :after AND c.version <= :upTo AND c.origin <> :origin")
+    List<Long> findChangedIds(@Param("catalog") String catalog,
+                              @Param("after") long after,
+                              @Param("upTo") long upTo,
+                              @Param("origin") String origin);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CatalogChange c WHERE c.changedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
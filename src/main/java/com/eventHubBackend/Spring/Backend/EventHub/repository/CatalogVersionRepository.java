@@ -0,0 +1,31 @@
+package com.eventHubBackend.Spring.Backend.EventHub.repository;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+
+    /**
+     * Run by CatalogVersions after the write has committed, in a transaction of its own, so the
+     * row lock is held only for the increment.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE CatalogVersion c SET c.version = c.version + 1 WHERE c.name = :name")
+    int increment(@Param("name") String name);
+
+    /**
+     * A scalar read, so it always reaches the database; inside the incrementing transaction it
+     * sees exactly the version that transaction commits.
+     */
+    @Query("SELECT c.version FROM CatalogVersion c WHERE c.name = :name")
+    Optional<Long> findVersion(@Param("name") String name);
+}
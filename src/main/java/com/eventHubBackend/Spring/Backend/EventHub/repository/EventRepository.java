@@ -1,20 +1,105 @@
 package com.eventHubBackend.Spring.Backend.EventHub.repository;
 
 import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
-    @Query("SELECT e FROM Event e WHERE e.venue.id = :venueId " +
-            "AND ((:start < e.endTime) AND (:end > e.startTime))")
-    List<Event> findOverlappingEvents(@Param("venueId") Long venueId,
-                                      @Param("start") LocalDateTime start,
-                                      @Param("end") LocalDateTime end);
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventResponseQueries {
+
+    interface ScheduledSlot {
+        Long getId();
+        Long getVenueId();
+        LocalDateTime getStartTime();
+        LocalDateTime getEndTime();
+    }
+
+    interface SearchDocument {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        EventCategories getEventCategory();
+        LocalDateTime getStartTime();
+        double getPrice();
+        Long getVenueId();
+        String getVenueName();
+        String getVenueAddress();
+    }
+
+    @Query("SELECT COUNT(e) > 0 FROM Event e WHERE e.venue.id = :venueId " +
+            "AND e.startTime < :end AND e.endTime > :start AND (:excludeId IS NULL OR e.id <> :excludeId)")
+    boolean existsOverlapping(@Param("venueId") Long venueId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("excludeId") Long excludeId);
+
+    @Query("SELECT e.id AS id, e.venue.id AS venueId, e.startTime AS startTime, e.endTime AS endTime FROM Event e")
+    Stream<ScheduledSlot> streamSchedule();
+
+    @Query("SELECT e.id AS id, e.venue.id AS venueId, e.startTime AS startTime, e.endTime AS endTime FROM Event e " +
+            "WHERE e.id IN :ids")
+    List<ScheduledSlot> findSlotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.id AS id, e.venue.id AS venueId, e.startTime AS startTime, e.endTime AS endTime FROM Event e " +
+            "WHERE e.venue.id = :venueId")
+    List<ScheduledSlot> findSlotsByVenueId(@Param("venueId") Long venueId);
+
+    @Query("SELECT e.id AS id, e.venue.id AS venueId, e.startTime AS startTime, e.endTime AS endTime FROM Event e " +
+            "WHERE e.venue.id IN :venueIds AND e.startTime < :to AND e.endTime > :from")
+    List<ScheduledSlot> findSlotsInRange(@Param("venueIds") Collection<Long> venueIds,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.eventCategory AS eventCategory, " +
+            "e.startTime AS startTime, e.price AS price, v.id AS venueId, v.name AS venueName, v.address AS venueAddress " +
+            "FROM Event e JOIN e.venue v")
+    Stream<SearchDocument> streamSearchDocuments();
+
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.eventCategory AS eventCategory, " +
+            "e.startTime AS startTime, e.price AS price, v.id AS venueId, v.name AS venueName, v.address AS venueAddress " +
+            "FROM Event e JOIN e.venue v WHERE v.id = :venueId")
+    Stream<SearchDocument> streamSearchDocumentsByVenueId(@Param("venueId") Long venueId);
+
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.eventCategory AS eventCategory, " +
+            "e.startTime AS startTime, e.price AS price, v.id AS venueId, v.name AS venueName, v.address AS venueAddress " +
+            "FROM Event e JOIN e.venue v WHERE e.id IN :ids")
+    List<SearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.eventCategory FROM Event e WHERE e.id = :id")
+    Optional<EventCategories> findCategoryById(@Param("id") Long id);
+
+    @Query("SELECT e.capacity FROM Event e WHERE e.id = :id")
+    Optional<Integer> findCapacityById(@Param("id") Long id);
+
+    @Query("SELECT new com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse(" +
+            "e.id, e.title, e.description, e.price, e.startTime, e.endTime, v.address, e.eventCategory, e.likeCount) " +
+            "FROM Event e JOIN e.venue v WHERE e.id IN :ids ORDER BY e.startTime, e.id")
+    List<EventResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse(" +
+            "e.id, e.title, e.description, e.price, e.startTime, e.endTime, v.address, e.eventCategory, e.likeCount) " +
+            "FROM Event e JOIN e.venue v WHERE e.id = :id")
+    Optional<EventResponse> findResponseById(@Param("id") Long id);
+
+    @Query(value = "SELECT new com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse(" +
+            "e.id, e.title, e.description, e.price, e.startTime, e.endTime, v.address, e.eventCategory, e.likeCount) " +
+            "FROM User u JOIN u.likedEventId liked, Event e JOIN e.venue v " +
+            "WHERE u.id = :userId AND e.id = liked ORDER BY e.startTime, e.id",
+            countQuery = "SELECT COUNT(e) FROM User u JOIN u.likedEventId liked, Event e " +
+                    "WHERE u.id = :userId AND e.id = liked")
+    Page<EventResponse> findLikedResponses(@Param("userId") Integer userId, Pageable pageable);
 }
 
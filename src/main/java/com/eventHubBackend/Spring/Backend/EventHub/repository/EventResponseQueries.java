@@ -0,0 +1,17 @@
+package com.eventHubBackend.Spring.Backend.EventHub.repository;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Criteria queries that select straight into {@link EventResponse}, for filters only known at
+ * runtime. The rows are never managed entities, so there is nothing to dirty-check or flush.
+ */
+public interface EventResponseQueries {
+
+    List<EventResponse> findResponses(Specification<Event> spec, Sort sort, int limit);
+}
@@ -0,0 +1,45 @@
+package com.eventHubBackend.Spring.Backend.EventHub.repository;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+class EventResponseQueriesImpl implements EventResponseQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Same columns as the JPQL constructor expressions in {@link EventRepository}, with the venue
+     * joined in the same statement.
+     */
+    @Override
+    public List<EventResponse> findResponses(Specification<Event> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventResponse> query = cb.createQuery(EventResponse.class);
+        Root<Event> e = query.from(Event.class);
+        Join<Event, Venue> v = e.join("venue");
+
+        query.select(cb.construct(EventResponse.class,
+                e.get("id"), e.get("title"), e.get("description"), e.get("price"), e.get("startTime"),
+                e.get("endTime"), v.get("address"), e.get("eventCategory"), e.get("likeCount")));
+        Predicate predicate = spec.toPredicate(e, query, cb);
+        if (predicate != null) query.where(predicate);
+        query.orderBy(toOrders(sort, e, cb));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.eventHubBackend.Spring.Backend.EventHub.repository;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria for the paged event listing. Category and venue are equality filters that lead the
+ * composite indexes on events; the date range bounds start_time, the keyset column, and price
+ * is a residual filter evaluated on the rows the index range yields.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> matching(EventFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getCategory() != null) {
+                predicates.add(cb.equal(root.get("eventCategory"), filter.getCategory()));
+            }
+            if (filter.getVenueId() != null) {
+                predicates.add(cb.equal(root.get("venue").get("id"), filter.getVenueId()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startTime"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("startTime"), filter.getTo()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Rows strictly after the (startTime, id) position of the previous page.
+     */
+    public static Specification<Event> after(LocalDateTime startTime, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("startTime"), startTime),
+                cb.and(cb.equal(root.get("startTime"), startTime), cb.greaterThan(root.get("id"), id))
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.eventHubBackend.Spring.Backend.EventHub.repository;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.OutboxMail;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.MailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Long> {
+
+    /**
+     * Locks the next due mails. A lock timeout of -2 is Hibernate's SKIP LOCKED, so dispatchers
+     * on other nodes pick up different rows instead of waiting on these.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM OutboxMail m WHERE m.status IN :statuses AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<OutboxMail> claimDue(@Param("statuses") Collection<MailStatus> statuses,
+                              @Param("now") LocalDateTime now,
+                              Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM OutboxMail m WHERE m.id IN :ids")
+    List<OutboxMail> lockAllById(@Param("ids") Collection<Long> ids);
+}
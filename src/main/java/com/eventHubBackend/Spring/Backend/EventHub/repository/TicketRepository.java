@@ -0,0 +1,37 @@
+package com.eventHubBackend.Spring.Backend.EventHub.repository;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.Ticket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface TicketRepository extends JpaRepository<Ticket, Long> {
+
+    interface TakenSeat {
+        Long getEventId();
+        Integer getCapacity();
+        String getSeatNumber();
+    }
+
+    @Query("SELECT e.id AS eventId, e.capacity AS capacity, t.seatNumber AS seatNumber " +
+            "FROM Ticket t JOIN t.event e ORDER BY e.id")
+    Stream<TakenSeat> streamTakenSeats();
+
+    @Query("SELECT t.seatNumber FROM Ticket t WHERE t.event.id = :eventId")
+    List<String> findSeatNumbersByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT t.seatNumber FROM Ticket t WHERE t.event.id = :eventId AND t.seatNumber IN :seatNumbers")
+    List<String> findTakenSeatNumbers(@Param("eventId") Long eventId,
+                                      @Param("seatNumbers") Collection<String> seatNumbers);
+
+    @Modifying
+    @Query("DELETE FROM Ticket t WHERE t.booking.id IN :bookingIds")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+}
@@ -2,6 +2,9 @@ package com.eventHubBackend.Spring.Backend.EventHub.repository;
 
 import com.eventHubBackend.Spring.Backend.EventHub.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,4 +17,18 @@ public interface UserRepo extends JpaRepository<User, Integer> {
 
     User findByEmail(String email);
 
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Integer id);
+
+    /**
+     * Adds one like without loading the user's collection; 0 when the like already exists.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_liked_events (user_id, event_id) VALUES (:userId, :eventId)", nativeQuery = true)
+    int insertLikeIfAbsent(@Param("userId") Integer userId, @Param("eventId") Long eventId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_liked_events WHERE user_id = :userId AND event_id = :eventId", nativeQuery = true)
+    int deleteLike(@Param("userId") Integer userId, @Param("eventId") Long eventId);
+
 }
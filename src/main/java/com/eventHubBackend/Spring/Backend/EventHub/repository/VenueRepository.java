@@ -1,18 +1,64 @@
 package com.eventHubBackend.Spring.Backend.EventHub.repository;
 
+import com.eventHubBackend.Spring.Backend.EventHub.dto.VenueDTO;
 import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface VenueRepository extends JpaRepository<Venue, Long> {
+
+    interface VenueLocation {
+        Long getId();
+        Double getLatitude();
+        Double getLongitude();
+    }
+
     boolean existsByName(String name);
 
 
     @Query("SELECT v FROM Venue v WHERE LOWER(v.name) = LOWER(:name) AND LOWER(v.address) = LOWER(:address)")
     Optional<Venue> findByNameAndAddressIgnoreCase(String name, String address);
 
+    /**
+     * SELECT ... FOR UPDATE on the venue row; serialises schedule changes of one venue across nodes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Venue v WHERE v.id = :id")
+    Optional<Venue> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Locks the existing venues among ids in primary-key order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Venue v WHERE v.id IN :ids ORDER BY v.id")
+    List<Venue> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT v.id AS id, v.latitude AS latitude, v.longitude AS longitude FROM Venue v " +
+            "WHERE v.latitude IS NOT NULL AND v.longitude IS NOT NULL")
+    Stream<VenueLocation> streamLocations();
+
+    @Query("SELECT v.id AS id, v.latitude AS latitude, v.longitude AS longitude FROM Venue v WHERE v.id IN :ids")
+    List<VenueLocation> findLocationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.eventHubBackend.Spring.Backend.EventHub.dto.VenueDTO(" +
+            "v.id, v.name, v.address, v.latitude, v.longitude) FROM Venue v WHERE v.id = :id")
+    Optional<VenueDTO> findDtoById(@Param("id") Long id);
+
+    @Query(value = "SELECT new com.eventHubBackend.Spring.Backend.EventHub.dto.VenueDTO(" +
+            "v.id, v.name, v.address, v.latitude, v.longitude) FROM Venue v",
+            countQuery = "SELECT COUNT(v) FROM Venue v")
+    Page<VenueDTO> findAllDtos(Pageable pageable);
+
 }
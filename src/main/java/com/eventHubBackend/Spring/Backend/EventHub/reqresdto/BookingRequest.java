@@ -3,10 +3,13 @@ package com.eventHubBackend.Spring.Backend.EventHub.reqresdto;
 
 import lombok.*;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class BookingRequest {
     private Long userId;
     private Long eventId;
+    private List<String> seatNumbers;
 }
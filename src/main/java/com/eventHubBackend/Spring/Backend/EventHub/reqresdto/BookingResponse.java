@@ -2,6 +2,8 @@ package com.eventHubBackend.Spring.Backend.EventHub.reqresdto;
 
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -9,5 +11,6 @@ import lombok.*;
 public class BookingResponse {
     private Long bookingId;
     private String message;
+    private LocalDateTime holdExpiresAt;
 }
 
@@ -0,0 +1,16 @@
+package com.eventHubBackend.Spring.Backend.EventHub.reqresdto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> items;
+    // Opaque position to pass back as ?cursor= for the next page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,26 @@
+package com.eventHubBackend.Spring.Backend.EventHub.reqresdto;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventFilter {
+    private EventCategories category;
+    private Long venueId;
+
+    // Events starting at or after "from" and before "to"
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private Double minPrice;
+    private Double maxPrice;
+}
@@ -3,6 +3,8 @@ package com.eventHubBackend.Spring.Backend.EventHub.reqresdto;
 
 import java.time.LocalDateTime;
 
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+
 import jakarta.validation.constraints.*;
 import lombok.*;
 
@@ -16,5 +18,8 @@ public class EventRequest {
     @NotBlank private Long venueId;
     @NotNull private LocalDateTime startTime;
     @NotNull private LocalDateTime endTime;
+    @Positive private Integer capacity;
+    @PositiveOrZero private Double price;
+    private EventCategories eventCategory;
 }
 
@@ -13,9 +13,11 @@ public class EventResponse {
     private Long id;
     private String title;
     private String description;
+    private double price;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private String venueAddress;
     private EventCategories eventCategories;
+    private long likeCount;
 }
 
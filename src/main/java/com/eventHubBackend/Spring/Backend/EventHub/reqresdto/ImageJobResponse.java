@@ -0,0 +1,26 @@
+package com.eventHubBackend.Spring.Backend.EventHub.reqresdto;
+
+import com.eventHubBackend.Spring.Backend.EventHub.image.UploadJob;
+import lombok.*;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageJobResponse {
+    private String jobId;
+    private UploadJob.Status status;
+    private Map<Integer, String> urls;
+    private String error;
+
+    public static ImageJobResponse of(UploadJob job) {
+        return ImageJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .urls(job.getUrls())
+                .error(job.getError())
+                .build();
+    }
+}
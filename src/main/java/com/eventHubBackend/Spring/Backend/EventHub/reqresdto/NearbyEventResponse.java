@@ -0,0 +1,13 @@
+package com.eventHubBackend.Spring.Backend.EventHub.reqresdto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyEventResponse {
+    private EventResponse event;
+    private Long venueId;
+    private double distanceKm;
+}
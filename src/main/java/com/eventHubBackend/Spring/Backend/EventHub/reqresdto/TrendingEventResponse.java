@@ -0,0 +1,13 @@
+package com.eventHubBackend.Spring.Backend.EventHub.reqresdto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingEventResponse {
+    private EventResponse event;
+    // Weighted views and likes in the window; approximate, never below the true value
+    private long score;
+}
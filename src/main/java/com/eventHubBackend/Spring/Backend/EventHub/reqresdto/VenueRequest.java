@@ -1,5 +1,7 @@
 package com.eventHubBackend.Spring.Backend.EventHub.reqresdto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
@@ -14,4 +16,12 @@ public class VenueRequest {
 
     @NotBlank(message = "Venue address is required")
     private String address;
+
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+    private Double longitude;
 }
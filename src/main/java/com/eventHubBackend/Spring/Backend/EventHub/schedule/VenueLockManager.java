@@ -0,0 +1,81 @@
+package com.eventHubBackend.Spring.Backend.EventHub.schedule;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks keyed by venue id. Requests for the same venue on this node queue
+ * here instead of piling up on the venue row lock, which remains the guard across nodes.
+ */
+@Component
+public class VenueLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public VenueLockManager(@Value("${venue.lock.stripes:256}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs the action holding the stripes of both venues (the same venue twice is fine).
+     * Stripes are always taken in index order, so two moves in opposite directions cannot deadlock.
+     */
+    public <T> T withVenues(Long venueId, Long otherVenueId, Supplier<T> action) {
+        int first = stripeOf(venueId);
+        int second = otherVenueId == null ? first : stripeOf(otherVenueId);
+        int low = Math.min(first, second);
+        int high = Math.max(first, second);
+
+        stripes[low].lock();
+        try {
+            if (high != low) stripes[high].lock();
+            try {
+                return action.get();
+            } finally {
+                if (high != low) stripes[high].unlock();
+            }
+        } finally {
+            stripes[low].unlock();
+        }
+    }
+
+    /**
+     * Same as {@link #withVenues(Long, Long, Supplier)} for any number of venues, e.g. an import batch.
+     */
+    public <T> T withVenues(Collection<Long> venueIds, Supplier<T> action) {
+        int[] indexes = venueIds.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        return withStripes(indexes, 0, action);
+    }
+
+    private <T> T withStripes(int[] indexes, int position, Supplier<T> action) {
+        if (position == indexes.length) {
+            return action.get();
+        }
+        ReentrantLock stripe = stripes[indexes[position]];
+        stripe.lock();
+        try {
+            return withStripes(indexes, position + 1, action);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    public <T> T withVenue(Long venueId, Supplier<T> action) {
+        return withVenues(venueId, null, action);
+    }
+
+    private int stripeOf(Long venueId) {
+        int h = venueId.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
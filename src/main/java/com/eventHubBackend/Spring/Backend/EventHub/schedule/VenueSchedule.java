@@ -0,0 +1,130 @@
+package com.eventHubBackend.Spring.Backend.EventHub.schedule;
+
+import com.eventHubBackend.Spring.Backend.EventHub.dto.TimeSlot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booked intervals of one venue, ordered by (start, eventId). Conflict checks rely on the
+ * intervals not overlapping each other, which is exactly what the conflict check enforces,
+ * so the only candidates are the last interval starting before the new end.
+ */
+public class VenueSchedule {
+
+    record Key(LocalDateTime start, long eventId) {
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::start).thenComparingLong(Key::eventId);
+    }
+
+    private final NavigableMap<Key, LocalDateTime> intervals = new TreeMap<>(Key.ORDER);
+    private final Map<Long, Key> keysByEvent = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long eventId, LocalDateTime start, LocalDateTime end) {
+        lock.writeLock().lock();
+        try {
+            Key previous = keysByEvent.remove(eventId);
+            if (previous != null) intervals.remove(previous);
+
+            Key key = new Key(start, eventId);
+            intervals.put(key, end);
+            keysByEvent.put(eventId, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long eventId) {
+        lock.writeLock().lock();
+        try {
+            Key key = keysByEvent.remove(eventId);
+            if (key != null) intervals.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * True when [start, end) overlaps a booked interval other than excludeEventId. O(log n).
+     */
+    public boolean conflicts(LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        lock.readLock().lock();
+        try {
+            // Everything that starts before the new end, latest first
+            NavigableMap<Key, LocalDateTime> before = intervals.headMap(new Key(end, Long.MIN_VALUE), false).descendingMap();
+            for (Map.Entry<Key, LocalDateTime> entry : before.entrySet()) {
+                if (excludeEventId != null && entry.getKey().eventId() == excludeEventId) continue;
+                // Earlier intervals end no later than this one, so this is the only one to test
+                return entry.getValue().isAfter(start);
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Free gaps within [from, to), found in one sweep over the intervals that touch the range.
+     */
+    public List<TimeSlot> freeSlots(LocalDateTime from, LocalDateTime to) {
+        List<TimeSlot> free = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Key first = intervals.floorKey(new Key(from, Long.MAX_VALUE));
+            NavigableMap<Key, LocalDateTime> touching = first == null
+                    ? intervals.headMap(new Key(to, Long.MIN_VALUE), false)
+                    : intervals.subMap(first, true, new Key(to, Long.MIN_VALUE), false);
+
+            LocalDateTime cursor = from;
+            for (Map.Entry<Key, LocalDateTime> entry : touching.entrySet()) {
+                LocalDateTime start = entry.getKey().start();
+                if (start.isAfter(cursor)) {
+                    free.add(new TimeSlot(cursor, start));
+                }
+                if (entry.getValue().isAfter(cursor)) {
+                    cursor = entry.getValue();
+                }
+            }
+            if (cursor.isBefore(to)) {
+                free.add(new TimeSlot(cursor, to));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return free;
+    }
+
+    /**
+     * Ids of up to limit events starting within [from, to), soonest first.
+     */
+    public List<Long> startingBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<Long> eventIds = new ArrayList<>(Math.min(limit, 16));
+        lock.readLock().lock();
+        try {
+            for (Key key : intervals.subMap(new Key(from, Long.MIN_VALUE), true, new Key(to, Long.MIN_VALUE), false).keySet()) {
+                if (eventIds.size() == limit) break;
+                eventIds.add(key.eventId());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return eventIds;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return intervals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
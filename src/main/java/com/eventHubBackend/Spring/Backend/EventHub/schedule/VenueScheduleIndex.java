@@ -0,0 +1,176 @@
+package com.eventHubBackend.Spring.Backend.EventHub.schedule;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogChangedEvent;
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.dto.TimeSlot;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory schedule of every venue, so slot conflicts and free-slot queries never hit the
+ * database. EventService and VenueService keep it in step with this node's writes, and
+ * {@link CatalogChangedEvent}s with other nodes' within a catalog refresh interval; it is
+ * rebuilt from the events table at startup. Until then it can be behind, so a conflict it
+ * reports is only a hint for the database to confirm.
+ */
+@Slf4j
+@Service
+public class VenueScheduleIndex {
+
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private final EventRepository eventRepository;
+
+    private final ConcurrentMap<Long, VenueSchedule> schedules = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> venueByEvent = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public VenueScheduleIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        int count = reloadAll();
+        ready = true;
+        log.info("Venue schedule index built with {} events in {} ms", count, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Re-reads what another node changed: the events themselves, or every event of a changed
+     * venue. Read-write, so it is routed to the primary, which already has the changes the
+     * catalog version announced.
+     */
+    @EventListener
+    @Transactional
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.everything()) {
+            if (event.catalog() == CatalogVersions.Catalog.EVENTS) reloadAll();
+            return;
+        }
+        if (event.catalog() == CatalogVersions.Catalog.VENUES) {
+            event.ids().forEach(this::reloadVenue);
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(event.ids());
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+            Set<Long> deleted = new HashSet<>(chunk);
+            for (EventRepository.ScheduledSlot slot : eventRepository.findSlotsByIdIn(chunk)) {
+                put(slot.getId(), slot.getVenueId(), slot.getStartTime(), slot.getEndTime());
+                deleted.remove(slot.getId());
+            }
+            deleted.forEach(this::remove);
+        }
+    }
+
+    /**
+     * Replaces the venue's schedule with what the database holds, e.g. after this index reported
+     * a conflict the database did not confirm. Callers hold the venue's stripe lock, so no write
+     * of this node lands in the schedule being replaced.
+     */
+    public void reloadVenue(Long venueId) {
+        List<EventRepository.ScheduledSlot> slots = eventRepository.findSlotsByVenueId(venueId);
+        Set<Long> eventIds = new HashSet<>();
+        VenueSchedule fresh = new VenueSchedule();
+        for (EventRepository.ScheduledSlot slot : slots) {
+            fresh.put(slot.getId(), slot.getStartTime(), slot.getEndTime());
+            eventIds.add(slot.getId());
+        }
+
+        venueByEvent.entrySet().removeIf(entry -> entry.getValue().equals(venueId) && !eventIds.contains(entry.getKey()));
+        for (Long eventId : eventIds) {
+            Long previousVenue = venueByEvent.put(eventId, venueId);
+            if (previousVenue != null && !previousVenue.equals(venueId)) {
+                VenueSchedule previous = schedules.get(previousVenue);
+                if (previous != null) previous.remove(eventId);
+            }
+        }
+        if (slots.isEmpty()) {
+            schedules.remove(venueId);
+        } else {
+            schedules.put(venueId, fresh);
+        }
+    }
+
+    // Needs a surrounding transaction for the stream; drops events that are gone
+    private int reloadAll() {
+        Set<Long> seen = new HashSet<>();
+        try (Stream<EventRepository.ScheduledSlot> slots = eventRepository.streamSchedule()) {
+            slots.forEach(slot -> {
+                put(slot.getId(), slot.getVenueId(), slot.getStartTime(), slot.getEndTime());
+                seen.add(slot.getId());
+            });
+        }
+        for (Long eventId : List.copyOf(venueByEvent.keySet())) {
+            if (!seen.contains(eventId)) remove(eventId);
+        }
+        return seen.size();
+    }
+
+    /**
+     * False until the startup rebuild has finished; callers fall back to the database until then.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean hasConflict(Long venueId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        VenueSchedule schedule = schedules.get(venueId);
+        return schedule != null && schedule.conflicts(start, end, excludeEventId);
+    }
+
+    public List<TimeSlot> freeSlots(Long venueId, LocalDateTime from, LocalDateTime to) {
+        VenueSchedule schedule = schedules.get(venueId);
+        return schedule == null ? List.of(new TimeSlot(from, to)) : schedule.freeSlots(from, to);
+    }
+
+    public List<Long> upcoming(Long venueId, LocalDateTime from, LocalDateTime to, int limit) {
+        VenueSchedule schedule = schedules.get(venueId);
+        return schedule == null ? List.of() : schedule.startingBetween(from, to, limit);
+    }
+
+    /**
+     * Records or moves an event, including a move to another venue.
+     */
+    public void put(Long eventId, Long venueId, LocalDateTime start, LocalDateTime end) {
+        Long previousVenue = venueByEvent.put(eventId, venueId);
+        if (previousVenue != null && !previousVenue.equals(venueId)) {
+            VenueSchedule previous = schedules.get(previousVenue);
+            if (previous != null) previous.remove(eventId);
+        }
+        schedules.computeIfAbsent(venueId, id -> new VenueSchedule()).put(eventId, start, end);
+    }
+
+    public void remove(Long eventId) {
+        Long venueId = venueByEvent.remove(eventId);
+        if (venueId != null) {
+            VenueSchedule schedule = schedules.get(venueId);
+            if (schedule != null) schedule.remove(eventId);
+        }
+    }
+
+    /**
+     * Drops a deleted venue; its events went with it through the cascade.
+     */
+    public void removeVenue(Long venueId) {
+        schedules.remove(venueId);
+        venueByEvent.values().removeIf(venueId::equals);
+    }
+}
@@ -0,0 +1,635 @@
+package com.eventHubBackend.Spring.Backend.EventHub.search;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogChangedEvent;
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index over event title, description and venue name/address, ranked with BM25.
+ * <p>
+ * Documents get dense int ids and their filter fields live in parallel arrays; postings are
+ * (doc, term frequency) pairs in doc order. An update tombstones the old doc and appends a new
+ * one, and postings are compacted once tombstones make up half the index. Every query term must
+ * match; the last one also matches as a prefix, so results follow the user's typing.
+ * <p>
+ * Writes on this node are indexed as they happen, other nodes' when a catalog refresh publishes
+ * them as a {@link CatalogChangedEvent}.
+ */
+@Slf4j
+@Service
+public class EventSearchIndex {
+
+    public record Entry(long eventId, String title, String description, Long venueId, String venueName,
+                        String venueAddress, EventCategories category, LocalDateTime startTime, double price) {
+
+        public static Entry of(Event event) {
+            return new Entry(event.getId(), event.getTitle(), event.getDescription(),
+                    event.getVenue().getId(), event.getVenue().getName(), event.getVenue().getAddress(),
+                    event.getEventCategory(), event.getStartTime(), event.getPrice());
+        }
+
+        public static Entry of(EventRepository.SearchDocument document) {
+            return new Entry(document.getId(), document.getTitle(), document.getDescription(),
+                    document.getVenueId(), document.getVenueName(), document.getVenueAddress(),
+                    document.getEventCategory(), document.getStartTime(), document.getPrice());
+        }
+    }
+
+    public record Result(List<Long> eventIds, long total) {}
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 3;
+    private static final float PREFIX_WEIGHT = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+    /** Rough cost of one galloping probe, in postings entries walked by a scan. */
+    private static final int PROBE_COST = 8;
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private static final class Postings {
+        int[] docs = new int[2];
+        byte[] freqs = new byte[2];
+        int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = (byte) Math.min(freq, 255);
+            size++;
+        }
+
+        int freq(int i) {
+            return freqs[i] & 0xFF;
+        }
+    }
+
+    /**
+     * Live docs of one query term, sorted by doc, with their scores.
+     */
+    private record Matches(int[] docs, float[] scores) {}
+
+    private record Hit(float score, int doc) {}
+
+    /**
+     * One query term: its own postings and prefix expansions, each with weight x idf.
+     */
+    private record TermMatch(List<Postings> postings, float[] weights, long estimatedSize) {}
+
+    private final EventRepository eventRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> docByEvent = new HashMap<>();
+    private long[] eventIds = new long[1024];
+    private long[] venueIds = new long[1024];
+    private long[] startTimes = new long[1024];
+    private float[] prices = new float[1024];
+    private byte[] categories = new byte[1024];
+    private int[] lengths = new int[1024];
+    private final BitSet dead = new BitSet();
+    private int docCount;
+    private int liveCount;
+    private long liveLength;
+
+    public EventSearchIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        reindexAll();
+        log.info("Search index built with {} events and {} terms in {} ms",
+                size(), termCount(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Re-reads what another node changed: the events themselves, or every event of a changed
+     * venue. Read-write, so it is routed to the primary, which already has the changes the
+     * catalog version announced.
+     */
+    @EventListener
+    @Transactional
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.everything()) {
+            reindexAll();
+            return;
+        }
+        if (event.catalog() == CatalogVersions.Catalog.VENUES) {
+            for (Long venueId : event.ids()) {
+                Set<Long> seen = new HashSet<>();
+                try (Stream<EventRepository.SearchDocument> documents = eventRepository.streamSearchDocumentsByVenueId(venueId)) {
+                    documents.forEach(document -> {
+                        index(Entry.of(document));
+                        seen.add(document.getId());
+                    });
+                }
+                removeUnseen(venueId, seen);
+            }
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(event.ids());
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+            Set<Long> deleted = new HashSet<>(chunk);
+            for (EventRepository.SearchDocument document : eventRepository.findSearchDocumentsByIdIn(chunk)) {
+                index(Entry.of(document));
+                deleted.remove(document.getId());
+            }
+            deleted.forEach(this::remove);
+        }
+    }
+
+    /**
+     * Adds the event, replacing any earlier version of it.
+     */
+    public void index(Entry entry) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        length += count(frequencies, entry.title(), TITLE_WEIGHT);
+        length += count(frequencies, entry.description(), 1);
+        length += count(frequencies, entry.venueName(), 1);
+        length += count(frequencies, entry.venueAddress(), 1);
+
+        lock.writeLock().lock();
+        try {
+            tombstone(entry.eventId());
+            compactIfNeeded();
+
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            eventIds[doc] = entry.eventId();
+            venueIds[doc] = entry.venueId() == null ? -1 : entry.venueId();
+            startTimes[doc] = entry.startTime().toEpochSecond(ZoneOffset.UTC);
+            prices[doc] = (float) entry.price();
+            categories[doc] = (byte) (entry.category() == null ? EventCategories.GENERAL : entry.category()).ordinal();
+            lengths[doc] = length;
+
+            for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+                terms.computeIfAbsent(term.getKey(), t -> new Postings()).add(doc, term.getValue());
+            }
+            docByEvent.put(entry.eventId(), doc);
+            liveCount++;
+            liveLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long eventId) {
+        lock.writeLock().lock();
+        try {
+            tombstone(eventId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-reads the venue's events after its name or address changed.
+     */
+    @Transactional(readOnly = true)
+    public void reindexVenue(Long venueId) {
+        try (Stream<EventRepository.SearchDocument> documents = eventRepository.streamSearchDocumentsByVenueId(venueId)) {
+            documents.forEach(document -> index(Entry.of(document)));
+        }
+    }
+
+    public void removeVenue(Long venueId) {
+        lock.writeLock().lock();
+        try {
+            for (int doc = 0; doc < docCount; doc++) {
+                if (venueIds[doc] == venueId && !dead.get(doc)) {
+                    tombstone(eventIds[doc]);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Needs a surrounding transaction for the stream; drops events that are gone
+    private void reindexAll() {
+        Set<Long> seen = new HashSet<>();
+        try (Stream<EventRepository.SearchDocument> documents = eventRepository.streamSearchDocuments()) {
+            documents.forEach(document -> {
+                index(Entry.of(document));
+                seen.add(document.getId());
+            });
+        }
+        removeUnseen(null, seen);
+    }
+
+    /**
+     * Drops indexed events, of one venue or of all when venueId is null, that a re-read did not return.
+     */
+    private void removeUnseen(Long venueId, Set<Long> seen) {
+        lock.writeLock().lock();
+        try {
+            for (int doc = 0; doc < docCount; doc++) {
+                if (dead.get(doc) || seen.contains(eventIds[doc])) continue;
+                if (venueId == null || venueIds[doc] == venueId) tombstone(eventIds[doc]);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Event ids of the requested page, best match first, plus the total number of matches.
+     */
+    public Result search(String query, EventFilter filter, int offset, int limit) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) return new Result(List.of(), 0);
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) return new Result(List.of(), 0);
+            float averageLength = (float) liveLength / liveCount;
+
+            List<TermMatch> perToken = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                TermMatch match = expand(tokens.get(i), i == tokens.size() - 1);
+                if (match.postings().isEmpty()) return new Result(List.of(), 0);
+                perToken.add(match);
+            }
+            // Drive from the rarest term; the others only have to confirm the driver's candidates
+            perToken.sort(Comparator.comparingLong(TermMatch::estimatedSize));
+            Matches driver = materialise(perToken.get(0), averageLength);
+            int[] matched = new int[driver.docs().length];
+
+            // A broad term is cheaper to walk once than to gallop into per candidate
+            List<TermMatch> probed = new ArrayList<>();
+            int[] slots = null;
+            for (int t = 1; t < perToken.size(); t++) {
+                TermMatch other = perToken.get(t);
+                long probeCost = (long) driver.docs().length * other.postings().size() * PROBE_COST;
+                if (other.estimatedSize() < probeCost) {
+                    if (slots == null) slots = slots(driver);
+                    scan(other, driver, slots, matched, averageLength);
+                } else {
+                    probed.add(other);
+                }
+            }
+
+            return topHits(driver, matched, perToken.size() - 1 - probed.size(), probed,
+                    compile(filter), offset, limit, averageLength);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Category of an indexed event, or null when the event is not in the index.
+     */
+    public EventCategories category(long eventId) {
+        lock.readLock().lock();
+        try {
+            Integer doc = docByEvent.get(eventId);
+            return doc == null ? null : EventCategories.values()[categories[doc]];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TermMatch expand(String token, boolean prefix) {
+        List<Postings> postings = new ArrayList<>();
+        List<Float> weights = new ArrayList<>();
+
+        Postings exact = terms.get(token);
+        if (exact != null) {
+            postings.add(exact);
+            weights.add(1f);
+        }
+        if (prefix) {
+            // The most common completions first; rare ones beyond the cap are dropped
+            terms.subMap(token, false, token + Character.MAX_VALUE, false).values().stream()
+                    .sorted(Comparator.comparingInt((Postings p) -> p.size).reversed())
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .forEach(p -> {
+                        postings.add(p);
+                        weights.add(PREFIX_WEIGHT);
+                    });
+        }
+
+        float[] termWeights = new float[postings.size()];
+        long estimatedSize = 0;
+        for (int i = 0; i < postings.size(); i++) {
+            termWeights[i] = weights.get(i) * idf(postings.get(i));
+            estimatedSize += postings.get(i).size;
+        }
+        return new TermMatch(postings, termWeights, estimatedSize);
+    }
+
+    /**
+     * Live docs of the term and its expansions as one doc-ordered list with summed scores.
+     */
+    private Matches materialise(TermMatch match, float averageLength) {
+        List<Postings> postings = match.postings();
+        if (postings.size() == 1) {
+            return score(postings.get(0), match.weights()[0], averageLength);
+        }
+
+        // Expansions overlap: accumulate per doc, then read the docs back in order
+        float[] accumulated = new float[docCount];
+        BitSet seen = new BitSet(docCount);
+        for (int i = 0; i < postings.size(); i++) {
+            Postings list = postings.get(i);
+            float weight = match.weights()[i];
+            for (int j = 0; j < list.size; j++) {
+                int doc = list.docs[j];
+                if (dead.get(doc)) continue;
+
+                accumulated[doc] += bm25(weight, list.freq(j), doc, averageLength);
+                seen.set(doc);
+            }
+        }
+
+        int[] docs = new int[seen.cardinality()];
+        float[] scores = new float[docs.length];
+        int n = 0;
+        for (int doc = seen.nextSetBit(0); doc >= 0; doc = seen.nextSetBit(doc + 1)) {
+            docs[n] = doc;
+            scores[n] = accumulated[doc];
+            n++;
+        }
+        return new Matches(docs, scores);
+    }
+
+    /**
+     * Doc to driver position plus one, zero for docs the driver does not contain.
+     */
+    private int[] slots(Matches driver) {
+        int[] slots = new int[docCount];
+        for (int i = 0; i < driver.docs().length; i++) {
+            slots[driver.docs()[i]] = i + 1;
+        }
+        return slots;
+    }
+
+    /**
+     * Walks every list of the term once, adding its score to the driver candidates it contains
+     * and counting the term as matched for them.
+     */
+    private void scan(TermMatch match, Matches driver, int[] slots, int[] matched, float averageLength) {
+        BitSet counted = new BitSet(driver.docs().length);
+        for (int i = 0; i < match.postings().size(); i++) {
+            Postings list = match.postings().get(i);
+            float weight = match.weights()[i];
+            for (int j = 0; j < list.size; j++) {
+                int doc = list.docs[j];
+                int slot = slots[doc] - 1;
+                if (slot < 0) continue;
+
+                driver.scores()[slot] += bm25(weight, list.freq(j), doc, averageLength);
+                if (!counted.get(slot)) {
+                    counted.set(slot);
+                    matched[slot]++;
+                }
+            }
+        }
+    }
+
+    private float idf(Postings postings) {
+        float idf = (float) Math.log(1 + (liveCount - postings.size + 0.5) / (postings.size + 0.5));
+        return Math.max(idf, 0);
+    }
+
+    private float bm25(float weight, int tf, int doc, float averageLength) {
+        float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+        return weight * tf * (K1 + 1) / (tf + norm);
+    }
+
+    private Matches score(Postings postings, float weight, float averageLength) {
+        int[] docs = new int[postings.size];
+        float[] scores = new float[postings.size];
+        int n = 0;
+        for (int i = 0; i < postings.size; i++) {
+            int doc = postings.docs[i];
+            if (dead.get(doc)) continue;
+
+            docs[n] = doc;
+            scores[n] = bm25(weight, postings.freq(i), doc, averageLength);
+            n++;
+        }
+        return new Matches(n == docs.length ? docs : Arrays.copyOf(docs, n), n == scores.length ? scores : Arrays.copyOf(scores, n));
+    }
+
+    private Result topHits(Matches driver, int[] matched, int scanned, List<TermMatch> others, DocFilter filter,
+                           int offset, int limit, float averageLength) {
+        // Total order, so ties land on the same page on every request: score, then sooner, then lower id
+        Comparator<Hit> rank = Comparator.comparingDouble((Hit hit) -> hit.score()).reversed()
+                .thenComparingLong(hit -> startTimes[hit.doc()])
+                .thenComparingLong(hit -> eventIds[hit.doc()]);
+
+        int keep = offset + limit;
+        // The worst of the best `keep` hits sits on top
+        PriorityQueue<Hit> best = new PriorityQueue<>(keep, rank.reversed());
+        int[][] cursors = new int[others.size()][];
+        for (int t = 0; t < others.size(); t++) {
+            cursors[t] = new int[others.get(t).postings().size()];
+        }
+        long total = 0;
+
+        outer:
+        for (int i = 0; i < driver.docs().length; i++) {
+            int doc = driver.docs()[i];
+            if (matched[i] != scanned || !filter.accepts(doc)) continue;
+
+            float score = driver.scores()[i];
+            for (int t = 0; t < others.size(); t++) {
+                TermMatch other = others.get(t);
+                boolean found = false;
+                for (int p = 0; p < other.postings().size(); p++) {
+                    Postings postings = other.postings().get(p);
+                    int position = advance(postings.docs, postings.size, cursors[t][p], doc);
+                    cursors[t][p] = position;
+                    if (position < postings.size && postings.docs[position] == doc) {
+                        score += bm25(other.weights()[p], postings.freq(position), doc, averageLength);
+                        found = true;
+                    }
+                }
+                if (!found) continue outer;
+            }
+
+            total++;
+            Hit hit = new Hit(score, doc);
+            if (best.size() < keep) {
+                best.add(hit);
+            } else if (rank.compare(hit, best.peek()) < 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(rank);
+
+        List<Long> ids = new ArrayList<>(Math.max(0, ranked.size() - offset));
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(eventIds[ranked.get(i).doc()]);
+        }
+        return new Result(ids, total);
+    }
+
+    /**
+     * First position at or after from whose doc is >= target, by galloping then binary search.
+     */
+    private static int advance(int[] docs, int size, int from, int target) {
+        int step = 1;
+        int high = from;
+        while (high < size && docs[high] < target) {
+            from = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(docs, from, Math.min(high + 1, size), target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    @FunctionalInterface
+    private interface DocFilter {
+        boolean accepts(int doc);
+    }
+
+    private DocFilter compile(EventFilter filter) {
+        if (filter == null) return doc -> true;
+
+        int category = filter.getCategory() == null ? -1 : filter.getCategory().ordinal();
+        long venueId = filter.getVenueId() == null ? Long.MIN_VALUE : filter.getVenueId();
+        long from = filter.getFrom() == null ? Long.MIN_VALUE : filter.getFrom().toEpochSecond(ZoneOffset.UTC);
+        long to = filter.getTo() == null ? Long.MAX_VALUE : filter.getTo().toEpochSecond(ZoneOffset.UTC);
+        double minPrice = filter.getMinPrice() == null ? Double.NEGATIVE_INFINITY : filter.getMinPrice();
+        double maxPrice = filter.getMaxPrice() == null ? Double.POSITIVE_INFINITY : filter.getMaxPrice();
+
+        return doc -> (category < 0 || categories[doc] == category)
+                && (venueId == Long.MIN_VALUE || venueIds[doc] == venueId)
+                && startTimes[doc] >= from && startTimes[doc] < to
+                && prices[doc] >= minPrice && prices[doc] <= maxPrice;
+    }
+
+    private static int count(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void tombstone(long eventId) {
+        Integer doc = docByEvent.remove(eventId);
+        if (doc != null) {
+            dead.set(doc);
+            liveCount--;
+            liveLength -= lengths[doc];
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= eventIds.length) return;
+
+        int capacity = Math.max(size, eventIds.length * 2);
+        eventIds = Arrays.copyOf(eventIds, capacity);
+        venueIds = Arrays.copyOf(venueIds, capacity);
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+    }
+
+    private void compactIfNeeded() {
+        int tombstones = docCount - liveCount;
+        if (tombstones < MIN_COMPACTION_TOMBSTONES || tombstones * 2 < docCount) return;
+
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (dead.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            eventIds[next] = eventIds[doc];
+            venueIds[next] = venueIds[doc];
+            startTimes[next] = startTimes[doc];
+            prices[next] = prices[doc];
+            categories[next] = categories[doc];
+            lengths[next] = lengths[doc];
+            docByEvent.put(eventIds[next], next);
+            next++;
+        }
+
+        Iterator<Postings> iterator = terms.values().iterator();
+        while (iterator.hasNext()) {
+            Postings postings = iterator.next();
+            int kept = 0;
+            for (int i = 0; i < postings.size; i++) {
+                int doc = remap[postings.docs[i]];
+                if (doc < 0) continue;
+                postings.docs[kept] = doc;
+                postings.freqs[kept] = postings.freqs[i];
+                kept++;
+            }
+            postings.size = kept;
+            if (kept == 0) iterator.remove();
+        }
+
+        log.debug("Compacted search index from {} to {} docs", docCount, next);
+        docCount = next;
+        dead.clear();
+    }
+}
@@ -0,0 +1,50 @@
+package com.eventHubBackend.Spring.Backend.EventHub.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case, accent-free terms on anything that is not a letter or digit.
+ * Index and queries go through the same rules, so "Café" finds "cafe".
+ */
+public final class SearchTokenizer {
+
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final Set<String> STOP_WORDS =
+            Set.of("a", "an", "and", "at", "by", "for", "in", "is", "of", "on", "or", "the", "to", "with");
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) return List.of();
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKD).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                flush(token, tokens);
+            }
+        }
+        flush(token, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder token, List<String> tokens) {
+        if (token.isEmpty()) return;
+
+        String term = token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token.toString();
+        if (!STOP_WORDS.contains(term)) {
+            tokens.add(term);
+        }
+        token.setLength(0);
+    }
+}
@@ -0,0 +1,144 @@
+package com.eventHubBackend.Spring.Backend.EventHub.service;
+
+import com.eventHubBackend.Spring.Backend.EventHub.booking.BookingHoldService;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.InvalidBookingStateException;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.ResourceNotFoundException;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.SeatUnavailableException;
+import com.eventHubBackend.Spring.Backend.EventHub.inventory.SeatInventoryService;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Booking;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Ticket;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.BookingStatus;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.BookingRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.TicketRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.UserRepo;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.BookingRequest;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.BookingResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class BookingService {
+
+    private final BookingRepository bookingRepository;
+    private final TicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+    private final UserRepo userRepo;
+    private final SeatInventoryService seatInventoryService;
+    private final BookingHoldService bookingHoldService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Reserves the seats and writes the booking as PENDING; the seats stay held until the
+     * booking is confirmed, cancelled or its hold runs out.
+     */
+    public BookingResponse createBooking(Integer userId, BookingRequest request) {
+        Long eventId = request.getEventId();
+        int[] seats = seatInventoryService.parseSeats(eventId, request.getSeatNumbers());
+
+        // Losing requests stop here, after at most a lookup of the seats in the tickets table
+        int[] claimed = seatInventoryService.reserve(eventId, seats);
+        if (claimed == null) {
+            throw new SeatUnavailableException("One or more seats are already taken for event " + eventId);
+        }
+
+        Booking saved;
+        try {
+            saved = transactionTemplate.execute(status -> writeBooking(userId, eventId, seats));
+        } catch (DataIntegrityViolationException ex) {
+            // Another booking got one of the seats first; uq_ticket_event_seat caught it
+            seatInventoryService.release(eventId, claimed);
+            throw new SeatUnavailableException("One or more seats are already taken for event " + eventId);
+        } catch (RuntimeException ex) {
+            seatInventoryService.release(eventId, claimed);
+            throw ex;
+        }
+
+        LocalDateTime expiresAt = bookingHoldService.place(saved.getId(), eventId, seats);
+        return BookingResponse.builder()
+                .bookingId(saved.getId())
+                .message("Held " + seats.length + " seat(s), confirm before the hold expires")
+                .holdExpiresAt(expiresAt)
+                .build();
+    }
+
+    /**
+     * Confirms a PENDING booking whose hold has not run out. The hold's age is checked in the
+     * same update, so a booking whose expiry is late, e.g. because its node went down, cannot
+     * be confirmed after another request was told its seats are free.
+     */
+    public BookingResponse confirmBooking(Integer userId, Long bookingId) {
+        Integer updated = transactionTemplate.execute(status -> bookingRepository.transitionHeld(
+                bookingId, userId, BookingStatus.PENDING, BookingStatus.CONFIRMED, bookingHoldService.heldSince()));
+
+        if (updated == null || updated == 0) {
+            throw new InvalidBookingStateException("Booking " + bookingId + " is not pending or its hold has expired");
+        }
+
+        bookingHoldService.release(bookingId);
+        return BookingResponse.builder()
+                .bookingId(bookingId)
+                .message("Booking confirmed")
+                .build();
+    }
+
+    public BookingResponse cancelBooking(Integer userId, Long bookingId) {
+        Booking cancelled = transactionTemplate.execute(status -> {
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
+
+            int updated = bookingRepository.transitionOwned(bookingId, userId, BookingStatus.PENDING, BookingStatus.CANCELLED);
+            if (updated == 0) {
+                throw new InvalidBookingStateException("Booking " + bookingId + " is not pending");
+            }
+            booking.getTickets().size();
+            ticketRepository.deleteByBookingIds(Set.of(bookingId));
+            return booking;
+        });
+
+        bookingHoldService.release(bookingId);
+        Long eventId = cancelled.getEvent().getId();
+        int[] seats = seatInventoryService.parseStoredSeats(eventId,
+                cancelled.getTickets().stream().map(Ticket::getSeatNumber).toList());
+        seatInventoryService.release(eventId, seats);
+
+        return BookingResponse.builder()
+                .bookingId(bookingId)
+                .message("Booking cancelled")
+                .build();
+    }
+
+    private Booking writeBooking(Integer userId, Long eventId, int[] seats) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+
+        Booking booking = Booking.builder()
+                .user(userRepo.getReferenceById(userId))
+                .event(event)
+                .bookingDate(LocalDateTime.now())
+                .status(BookingStatus.PENDING)
+                .build();
+
+        List<Ticket> tickets = new ArrayList<>(seats.length);
+        for (int seat : seats) {
+            tickets.add(Ticket.builder()
+                    .seatNumber(String.valueOf(seat))
+                    .price(event.getPrice())
+                    .booking(booking)
+                    .event(event)
+                    .build());
+        }
+        booking.setTickets(tickets);
+
+        return bookingRepository.saveAndFlush(booking);
+    }
+}
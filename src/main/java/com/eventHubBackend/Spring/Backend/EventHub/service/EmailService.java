@@ -1,31 +1,41 @@
 package com.eventHubBackend.Spring.Backend.EventHub.service;
 
+import com.eventHubBackend.Spring.Backend.EventHub.model.OutboxMail;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.OutboxMailRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
+/**
+ * Queues mails in the outbox table; {@link com.eventHubBackend.Spring.Backend.EventHub.mail.MailOutboxDispatcher}
+ * delivers them in the background. Enqueueing joins the caller's transaction, so a mail is
+ * only sent if the change that triggered it commits.
+ */
 @Service
 public class EmailService {
 
-    @Value("${spring.mail.username}")
-    private String myMail;
-
     @Autowired
-    private JavaMailSender mailSender;
+    private OutboxMailRepository outboxMailRepository;
 
     public void sendVerificationEmail(String to, String token) {
         String subject = "Verify your account";
         String verificationUrl = "http://localhost:3000/verify?token=" + token;
         String body = "Click the link to verify your account: " + verificationUrl;
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(myMail);
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
+        enqueue(to, subject, body);
+    }
 
-        mailSender.send(message);
+    @Transactional
+    public OutboxMail enqueue(String to, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        return outboxMailRepository.save(OutboxMail.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
     }
 }
@@ -1,20 +1,49 @@
 package com.eventHubBackend.Spring.Backend.EventHub.service;
 
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventSpecifications;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.CursorPage;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventFilter;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventRequest;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.NearbyEventResponse;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.TrendingEventResponse;
 import com.eventHubBackend.Spring.Backend.EventHub.exception.ResourceNotFoundException;
+import com.eventHubBackend.Spring.Backend.EventHub.geo.VenueGeoIndex;
+import com.eventHubBackend.Spring.Backend.EventHub.inventory.SeatInventoryService;
+import com.eventHubBackend.Spring.Backend.EventHub.likes.EventLikeCounter;
 import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
 import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
 import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
 import com.eventHubBackend.Spring.Backend.EventHub.repository.VenueRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueLockManager;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueScheduleIndex;
+import com.eventHubBackend.Spring.Backend.EventHub.search.EventSearchIndex;
+import com.eventHubBackend.Spring.Backend.EventHub.trending.TrendingEventsTracker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -26,100 +55,373 @@ public class EventService {
     @Autowired
     private VenueRepository venueRepository;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private VenueScheduleIndex venueScheduleIndex;
+
+    @Autowired
+    private VenueLockManager venueLockManager;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private VenueGeoIndex venueGeoIndex;
+
+    @Autowired
+    private EventLikeCounter eventLikeCounter;
+
+    @Autowired
+    private TrendingEventsTracker trendingEventsTracker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort KEYSET_ORDER = Sort.by("startTime", "id");
+    private static final int ID_CHUNK_SIZE = 1000;
+    private static final int MAX_SEARCH_DEPTH = 10_000;
+    private static final double MAX_NEARBY_RADIUS_KM = 200;
+    private static final int DEFAULT_NEARBY_DAYS = 30;
+
+    /**
+     * Conflict check and insert run under the venue's stripe lock and its row lock, so two
+     * organisers racing for the same slot cannot both succeed, on this node or across nodes.
+     */
     public EventResponse createEvent(EventRequest request) {
-        Venue venue = venueRepository.findById(request.getVenueId())
-                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + request.getVenueId()));
+        Long venueId = request.getVenueId();
+        rejectIfKnownConflict(venueId, request.getStartTime(), request.getEndTime(), null);
 
-        // Check for overlapping events at the same venue
-        boolean hasConflict = !eventRepository.findOverlappingEvents(
-                request.getVenueId(),
-                request.getStartTime(),
-                request.getEndTime()
-        ).isEmpty();
+        Event saved = venueLockManager.withVenue(venueId, () -> {
+            Event created = transactionTemplate.execute(status -> {
+                Venue venue = venueRepository.findByIdForUpdate(venueId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + venueId));
 
-        if (hasConflict) {
-            throw new IllegalStateException("Venue already booked for the given time slot");
-        }
+                // Check for overlapping events at the same venue
+                if (eventRepository.existsOverlapping(venueId, request.getStartTime(), request.getEndTime(), null)) {
+                    throw new IllegalStateException("Venue already booked for the given time slot");
+                }
 
-        Event event = Event.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .startTime(request.getStartTime())
-                .endTime(request.getEndTime())
-                .venue(venue)
-                .build();
+                Event event = Event.builder()
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .startTime(request.getStartTime())
+                        .endTime(request.getEndTime())
+                        .capacity(request.getCapacity())
+                        .price(request.getPrice() != null ? request.getPrice() : 0)
+                        .eventCategory(request.getEventCategory() != null ? request.getEventCategory() : EventCategories.GENERAL)
+                        .venue(venue)
+                        .build();
+                Event inserted = eventRepository.save(event);
+                catalogVersions.changed(CatalogVersions.Catalog.EVENTS, List.of(inserted.getId()));
+                return inserted;
+            });
+            venueScheduleIndex.put(created.getId(), venueId, created.getStartTime(), created.getEndTime());
+            return created;
+        });
+        eventSearchIndex.index(EventSearchIndex.Entry.of(saved));
 
-        Event saved = eventRepository.save(event);
         return mapToResponse(saved);
     }
 
-    public List<EventResponse> getAllEvents() {
-        return eventRepository.findAll()
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+    /**
+     * One page of events ordered by (startTime, id). The cursor encodes the last row of the
+     * previous page, so every page is an index range scan no matter how deep the client reads.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> getEvents(EventFilter filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Specification<Event> spec = EventSpecifications.matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            Object[] position = decodeCursor(cursor);
+            spec = spec.and(EventSpecifications.after((LocalDateTime) position[0], (Long) position[1]));
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<EventResponse> rows = eventRepository.findResponses(spec, KEYSET_ORDER, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<EventResponse> page = hasMore ? rows.subList(0, limit) : rows;
+        EventResponse last = page.isEmpty() ? null : page.get(page.size() - 1);
+        page.forEach(this::addPendingLikes);
+
+        return CursorPage.<EventResponse>builder()
+                .items(page)
+                .nextCursor(hasMore ? encodeCursor(last.getStartTime(), last.getId()) : null)
+                .hasMore(hasMore)
+                .build();
     }
 
+    @Transactional(readOnly = true)
     public EventResponse getEventById(Long id) {
-        Event event = eventRepository.findById(id)
+        EventResponse event = eventRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
-        return mapToResponse(event);
+        addPendingLikes(event);
+        return event;
     }
 
     public EventResponse updateEvent(Long id, EventRequest request) {
-        Event event = eventRepository.findById(id)
+        Long currentVenueId = eventRepository.findById(id)
+                .map(e -> e.getVenue().getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+        Long venueId = request.getVenueId();
+        rejectIfKnownConflict(venueId, request.getStartTime(), request.getEndTime(), id);
 
-        Venue venue = venueRepository.findById(request.getVenueId())
-                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + request.getVenueId()));
+        boolean[] capacityChanged = {false};
+        // Moving to another venue touches both schedules, so both are locked
+        Event saved = venueLockManager.withVenues(currentVenueId, venueId, () -> {
+            Event updated = transactionTemplate.execute(status -> {
+                Venue venue = lockVenues(currentVenueId, venueId);
+                Event event = eventRepository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
 
-        // Check for conflicts excluding the current event
-        boolean hasConflict = eventRepository.findOverlappingEvents(
-                request.getVenueId(),
-                request.getStartTime(),
-                request.getEndTime()
-        ).stream().anyMatch(e -> !e.getId().equals(id));
+                // Check for conflicts excluding the current event
+                if (eventRepository.existsOverlapping(venueId, request.getStartTime(), request.getEndTime(), id)) {
+                    throw new IllegalStateException("Venue already booked for the given time slot");
+                }
 
-        if (hasConflict) {
-            throw new IllegalStateException("Venue already booked for the given time slot");
-        }
+                event.setTitle(request.getTitle());
+                event.setDescription(request.getDescription());
+                event.setStartTime(request.getStartTime());
+                event.setEndTime(request.getEndTime());
+                event.setVenue(venue);
+                if (request.getPrice() != null) event.setPrice(request.getPrice());
+                if (request.getEventCategory() != null) event.setEventCategory(request.getEventCategory());
+
+                capacityChanged[0] = request.getCapacity() != null && !request.getCapacity().equals(event.getCapacity());
+                if (capacityChanged[0]) event.setCapacity(request.getCapacity());
 
-        event.setTitle(request.getTitle());
-        event.setDescription(request.getDescription());
-        event.setStartTime(request.getStartTime());
-        event.setEndTime(request.getEndTime());
-        event.setVenue(venue);
+                Event written = eventRepository.save(event);
+                catalogVersions.changed(CatalogVersions.Catalog.EVENTS, List.of(id));
+                return written;
+            });
+            venueScheduleIndex.put(id, venueId, updated.getStartTime(), updated.getEndTime());
+            return updated;
+        });
 
-        return mapToResponse(eventRepository.save(event));
+        if (capacityChanged[0]) seatInventoryService.evict(id);
+        eventSearchIndex.index(EventSearchIndex.Entry.of(saved));
+        return mapToResponse(saved);
     }
 
     public void deleteEvent(Long id) {
-        if (!eventRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Event not found with id: " + id);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!eventRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Event not found with id: " + id);
+            }
+            eventRepository.deleteById(id);
+            catalogVersions.changed(CatalogVersions.Catalog.EVENTS, List.of(id));
+        });
+        seatInventoryService.evict(id);
+        venueScheduleIndex.remove(id);
+        eventSearchIndex.remove(id);
+        eventLikeCounter.forget(id);
+    }
+
+    /**
+     * Full-text search over title, description and venue, best match first. The page of ids
+     * comes from the in-memory index; only that page is loaded from the database.
+     */
+    @Transactional(readOnly = true)
+    public Page<EventResponse> searchEvents(String query, EventFilter filter, int page, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int offset = Math.max(0, page) * limit;
+        if (offset > MAX_SEARCH_DEPTH) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_SEARCH_DEPTH + " matches");
+        }
+
+        EventSearchIndex.Result result = eventSearchIndex.search(query, filter, offset, limit);
+
+        Map<Long, EventResponse> byId = new HashMap<>();
+        for (EventResponse response : getEventsByIds(result.eventIds())) {
+            byId.put(response.getId(), response);
         }
-        eventRepository.deleteById(id);
+        List<EventResponse> ranked = result.eventIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageImpl<>(ranked, PageRequest.of(Math.max(0, page), limit), result.total());
     }
 
+    /**
+     * Events starting within [from, to) at venues within radiusKm, closest venue first and then
+     * soonest. Venues come from the geo index and their upcoming events from the schedule
+     * index, so only the final page is loaded from the database.
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyEventResponse> getNearbyEvents(double latitude, double longitude, double radiusKm,
+                                                     LocalDateTime from, LocalDateTime to, int size) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_NEARBY_RADIUS_KM + " km");
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(DEFAULT_NEARBY_DAYS);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Map<Long, VenueGeoIndex.Nearby> venueByEvent = new HashMap<>();
+        double lastDistance = -1;
+        for (VenueGeoIndex.Nearby venue : venueGeoIndex.within(latitude, longitude, radiusKm)) {
+            // Venues at the same distance as the last one taken still compete on start time
+            if (venueByEvent.size() >= limit && venue.distanceKm() > lastDistance) break;
 
-    public List<EventResponse> getEventsByIds(Set<Long> eventIds) {
+            List<Long> eventIds = upcomingAt(venue.venueId(), start, end, limit);
+            eventIds.forEach(eventId -> venueByEvent.put(eventId, venue));
+            if (!eventIds.isEmpty()) lastDistance = venue.distanceKm();
+        }
 
-        return eventIds.stream()
-                .map(eventRepository::findById)
-                .flatMap(Optional::stream)
-                .map(this::mapToResponse)
+        return getEventsByIds(venueByEvent.keySet()).stream()
+                .map(event -> {
+                    VenueGeoIndex.Nearby venue = venueByEvent.get(event.getId());
+                    return new NearbyEventResponse(event, venue.venueId(), venue.distanceKm());
+                })
+                .sorted(Comparator.comparingDouble(NearbyEventResponse::getDistanceKm)
+                        .thenComparing(nearby -> nearby.getEvent().getStartTime())
+                        .thenComparing(nearby -> nearby.getEvent().getId()))
+                .limit(limit)
                 .toList();
     }
 
+    /**
+     * Most viewed and liked events of the category (any when null) over the window.
+     */
+    @Transactional(readOnly = true)
+    public List<TrendingEventResponse> getTrendingEvents(EventCategories category, TrendingEventsTracker.Window window, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<TrendingEventsTracker.Trend> trends = trendingEventsTracker.top(category, window, limit);
+
+        Map<Long, EventResponse> byId = new HashMap<>();
+        for (EventResponse response : getEventsByIds(trends.stream().map(TrendingEventsTracker.Trend::eventId).toList())) {
+            byId.put(response.getId(), response);
+        }
+        // Deleted events drop out here; the sketch forgets them when their buckets expire
+        return trends.stream()
+                .filter(trend -> byId.containsKey(trend.eventId()))
+                .map(trend -> new TrendingEventResponse(byId.get(trend.eventId()), trend.score()))
+                .toList();
+    }
+
+    private List<Long> upcomingAt(Long venueId, LocalDateTime from, LocalDateTime to, int limit) {
+        if (venueScheduleIndex.isReady()) {
+            return venueScheduleIndex.upcoming(venueId, from, to, limit);
+        }
+        // Until the schedule index is built, read the venue's slots from the database
+        return eventRepository.findSlotsInRange(List.of(venueId), from, to).stream()
+                .filter(slot -> !slot.getStartTime().isBefore(from))
+                .sorted(Comparator.comparing(EventRepository.ScheduledSlot::getStartTime)
+                        .thenComparing(EventRepository.ScheduledSlot::getId))
+                .limit(limit)
+                .map(EventRepository.ScheduledSlot::getId)
+                .toList();
+    }
+
+    /**
+     * Cheap early exit before any lock is taken. This node's schedule may still hold an event
+     * another node has moved or deleted, so a conflict it reports is confirmed in the database
+     * and, when it turns out stale, the venue's schedule is reloaded. The authoritative check
+     * runs in the database under the venue row lock either way.
+     */
+    private void rejectIfKnownConflict(Long venueId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        if (!venueScheduleIndex.isReady() || !venueScheduleIndex.hasConflict(venueId, start, end, excludeEventId)) {
+            return;
+        }
+        if (eventRepository.existsOverlapping(venueId, start, end, excludeEventId)) {
+            throw new IllegalStateException("Venue already booked for the given time slot");
+        }
+        venueLockManager.withVenue(venueId, () -> {
+            venueScheduleIndex.reloadVenue(venueId);
+            return null;
+        });
+    }
+
+    /**
+     * Row-locks the venues in id order, the same order on every node, and returns the target venue.
+     */
+    private Venue lockVenues(Long currentVenueId, Long targetVenueId) {
+        if (!currentVenueId.equals(targetVenueId) && currentVenueId < targetVenueId) {
+            venueRepository.findByIdForUpdate(currentVenueId);
+        }
+        Venue target = venueRepository.findByIdForUpdate(targetVenueId)
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + targetVenueId));
+        if (!currentVenueId.equals(targetVenueId) && currentVenueId > targetVenueId) {
+            venueRepository.findByIdForUpdate(currentVenueId);
+        }
+        return target;
+    }
+
+    /**
+     * Loads the events with their venue address in one statement per chunk of ids,
+     * keeping the IN list at a size the database plans well.
+     */
+    @Transactional(readOnly = true)
+    public List<EventResponse> getEventsByIds(Collection<Long> eventIds) {
+        List<Long> ids = new ArrayList<>(eventIds);
+        List<EventResponse> responses = new ArrayList<>(ids.size());
+
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            responses.addAll(eventRepository.findResponsesByIdIn(ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()))));
+        }
+        responses.forEach(this::addPendingLikes);
+        return responses;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<EventResponse> getLikedEvents(Integer userId, Pageable pageable) {
+        // Ordering is fixed by the query; only the page window comes from the caller
+        Page<EventResponse> liked = eventRepository.findLikedResponses(userId, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        liked.forEach(this::addPendingLikes);
+        return liked;
+    }
+
     private EventResponse mapToResponse(Event event) {
 
         return new EventResponse(
                 event.getId(),
                 event.getTitle(),
                 event.getDescription(),
+                event.getPrice(),
                 event.getStartTime(),
                 event.getEndTime(),
                 event.getVenue().getAddress(),
-                event.getEventCategory()
+                event.getEventCategory(),
+                event.getLikeCount() + eventLikeCounter.pending(event.getId())
         );
     }
+
+    /**
+     * Stored like_count lags this node's counter by up to one flush; add what is still pending.
+     */
+    private void addPendingLikes(EventResponse response) {
+        response.setLikeCount(response.getLikeCount() + eventLikeCounter.pending(response.getId()));
+    }
+
+    private static String encodeCursor(LocalDateTime startTime, Long id) {
+        String raw = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Object[]{
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            };
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
 }
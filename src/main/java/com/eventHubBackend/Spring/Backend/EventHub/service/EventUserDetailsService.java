@@ -5,13 +5,15 @@ import com.eventHubBackend.Spring.Backend.EventHub.model.User;
 import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
-public class EventUserDetailsService implements UserDetailsService {
+public class EventUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
 
     @Autowired
@@ -31,4 +33,16 @@ public class EventUserDetailsService implements UserDetailsService {
         return new UserPrinciple(user);
 
     }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = repo.findByUsername(userDetails.getUsername());
+        if (user == null) {
+            throw new UsernameNotFoundException("User Not Found 404");
+        }
+
+        user.setPassword(newPassword);
+        return new UserPrinciple(repo.save(user));
+    }
 }
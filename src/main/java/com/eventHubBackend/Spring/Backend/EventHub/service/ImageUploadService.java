@@ -1,24 +1,158 @@
 package com.eventHubBackend.Spring.Backend.EventHub.service;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.ImageUploadRejectedException;
+import com.eventHubBackend.Spring.Backend.EventHub.image.ImageResizer;
+import com.eventHubBackend.Spring.Backend.EventHub.image.ImageStorage;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.InvalidImageException;
+import com.eventHubBackend.Spring.Backend.EventHub.image.UploadJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+/**
+ * Image upload pipeline. The request thread only moves the multipart body to a temp file and
+ * queues a job; a bounded worker pool validates it, renders the avatar sizes and pushes them to
+ * the {@link ImageStorage}. When the pool and its queue are full, uploads are refused with a 503.
+ */
+@Slf4j
 @Service
 public class ImageUploadService {
 
-    @Autowired
-    private Cloudinary cloudinary;
+    private final ImageStorage imageStorage;
+    private final ThreadPoolExecutor executor;
+    private final int[] avatarSizes;
+    private final long maxPixels;
+    private final Duration jobRetention;
 
-    public String uploadImage(MultipartFile file) throws IOException {
-        Map uploadResult = cloudinary.uploader().upload(file.getBytes(),
-                ObjectUtils.asMap("resource_type", "auto"));
-        return uploadResult.get("secure_url").toString(); // Returns URL
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public ImageUploadService(ImageStorage imageStorage,
+                              @Value("${image.pipeline.threads:2}") int threads,
+                              @Value("${image.pipeline.queue-capacity:32}") int queueCapacity,
+                              @Value("${image.avatar-sizes:512,256,128,64}") int[] avatarSizes,
+                              @Value("${image.max-pixels:40000000}") long maxPixels,
+                              @Value("${image.jobs.retention:PT1H}") Duration jobRetention) {
+        this.imageStorage = imageStorage;
+        this.avatarSizes = Arrays.stream(avatarSizes).boxed()
+                .sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+        this.maxPixels = maxPixels;
+        this.jobRetention = jobRetention;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "image-pipeline-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
     }
-}
 
+    /**
+     * Spools the upload to disk and queues it. onComplete receives the URLs by avatar size
+     * on the worker thread once every size is stored.
+     */
+    public UploadJob submit(MultipartFile file, Integer ownerId, Consumer<Map<Integer, String>> onComplete) throws IOException {
+        if (file.isEmpty()) {
+            throw new InvalidImageException("Uploaded file is empty");
+        }
+
+        Path upload = Files.createTempFile("eventhub-upload-", ".img");
+        try {
+            // Moves or streams the part to disk; the body is never held in memory as a byte[]
+            file.transferTo(upload);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(upload);
+            throw ex;
+        }
+
+        UploadJob job = new UploadJob(ownerId);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> process(job, upload, onComplete));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(upload);
+            throw new ImageUploadRejectedException("Too many image uploads in progress, please retry shortly");
+        }
+        return job;
+    }
+
+    public Optional<UploadJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void process(UploadJob job, Path upload, Consumer<Map<Integer, String>> onComplete) {
+        job.processing();
+        Path rendered = null;
+        try {
+            BufferedImage source = ImageResizer.read(upload, maxPixels, avatarSizes[0]);
+            rendered = Files.createTempFile("eventhub-avatar-", ".jpg");
+
+            Map<Integer, String> urls = new LinkedHashMap<>();
+            BufferedImage previous = source;
+            for (int size : avatarSizes) {
+                // Each size is rendered from the next larger one, which is far cheaper than the original
+                previous = ImageResizer.squareAvatar(previous, size);
+                ImageResizer.writeJpeg(previous, rendered, 0.85f);
+                String key = "avatars/" + job.getOwnerId() + "/" + job.getId() + "-" + size + ".jpg";
+                urls.put(size, imageStorage.store(key, rendered, "image/jpeg"));
+            }
+
+            if (onComplete != null) {
+                onComplete.accept(urls);
+            }
+            job.done(urls);
+        } catch (InvalidImageException ex) {
+            job.failed(ex.getMessage());
+        } catch (Exception ex) {
+            log.warn("Image job {} failed", job.getId(), ex);
+            job.failed("Image processing failed");
+        } finally {
+            deleteQuietly(upload);
+            deleteQuietly(rendered);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${image.jobs.sweep-interval:PT5M}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt().isBefore(cutoff));
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete temp file {}", path, ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,21 +1,29 @@
 package com.eventHubBackend.Spring.Backend.EventHub.service;
 
 import com.eventHubBackend.Spring.Backend.EventHub.BeanUtils.UpdateUtil;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.ResourceNotFoundException;
 import com.eventHubBackend.Spring.Backend.EventHub.jwt.JwtService;
+import com.eventHubBackend.Spring.Backend.EventHub.jwt.TokenVersionCache;
+import com.eventHubBackend.Spring.Backend.EventHub.likes.EventLikeCounter;
 import com.eventHubBackend.Spring.Backend.EventHub.model.User;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
 import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
 import com.eventHubBackend.Spring.Backend.EventHub.repository.UserRepo;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.UserRequest;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.UserResponse;
+import com.eventHubBackend.Spring.Backend.EventHub.trending.TrendingEventsTracker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,7 +41,20 @@ public class UserService {
     @Autowired
     private JwtService jwtService;
 
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(12);
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private PasswordEncoder encoder;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventLikeCounter eventLikeCounter;
+
+    @Autowired
+    private TrendingEventsTracker trendingEventsTracker;
 
     public User saveUser(User user) {
         user.setPassword(encoder.encode(user.getPassword()));
@@ -44,28 +65,27 @@ public class UserService {
         return repo.findAll();
     }
 
+    /**
+     * One insert-if-absent on user_liked_events; the event's like count moves only when a row was added.
+     */
     @Transactional
-    public void addEvent(String username, Long eventId) {
-        User user = repo.findByUsername(username);
-        if (!user.getLikedEventId().contains(eventId)) {
-            user.getLikedEventId().add(eventId);
-            repo.save(user);
+    public void addEvent(Integer userId, Long eventId) {
+        EventCategories category = eventRepository.findCategoryById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        if (repo.insertLikeIfAbsent(userId, eventId) > 0) {
+            eventLikeCounter.addAfterCommit(eventId, 1, () -> trendingEventsTracker.recordLike(eventId, category));
         }
     }
 
     @Transactional
-    public void removeEvent(String username, Long eventId) {
-        User user = repo.findByUsername(username);
-        if (user.getLikedEventId().contains(eventId)) {
-            user.getLikedEventId().remove(eventId);
-            repo.save(user);
+    public void removeEvent(Integer userId, Long eventId) {
+        if (repo.deleteLike(userId, eventId) > 0) {
+            eventLikeCounter.addAfterCommit(eventId, -1);
         }
     }
 
-    public List<EventResponse> getLikedEvents(String username) {
-        User user = repo.findByUsername(username);
-        Set<Long> eventIds = user.getLikedEventId();
-        return eventService.getEventsByIds(eventIds);
+    public Page<EventResponse> getLikedEvents(Integer userId, Pageable pageable) {
+        return eventService.getLikedEvents(userId, pageable);
     }
 
     @Transactional
@@ -98,11 +118,14 @@ public class UserService {
     public User updateUser(Integer userId, UserRequest userRequest, UserPrinciple userDetails) {
 
         User user = repo.findById(userDetails.getId()).orElseThrow(() -> new RuntimeException("User not found 404"));
+        Set<String> changed = UpdateUtil.copyChangedProperties(userRequest, user);
+        if (changed.isEmpty()) return user;
 
-
-        if(userRequest.getFullname() != null) user.setFullname(userRequest.getFullname());
-        if(userRequest.getUsername() != null) user.setUsername(userRequest.getUsername());
-        if(userRequest.getEmail() != null) user.setEmail(userRequest.getEmail());
+        // Identity claims inside issued tokens are now stale; revoke them
+        if (changed.contains("username") || changed.contains("role")) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            tokenVersionCache.updateAfterCommit(user.getId(), user.getTokenVersion());
+        }
 
         User updatedUser = repo.save(user);
 
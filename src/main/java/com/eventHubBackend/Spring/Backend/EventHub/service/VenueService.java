@@ -1,14 +1,19 @@
 package com.eventHubBackend.Spring.Backend.EventHub.service;
 
+import com.eventHubBackend.Spring.Backend.EventHub.dto.TimeSlot;
 import com.eventHubBackend.Spring.Backend.EventHub.dto.VenueDTO;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.VenueRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface VenueService {
     VenueDTO createVenue(VenueRequest venueRequest);
     VenueDTO updateVenue(Long id, VenueRequest venueRequest);
     VenueDTO getVenueById(Long id);
     Page<VenueDTO> getAllVenues(Pageable pageable);
     void deleteVenue(Long id);
+    List<TimeSlot> getAvailability(Long id, LocalDateTime from, LocalDateTime to);
 }
@@ -1,23 +1,49 @@
 package com.eventHubBackend.Spring.Backend.EventHub.service.impl;
 
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.dto.TimeSlot;
 import com.eventHubBackend.Spring.Backend.EventHub.dto.VenueDTO;
 import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.VenueRequest;
 import com.eventHubBackend.Spring.Backend.EventHub.exception.ResourceNotFoundException;
+import com.eventHubBackend.Spring.Backend.EventHub.geo.VenueGeoIndex;
 import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
 import com.eventHubBackend.Spring.Backend.EventHub.repository.VenueRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueScheduleIndex;
+import com.eventHubBackend.Spring.Backend.EventHub.search.EventSearchIndex;
 import com.eventHubBackend.Spring.Backend.EventHub.service.VenueService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 
 @Service
 public class VenueServiceImpl implements VenueService {
 
     //@Autowired new recommended approach not using this annotate we require constructor injection
     private final VenueRepository venueRepository;
-
-    public VenueServiceImpl(VenueRepository venueRepository) {
+    private final VenueScheduleIndex venueScheduleIndex;
+    private final EventSearchIndex eventSearchIndex;
+    private final VenueGeoIndex venueGeoIndex;
+    private final CatalogVersions catalogVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    public VenueServiceImpl(VenueRepository venueRepository,
+                            VenueScheduleIndex venueScheduleIndex,
+                            EventSearchIndex eventSearchIndex,
+                            VenueGeoIndex venueGeoIndex,
+                            CatalogVersions catalogVersions,
+                            TransactionTemplate transactionTemplate) {
         this.venueRepository = venueRepository;
+        this.venueScheduleIndex = venueScheduleIndex;
+        this.eventSearchIndex = eventSearchIndex;
+        this.venueGeoIndex = venueGeoIndex;
+        this.catalogVersions = catalogVersions;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -31,44 +57,102 @@ public class VenueServiceImpl implements VenueService {
             );
         });
 
+        requireBothCoordinatesOrNone(venueRequest);
+
         Venue venue = Venue.builder()
                 .name(venueRequest.getName().trim())
                 .address(venueRequest.getAddress().trim())
+                .latitude(venueRequest.getLatitude())
+                .longitude(venueRequest.getLongitude())
                 .build();
 
-        return toDTO(venueRepository.save(venue));
+        // The in-memory indexes only change once the write has committed
+        Venue saved = transactionTemplate.execute(status -> {
+            Venue inserted = venueRepository.save(venue);
+            catalogVersions.changed(CatalogVersions.Catalog.VENUES, List.of(inserted.getId()));
+            return inserted;
+        });
+        venueGeoIndex.put(saved.getId(), saved.getLatitude(), saved.getLongitude());
+        return toDTO(saved);
     }
 
     @Override
     public VenueDTO updateVenue(Long id, VenueRequest venueRequest) {
-        Venue venue = venueRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with ID " + id));
-
-        venue.setName(venueRequest.getName());
-        venue.setAddress(venueRequest.getAddress());
-
-        return toDTO(venueRepository.save(venue));
+        requireBothCoordinatesOrNone(venueRequest);
+
+        boolean[] searchableChanged = {false};
+        VenueDTO updated = transactionTemplate.execute(status -> {
+            Venue venue = venueRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Venue not found with ID " + id));
+
+            searchableChanged[0] = !Objects.equals(venue.getName(), venueRequest.getName())
+                    || !Objects.equals(venue.getAddress(), venueRequest.getAddress());
+            venue.setName(venueRequest.getName());
+            venue.setAddress(venueRequest.getAddress());
+            venue.setLatitude(venueRequest.getLatitude());
+            venue.setLongitude(venueRequest.getLongitude());
+
+            VenueDTO written = toDTO(venueRepository.save(venue));
+            catalogVersions.changed(CatalogVersions.Catalog.VENUES, List.of(id));
+            // Events carry the venue address, so their tags move too
+            catalogVersions.bump(CatalogVersions.Catalog.EVENTS);
+            return written;
+        });
+        venueGeoIndex.put(id, updated.getLatitude(), updated.getLongitude());
+        // Venue name and address are part of every event's search text
+        if (searchableChanged[0]) eventSearchIndex.reindexVenue(id);
+        return updated;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public VenueDTO getVenueById(Long id) {
-        Venue venue = venueRepository.findById(id)
+        return venueRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Venue not found with ID " + id));
-
-        return toDTO(venue);
     }
 
+    /**
+     * Selects the DTO columns directly; no venue entities enter the persistence context.
+     */
+    @Transactional(readOnly = true)
     @Override
     public Page<VenueDTO> getAllVenues(Pageable pageable) {
-        return venueRepository.findAll(pageable).map(this::toDTO);
+        return venueRepository.findAllDtos(pageable);
     }
 
     @Override
     public void deleteVenue(Long id) {
-        Venue venue = venueRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with ID " + id));
+        transactionTemplate.executeWithoutResult(status -> {
+            Venue venue = venueRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Venue not found with ID " + id));
+
+            venueRepository.delete(venue);
+            // The venue's events went with it; other nodes drop them when they re-read the venue
+            catalogVersions.changed(CatalogVersions.Catalog.VENUES, List.of(id));
+            catalogVersions.bump(CatalogVersions.Catalog.EVENTS);
+        });
+        venueScheduleIndex.removeVenue(id);
+        eventSearchIndex.removeVenue(id);
+        venueGeoIndex.remove(id);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<TimeSlot> getAvailability(Long id, LocalDateTime from, LocalDateTime to) {
+        if (!venueRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Venue not found with ID " + id);
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        return venueScheduleIndex.freeSlots(id, from, to);
+    }
 
-        venueRepository.delete(venue);
+    private static void requireBothCoordinatesOrNone(VenueRequest venueRequest) {
+        if ((venueRequest.getLatitude() == null) != (venueRequest.getLongitude() == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
     }
 
     private VenueDTO toDTO(Venue venue) {
@@ -76,6 +160,8 @@ public class VenueServiceImpl implements VenueService {
                 .id(venue.getId())
                 .name(venue.getName())
                 .address(venue.getAddress())
+                .latitude(venue.getLatitude())
+                .longitude(venue.getLongitude())
                 .build();
     }
 }
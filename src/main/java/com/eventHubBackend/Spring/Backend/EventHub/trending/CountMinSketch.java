@@ -0,0 +1,82 @@
+package com.eventHubBackend.Spring.Backend.EventHub.trending;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch over long keys: depth rows of width counters, each key adding to one counter
+ * per row. The smallest of its counters never undercounts a key and overcounts it by at most
+ * e/width of the total with probability 1 - e^-depth. Updates are lock-free.
+ */
+final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counts;
+
+    CountMinSketch(int width, int depth) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two, got " + width);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counts = new AtomicLongArray(width * depth);
+    }
+
+    /**
+     * Adds count to the key and returns its new estimate.
+     */
+    long add(long key, long count) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + (int) ((h1 + row * h2) >>> 32 & mask);
+            estimate = Math.min(estimate, counts.addAndGet(index, count));
+        }
+        return estimate;
+    }
+
+    long estimate(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.get(row * width + (int) ((h1 + row * h2) >>> 32 & mask)));
+        }
+        return estimate;
+    }
+
+    int width() {
+        return width;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        for (int i = 0; i < counts.length(); i++) {
+            out.writeLong(counts.get(i));
+        }
+    }
+
+    void readFrom(DataInput in) throws IOException {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, in.readLong());
+        }
+    }
+
+    /**
+     * SplitMix64 finaliser; spreads sequential ids over the whole range.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
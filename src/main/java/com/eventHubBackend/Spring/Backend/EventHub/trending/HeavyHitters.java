@@ -0,0 +1,79 @@
+package com.eventHubBackend.Spring.Backend.EventHub.trending;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The capacity keys with the highest estimates in one sketch, i.e. the candidates for a top-N
+ * query; the sketch holds their counts. Offers from keys already kept, or at or below the
+ * smallest kept estimate, return without taking the lock, which is where almost all of a
+ * long-tailed stream ends up.
+ */
+final class HeavyHitters {
+
+    private final int capacity;
+    private final CountMinSketch sketch;
+    private final Map<Long, Long> estimates = new ConcurrentHashMap<>();
+    // Smallest kept estimate as of the last eviction; estimates only grow, so it is a lower bound
+    private volatile long floor;
+
+    HeavyHitters(int capacity, CountMinSketch sketch) {
+        this.capacity = capacity;
+        this.sketch = sketch;
+    }
+
+    void offer(long key, long estimate) {
+        if (estimate <= floor || estimates.containsKey(key)) return;
+
+        synchronized (this) {
+            if (estimates.containsKey(key)) return;
+            if (estimates.size() < capacity) {
+                estimates.put(key, estimate);
+                return;
+            }
+
+            // Evict the smallest by its current count, not the one it had when it got in
+            long smallestKey = 0;
+            long smallest = Long.MAX_VALUE;
+            for (Map.Entry<Long, Long> entry : estimates.entrySet()) {
+                long current = sketch.estimate(entry.getKey());
+                entry.setValue(current);
+                if (current < smallest) {
+                    smallest = current;
+                    smallestKey = entry.getKey();
+                }
+            }
+            if (estimate > smallest) {
+                estimates.remove(smallestKey);
+                estimates.put(key, estimate);
+                smallest = Math.min(estimate, estimates.values().stream().mapToLong(Long::longValue).min().orElse(0));
+            }
+            floor = smallest;
+        }
+    }
+
+    Set<Long> keys() {
+        return Set.copyOf(estimates.keySet());
+    }
+
+    synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(estimates.size());
+        for (Map.Entry<Long, Long> entry : estimates.entrySet()) {
+            out.writeLong(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    synchronized void readFrom(DataInput in) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            long key = in.readLong();
+            long estimate = in.readLong();
+            if (estimates.size() < capacity) estimates.put(key, estimate);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.eventHubBackend.Spring.Backend.EventHub.trending;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Approximate most-interacted-with events over the last hour and day, per category, in fixed
+ * memory. Each window is a ring of time buckets; a bucket holds a Count-Min Sketch of the
+ * interactions in its slice of time plus, per category, the events with the highest counts in
+ * it. A query sums an event's estimates over the window's live buckets, for the union of their
+ * candidates. Buckets expire by being replaced once the ring comes round to them again.
+ * <p>
+ * The rings are written to a snapshot file periodically and on shutdown, and read back at startup.
+ */
+@Slf4j
+@Component
+public class TrendingEventsTracker {
+
+    public enum Window {
+        HOUR(Duration.ofMinutes(5), 12),
+        DAY(Duration.ofHours(1), 24);
+
+        final long bucketMillis;
+        final int buckets;
+
+        Window(Duration bucket, int buckets) {
+            this.bucketMillis = bucket.toMillis();
+            this.buckets = buckets;
+        }
+    }
+
+    public record Trend(long eventId, long score) {}
+
+    private static final int SNAPSHOT_MAGIC = 0x54524e44;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final EventCategories[] CATEGORIES = EventCategories.values();
+
+    private final class Bucket {
+        final long epoch;
+        final CountMinSketch sketch = new CountMinSketch(width, depth);
+        final HeavyHitters[] byCategory = new HeavyHitters[CATEGORIES.length];
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+            for (int i = 0; i < byCategory.length; i++) {
+                byCategory[i] = new HeavyHitters(candidates, sketch);
+            }
+        }
+    }
+
+    private final int width;
+    private final int depth;
+    private final int candidates;
+    private final long likeWeight;
+    private final Path snapshotPath;
+    private final Clock clock;
+
+    private final AtomicReferenceArray<Bucket>[] rings;
+
+    @Autowired
+    public TrendingEventsTracker(@Value("${trending.sketch.width:2048}") int width,
+                                 @Value("${trending.sketch.depth:4}") int depth,
+                                 @Value("${trending.candidates:64}") int candidates,
+                                 @Value("${trending.like-weight:5}") long likeWeight,
+                                 @Value("${trending.snapshot.path:${java.io.tmpdir}/eventhub-trending.snapshot}") Path snapshotPath) {
+        this(width, depth, candidates, likeWeight, snapshotPath, Clock.systemUTC());
+    }
+
+    @SuppressWarnings("unchecked")
+    public TrendingEventsTracker(int width, int depth, int candidates, long likeWeight, Path snapshotPath, Clock clock) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("trending.sketch.width must be a power of two, got " + width);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.candidates = candidates;
+        this.likeWeight = likeWeight;
+        this.snapshotPath = snapshotPath;
+        this.clock = clock;
+
+        this.rings = new AtomicReferenceArray[Window.values().length];
+        for (Window window : Window.values()) {
+            rings[window.ordinal()] = new AtomicReferenceArray<>(window.buckets);
+        }
+    }
+
+    public void recordView(long eventId, EventCategories category) {
+        record(eventId, category, 1);
+    }
+
+    public void recordLike(long eventId, EventCategories category) {
+        record(eventId, category, likeWeight);
+    }
+
+    public void record(long eventId, EventCategories category, long weight) {
+        long now = clock.millis();
+        int categoryIndex = (category != null ? category : EventCategories.GENERAL).ordinal();
+
+        for (Window window : Window.values()) {
+            Bucket bucket = current(window, now);
+            long estimate = bucket.sketch.add(eventId, weight);
+            bucket.byCategory[categoryIndex].offer(eventId, estimate);
+        }
+    }
+
+    /**
+     * Top n events of the category (all categories when null) over the window, highest score first.
+     */
+    public List<Trend> top(EventCategories category, Window window, int n) {
+        List<Bucket> live = live(window, clock.millis());
+
+        Set<Long> candidateIds = new HashSet<>();
+        for (Bucket bucket : live) {
+            if (category != null) {
+                candidateIds.addAll(bucket.byCategory[category.ordinal()].keys());
+            } else {
+                for (HeavyHitters hitters : bucket.byCategory) candidateIds.addAll(hitters.keys());
+            }
+        }
+
+        List<Trend> trends = new ArrayList<>(candidateIds.size());
+        for (long eventId : candidateIds) {
+            long score = 0;
+            for (Bucket bucket : live) score += bucket.sketch.estimate(eventId);
+            trends.add(new Trend(eventId, score));
+        }
+        trends.sort(Comparator.comparingLong(Trend::score).reversed().thenComparingLong(Trend::eventId));
+        return trends.size() > n ? List.copyOf(trends.subList(0, n)) : trends;
+    }
+
+    private Bucket current(Window window, long now) {
+        AtomicReferenceArray<Bucket> ring = rings[window.ordinal()];
+        long epoch = now / window.bucketMillis;
+        int slot = (int) (epoch % window.buckets);
+
+        Bucket bucket = ring.get(slot);
+        while (bucket == null || bucket.epoch < epoch) {
+            // Writers still holding the replaced bucket lose at most a few interactions at the boundary
+            Bucket fresh = new Bucket(epoch);
+            if (ring.compareAndSet(slot, bucket, fresh)) return fresh;
+            bucket = ring.get(slot);
+        }
+        return bucket;
+    }
+
+    private List<Bucket> live(Window window, long now) {
+        AtomicReferenceArray<Bucket> ring = rings[window.ordinal()];
+        long epoch = now / window.bucketMillis;
+
+        List<Bucket> live = new ArrayList<>(window.buckets);
+        for (int i = 0; i < ring.length(); i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket != null && bucket.epoch > epoch - window.buckets && bucket.epoch <= epoch) live.add(bucket);
+        }
+        return live;
+    }
+
+    /**
+     * Runs before the bean is in use, so neither an interaction nor the first scheduled
+     * snapshot can get in ahead of it.
+     */
+    @PostConstruct
+    public void restore() {
+        if (!Files.exists(snapshotPath)) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION
+                    || in.readInt() != width || in.readInt() != depth || in.readInt() != CATEGORIES.length) {
+                log.warn("Ignoring trending snapshot {}: written with a different layout", snapshotPath);
+                return;
+            }
+
+            long now = clock.millis();
+            int restored = 0;
+            for (Window window : Window.values()) {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    Bucket bucket = new Bucket(in.readLong());
+                    bucket.sketch.readFrom(in);
+                    for (HeavyHitters hitters : bucket.byCategory) hitters.readFrom(in);
+
+                    // Buckets that went out of the window while the node was down are dropped
+                    long epoch = now / window.bucketMillis;
+                    if (bucket.epoch > epoch - window.buckets && bucket.epoch <= epoch) {
+                        rings[window.ordinal()].set((int) (bucket.epoch % window.buckets), bucket);
+                        restored++;
+                    }
+                }
+            }
+            log.info("Restored {} trending buckets from {}", restored, snapshotPath);
+        } catch (IOException e) {
+            log.warn("Could not read trending snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the live buckets to a temporary file and moves it over the previous snapshot, so a
+     * crash mid-write leaves the old snapshot intact.
+     */
+    @Scheduled(fixedDelayString = "${trending.snapshot.interval:PT1M}")
+    public synchronized void snapshot() {
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        long now = clock.millis();
+
+        try {
+            if (snapshotPath.getParent() != null) Files.createDirectories(snapshotPath.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(width);
+                out.writeInt(depth);
+                out.writeInt(CATEGORIES.length);
+
+                for (Window window : Window.values()) {
+                    List<Bucket> live = live(window, now);
+                    out.writeInt(live.size());
+                    for (Bucket bucket : live) {
+                        out.writeLong(bucket.epoch);
+                        bucket.sketch.writeTo(out);
+                        for (HeavyHitters hitters : bucket.byCategory) hitters.writeTo(out);
+                    }
+                }
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write trending snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+}
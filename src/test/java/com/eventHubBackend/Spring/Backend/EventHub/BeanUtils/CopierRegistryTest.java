@@ -0,0 +1,94 @@
+package com.eventHubBackend.Spring.Backend.EventHub.BeanUtils;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.User;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.UserRequest;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CopierRegistryTest {
+
+    @Data
+    public static class Patch {
+        private Integer count;
+        private String name;
+        private long version;
+        private List<String> tags;
+    }
+
+    @Data
+    public static class Target {
+        private String count;
+        private String name;
+        private long version;
+        private List<String> tags;
+
+        public void setName(String name) {
+            if (name.isBlank()) throw new IllegalArgumentException("name must not be blank");
+            this.name = name;
+        }
+    }
+
+    // Not public, so its accessors go through method handles instead of generated lambdas
+    @Data
+    static class HiddenTarget {
+        private String name;
+        private Long version;
+    }
+
+    @Test
+    void copiesOnlyNonNullChangedPropertiesAndReportsThem() {
+        User user = User.builder().username("old").email("same@example.com").fullname("Full Name").build();
+        UserRequest request = UserRequest.builder().username("new").email("same@example.com").build();
+
+        Set<String> changed = UpdateUtil.copyChangedProperties(request, user);
+
+        assertEquals(Set.of("username"), changed);
+        assertEquals("new", user.getUsername());
+        assertEquals("Full Name", user.getFullname(), "null in the patch leaves the target alone");
+        assertTrue(UpdateUtil.copyChangedProperties(request, user).isEmpty());
+    }
+
+    @Test
+    void skipsPropertiesOfAnotherTypeAndCopiesPrimitives() {
+        Patch patch = new Patch();
+        patch.setCount(3);
+        patch.setVersion(7);
+        patch.setTags(List.of("a"));
+        Target target = new Target();
+        target.setCount("unchanged");
+
+        PropertyCopier<Patch, Target> copier = CopierRegistry.copier(Patch.class, Target.class);
+
+        assertEquals(List.of("name", "tags", "version"), copier.propertyNames().stream().sorted().toList());
+        assertEquals(Set.of("version", "tags"), copier.copy(patch, target));
+        assertEquals("unchanged", target.getCount());
+        assertEquals(7, target.getVersion());
+        assertSame(copier, CopierRegistry.copier(Patch.class, Target.class));
+    }
+
+    @Test
+    void propagatesSetterExceptionsInsteadOfSwallowingThem() {
+        Patch patch = new Patch();
+        patch.setName(" ");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CopierRegistry.copier(Patch.class, Target.class).copy(patch, new Target()));
+    }
+
+    @Test
+    void fallsBackToMethodHandlesForNonPublicClasses() {
+        Patch patch = new Patch();
+        patch.setName("visible");
+        patch.setVersion(2);
+        HiddenTarget target = new HiddenTarget();
+
+        assertEquals(Set.of("name", "version"), CopierRegistry.copier(Patch.class, HiddenTarget.class).copy(patch, target));
+        assertEquals("visible", target.getName());
+        assertEquals(2L, target.getVersion());
+    }
+}
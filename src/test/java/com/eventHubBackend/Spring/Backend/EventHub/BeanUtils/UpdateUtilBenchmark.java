@@ -0,0 +1,89 @@
+package com.eventHubBackend.Spring.Backend.EventHub.BeanUtils;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applying a partial update (title and price set, everything else null) onto a loaded entity:
+ * the former reflective field copy against the cached copier, looked up per call as UpdateUtil
+ * does and held by the caller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateUtilBenchmark {
+
+    private Event patch;
+    private Event target;
+    private PropertyCopier<Event, Event> copier;
+    private boolean flip;
+
+    @Setup
+    public void setUp() {
+        patch = new Event();
+        patch.setPrice(30.0);
+        copier = CopierRegistry.copier(Event.class, Event.class);
+
+        target = Event.builder()
+                .id(1L)
+                .title("Original")
+                .description("Description")
+                .price(25.0)
+                .startTime(LocalDateTime.of(2026, 6, 1, 19, 0))
+                .endTime(LocalDateTime.of(2026, 6, 1, 22, 0))
+                .build();
+    }
+
+    /**
+     * Alternates the title so every call has a change to copy.
+     */
+    private Event nextPatch() {
+        flip = !flip;
+        patch.setTitle(flip ? "Renamed" : "Original");
+        return patch;
+    }
+
+    @Benchmark
+    public Object previousReflectiveCopy() {
+        Event source = nextPatch();
+        for (Field field : source.getClass().getDeclaredFields()) {
+            try {
+                field.setAccessible(true);
+                Object value = field.get(source);
+                if (value != null) {
+                    Field targetField = target.getClass().getDeclaredField(field.getName());
+                    targetField.setAccessible(true);
+                    targetField.set(target, value);
+                }
+            } catch (Exception ignored) {}
+        }
+        return target;
+    }
+
+    @Benchmark
+    public Object copyNonNullAndChangedProperties() {
+        return UpdateUtil.copyNonNullAndChangedProperties(nextPatch(), target);
+    }
+
+    @Benchmark
+    public Set<String> heldCopier() {
+        return copier.copy(nextPatch(), target);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UpdateUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
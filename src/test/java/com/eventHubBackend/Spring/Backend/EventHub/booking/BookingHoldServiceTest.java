@@ -0,0 +1,141 @@
+package com.eventHubBackend.Spring.Backend.EventHub.booking;
+
+import com.eventHubBackend.Spring.Backend.EventHub.inventory.SeatInventoryService;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.BookingStatus;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.BookingRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookingHoldServiceTest {
+
+    private static final long EVENT_ID = 1L;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final SeatInventoryService seatInventoryService = new SeatInventoryService(eventRepository, ticketRepository, 10);
+    private final List<BookingHoldService> services = new ArrayList<>();
+
+    /**
+     * Bookings still PENDING in the database count as pending when the wheel expires them.
+     */
+    @BeforeEach
+    void stubRepositories() {
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(eventRepository.findCapacityById(EVENT_ID)).thenReturn(Optional.of(10));
+        when(ticketRepository.findSeatNumbersByEventId(EVENT_ID)).thenReturn(List.of("3", "5"));
+        when(bookingRepository.lockIdsByStatus(anyCollection(), eq(BookingStatus.PENDING)))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+    }
+
+    @AfterEach
+    void stopWheels() {
+        services.forEach(BookingHoldService::stop);
+    }
+
+    private BookingHoldService service(Duration ttl) {
+        BookingHoldService service = new BookingHoldService(bookingRepository, ticketRepository, seatInventoryService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), ttl, Duration.ofMillis(10), 64, 100,
+                Duration.ofMinutes(1));
+        services.add(service);
+        return service;
+    }
+
+    private static BookingRepository.HeldSeat heldSeat(long bookingId, LocalDateTime bookedAt, String seatNumber) {
+        BookingRepository.HeldSeat seat = mock(BookingRepository.HeldSeat.class);
+        when(seat.getBookingId()).thenReturn(bookingId);
+        when(seat.getEventId()).thenReturn(EVENT_ID);
+        when(seat.getBookingDate()).thenReturn(bookedAt);
+        when(seat.getSeatNumber()).thenReturn(seatNumber);
+        return seat;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void restoreSkipsUnusableSeatsAndExpiresOverdueHolds() throws InterruptedException {
+        assertEquals(8, seatInventoryService.available(EVENT_ID));
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingRepository.HeldSeat> seats = List.of(
+                heldSeat(1L, now.minus(TTL).minusMinutes(1), "3"),
+                heldSeat(1L, now.minus(TTL).minusMinutes(1), "A-12"),
+                heldSeat(2L, now, "5"));
+        when(bookingRepository.streamSeatsByStatus(BookingStatus.PENDING)).thenReturn(seats.stream());
+
+        BookingHoldService service = service(TTL);
+        service.restore();
+
+        await(() -> seatInventoryService.available(EVENT_ID) == 9);
+        verify(bookingRepository).transition(List.of(1L), BookingStatus.PENDING, BookingStatus.CANCELLED);
+        verify(ticketRepository).deleteByBookingIds(List.of(1L));
+        assertEquals(1, service.activeHolds());
+    }
+
+    @Test
+    void wheelStartsEvenWhenTheRestoreFails() throws InterruptedException {
+        when(bookingRepository.streamSeatsByStatus(BookingStatus.PENDING)).thenReturn(Stream.generate(() -> {
+            throw new IllegalStateException("Connection lost");
+        }));
+
+        BookingHoldService service = service(Duration.ofMillis(20));
+        assertThrows(IllegalStateException.class, service::restore);
+
+        service.place(3L, EVENT_ID, new int[]{5});
+        await(() -> seatInventoryService.available(EVENT_ID) == 9);
+        assertEquals(0, service.activeHolds());
+    }
+
+    @Test
+    void expiryLeavesBookingsThatAreNoLongerPending() throws InterruptedException {
+        when(bookingRepository.lockIdsByStatus(anyCollection(), eq(BookingStatus.PENDING))).thenReturn(List.of());
+        when(bookingRepository.streamSeatsByStatus(BookingStatus.PENDING)).thenReturn(Stream.empty());
+
+        BookingHoldService service = service(Duration.ofMillis(20));
+        service.restore();
+        service.place(4L, EVENT_ID, new int[]{3});
+
+        await(() -> service.activeHolds() == 0);
+        verify(bookingRepository, timeout(1_000)).lockIdsByStatus(List.of(4L), BookingStatus.PENDING);
+        verify(bookingRepository, never()).transition(any(), any(), any());
+        assertEquals(8, seatInventoryService.available(EVENT_ID));
+    }
+
+    @Test
+    void sweepExpiresHoldsOrphanedByAnotherNode() {
+        LocalDateTime bookedAt = LocalDateTime.now().minus(TTL).minusMinutes(2);
+        List<BookingRepository.HeldSeat> seats = List.of(heldSeat(7L, bookedAt, "3"), heldSeat(8L, bookedAt, "5"));
+        when(bookingRepository.findSeatsByStatusBookedBefore(eq(BookingStatus.PENDING), any())).thenReturn(seats);
+        assertEquals(8, seatInventoryService.available(EVENT_ID));
+
+        service(TTL).sweepOrphans();
+
+        verify(bookingRepository).transition(List.of(7L, 8L), BookingStatus.PENDING, BookingStatus.CANCELLED);
+        verify(ticketRepository).deleteByBookingIds(List.of(7L, 8L));
+        assertEquals(10, seatInventoryService.available(EVENT_ID));
+    }
+}
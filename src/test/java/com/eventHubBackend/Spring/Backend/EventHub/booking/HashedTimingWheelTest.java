@@ -0,0 +1,51 @@
+package com.eventHubBackend.Spring.Backend.EventHub.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void expiresInBatchesAndSkipsCancelledTimeouts() throws InterruptedException {
+        Set<Integer> expired = ConcurrentHashMap.newKeySet();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        try (HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>("test-wheel", Duration.ofMillis(10), 8, 100,
+                batch -> {
+                    batchSizes.add(batch.size());
+                    expired.addAll(batch);
+                })) {
+            wheel.start();
+
+            List<HashedTimingWheel.Timeout<Integer>> timeouts = new java.util.ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                timeouts.add(wheel.schedule(i, Duration.ofMillis(50)));
+            }
+            // Longer than one revolution of the 8-slot wheel
+            wheel.schedule(-1, Duration.ofMillis(200));
+
+            for (int i = 0; i < 1_000; i += 2) {
+                assertTrue(timeouts.get(i).cancel());
+            }
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (expired.size() < 501 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(501, expired.size());
+            assertTrue(expired.contains(-1));
+            assertTrue(expired.stream().filter(i -> i >= 0).allMatch(i -> i % 2 == 1));
+            assertTrue(batchSizes.stream().allMatch(size -> size <= 100));
+            assertEquals(0, wheel.pendingTimeouts());
+            assertFalse(timeouts.get(1).cancel());
+        }
+    }
+}
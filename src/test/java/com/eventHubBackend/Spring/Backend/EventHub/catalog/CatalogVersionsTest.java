@@ -0,0 +1,226 @@
+package com.eventHubBackend.Spring.Backend.EventHub.catalog;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.CatalogChange;
+import com.eventHubBackend.Spring.Backend.EventHub.model.CatalogVersion;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogChangeRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CatalogVersionsTest {
+
+    private final Map<String, Long> rows = new ConcurrentHashMap<>();
+    private final AtomicBoolean databaseDown = new AtomicBoolean();
+    private final List<CatalogChange> changes = new CopyOnWriteArrayList<>();
+    private final CatalogVersionRepository repository = repository();
+    private final CatalogChangeRepository changeRepository = changeRepository();
+    private final CatalogVersions versions = node();
+
+    private CatalogVersions node() {
+        return new CatalogVersions(repository, changeRepository, mock(PlatformTransactionManager.class));
+    }
+
+    /**
+     * A catalog_versions table in a map.
+     */
+    private CatalogVersionRepository repository() {
+        CatalogVersionRepository repository = mock(CatalogVersionRepository.class);
+        when(repository.existsById(anyString())).thenAnswer(invocation -> rows.containsKey(invocation.<String>getArgument(0)));
+        when(repository.saveAndFlush(any(CatalogVersion.class))).thenAnswer(invocation -> {
+            CatalogVersion row = invocation.getArgument(0);
+            rows.put(row.getName(), row.getVersion());
+            return row;
+        });
+        when(repository.findAll()).thenAnswer(invocation -> rows.entrySet().stream()
+                .map(row -> new CatalogVersion(row.getKey(), row.getValue())).toList());
+        when(repository.increment(anyString())).thenAnswer(invocation -> {
+            if (databaseDown.get()) throw new DataAccessResourceFailureException("Connection refused");
+            return rows.computeIfPresent(invocation.getArgument(0), (name, version) -> version + 1) == null ? 0 : 1;
+        });
+        when(repository.findVersion(anyString())).thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        return repository;
+    }
+
+    /**
+     * A catalog_changes table in a list.
+     */
+    private CatalogChangeRepository changeRepository() {
+        CatalogChangeRepository changeRepository = mock(CatalogChangeRepository.class);
+        when(changeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            changes.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(changeRepository.findChangedIds(anyString(), anyLong(), anyLong(), anyString())).thenAnswer(invocation -> {
+            String catalog = invocation.getArgument(0);
+            long after = invocation.getArgument(1);
+            long upTo = invocation.getArgument(2);
+            String origin = invocation.getArgument(3);
+            return changes.stream()
+                    .filter(change -> change.getCatalog().equals(catalog) && !change.getOrigin().equals(origin))
+                    .filter(change -> change.getVersion() > after && change.getVersion() <= upTo)
+                    .map(CatalogChange::getEntityId)
+                    .distinct()
+                    .toList();
+        });
+        return changeRepository;
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        if (ifNoneMatch != null) request.addHeader("If-None-Match", ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    @Test
+    void issuesNoTagUntilLoadedThenSeedsMissingRows() {
+        assertNull(versions.etag(CatalogVersions.Catalog.EVENTS));
+
+        rows.put("VENUES", 7L);
+        versions.load();
+
+        assertEquals(0L, rows.get("EVENTS"));
+        assertEquals("W/\"events-0\"", versions.etag(CatalogVersions.Catalog.EVENTS));
+        assertEquals("W/\"venues-7\"", versions.etag(CatalogVersions.Catalog.VENUES));
+    }
+
+    @Test
+    void bumpInsideTransactionIsOnlyVisibleAfterCommit() {
+        versions.load();
+        String before = versions.etag(CatalogVersions.Catalog.EVENTS);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            versions.bump(CatalogVersions.Catalog.EVENTS);
+            assertEquals(before, versions.etag(CatalogVersions.Catalog.EVENTS));
+            // The shared row is not touched while the write's transaction is open
+            assertEquals(0L, rows.get("EVENTS"));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotEquals(before, versions.etag(CatalogVersions.Catalog.EVENTS));
+        assertEquals(1L, rows.get("EVENTS"));
+    }
+
+    @Test
+    void versionsNeverMoveBackwards() {
+        versions.load();
+        versions.bump(CatalogVersions.Catalog.EVENTS, CatalogVersions.Catalog.EVENTS);
+        String bumped = versions.etag(CatalogVersions.Catalog.EVENTS);
+
+        // A refresh that read the row before the bump committed
+        rows.put("EVENTS", 1L);
+        versions.refresh();
+        assertEquals(bumped, versions.etag(CatalogVersions.Catalog.EVENTS));
+    }
+
+    @Test
+    void failedBumpIsRetriedByTheNextRefresh() {
+        versions.load();
+        String before = versions.etag(CatalogVersions.Catalog.EVENTS);
+
+        databaseDown.set(true);
+        versions.bump(CatalogVersions.Catalog.EVENTS);
+        versions.refresh();
+        assertEquals(before, versions.etag(CatalogVersions.Catalog.EVENTS));
+
+        databaseDown.set(false);
+        versions.refresh();
+        assertEquals(1L, rows.get("EVENTS"));
+        assertEquals("W/\"events-1\"", versions.etag(CatalogVersions.Catalog.EVENTS));
+
+        versions.refresh();
+        assertEquals(1L, rows.get("EVENTS"));
+    }
+
+    @Test
+    void everyNodeTagsTheSameVersionAlike() {
+        CatalogVersions other = node();
+        versions.load();
+        other.load();
+
+        versions.bump(CatalogVersions.Catalog.EVENTS);
+        other.refresh();
+
+        assertEquals(versions.etag(CatalogVersions.Catalog.EVENTS), other.etag(CatalogVersions.Catalog.EVENTS));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithoutLoadingTheBody() {
+        versions.load();
+        String etag = versions.etag(CatalogVersions.Catalog.EVENTS);
+        AtomicInteger loads = new AtomicInteger();
+
+        ResponseEntity<String> fresh = ConditionalGet.respond(get(null), versions, CatalogVersions.Catalog.EVENTS,
+                CacheControl.noCache(), () -> "body-" + loads.incrementAndGet());
+        assertEquals(HttpStatus.OK, fresh.getStatusCode());
+        assertEquals(etag, fresh.getHeaders().getETag());
+        assertEquals("body-1", fresh.getBody());
+
+        ResponseEntity<String> cached = ConditionalGet.respond(get("\"other\", " + etag), versions,
+                CatalogVersions.Catalog.EVENTS, CacheControl.noCache(), () -> "body-" + loads.incrementAndGet());
+        assertEquals(HttpStatus.NOT_MODIFIED, cached.getStatusCode());
+        assertEquals("no-cache", cached.getHeaders().getCacheControl());
+        assertNull(cached.getBody());
+        assertEquals(1, loads.get());
+
+        versions.bump(CatalogVersions.Catalog.EVENTS);
+        ResponseEntity<String> stale = ConditionalGet.respond(get(etag), versions, CatalogVersions.Catalog.EVENTS,
+                CacheControl.noCache(), () -> "body-" + loads.incrementAndGet());
+        assertEquals(HttpStatus.OK, stale.getStatusCode());
+        assertEquals("body-2", stale.getBody());
+        assertEquals(versions.etag(CatalogVersions.Catalog.EVENTS), stale.getHeaders().getETag());
+    }
+
+    @Test
+    void otherNodesChangesArePublishedOnRefresh() {
+        CatalogVersions other = node();
+        List<Object> published = new ArrayList<>();
+        List<Object> publishedByOther = new ArrayList<>();
+        versions.setApplicationEventPublisher(published::add);
+        other.setApplicationEventPublisher(publishedByOther::add);
+        versions.load();
+        other.load();
+
+        versions.changed(CatalogVersions.Catalog.EVENTS, List.of(3L, 4L));
+        versions.bump(CatalogVersions.Catalog.EVENTS);
+        other.changed(CatalogVersions.Catalog.VENUES, List.of(9L));
+        versions.refresh();
+        other.refresh();
+
+        assertEquals(List.of(new CatalogChangedEvent(CatalogVersions.Catalog.VENUES, Set.of(9L))), published);
+        assertEquals(List.of(new CatalogChangedEvent(CatalogVersions.Catalog.EVENTS, Set.of(3L, 4L))), publishedByOther);
+
+        // Nothing new since
+        versions.refresh();
+        other.refresh();
+        assertEquals(1, published.size());
+        assertEquals(1, publishedByOther.size());
+    }
+}
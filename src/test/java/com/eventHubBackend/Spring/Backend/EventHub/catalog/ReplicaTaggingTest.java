@@ -0,0 +1,160 @@
+package com.eventHubBackend.Spring.Backend.EventHub.catalog;
+
+import com.eventHubBackend.Spring.Backend.EventHub.config.datasource.RecentWriters;
+import com.eventHubBackend.Spring.Backend.EventHub.config.datasource.ReplicaRoutingDataSource;
+import com.eventHubBackend.Spring.Backend.EventHub.controller.EventController;
+import com.eventHubBackend.Spring.Backend.EventHub.model.CatalogVersion;
+import com.eventHubBackend.Spring.Backend.EventHub.model.User;
+import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogChangeRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogVersionRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.CursorPage;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import com.eventHubBackend.Spring.Backend.EventHub.service.EventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The event list behind the replica routing of two in-memory databases. The replica is one
+ * write behind the primary, and this node already knows the primary's version.
+ */
+class ReplicaTaggingTest {
+
+    private final RecentWriters recentWriters = new RecentWriters(Duration.ofMinutes(1), 100);
+    private final JdbcTemplate primary = database("tagging-primary", 6, "Renamed concert");
+    private final JdbcTemplate replica = database("tagging-replica", 5, "Concert");
+    private final JdbcTemplate routed;
+    private final CatalogVersions catalogVersions;
+    private final MockMvc mockMvc;
+
+    ReplicaTaggingTest() {
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primary.getDataSource(), replica.getDataSource(), recentWriters));
+        routed = new JdbcTemplate(routing);
+        catalogVersions = new CatalogVersions(repository(), mock(CatalogChangeRepository.class), new DataSourceTransactionManager(routing));
+
+        // Stands in for EventService.getEvents, joining the transaction the tag is read in
+        EventService eventService = mock(EventService.class);
+        when(eventService.getEvents(any(), any(), anyInt())).thenAnswer(invocation -> CursorPage.<EventResponse>builder()
+                .items(List.of(EventResponse.builder().id(1L)
+                        .title(routed.queryForObject("SELECT title FROM events WHERE id = 1", String.class)).build()))
+                .hasMore(false)
+                .build());
+
+        EventController controller = new EventController();
+        ReflectionTestUtils.setField(controller, "eventService", eventService);
+        ReflectionTestUtils.setField(controller, "catalogVersions", catalogVersions);
+        ReflectionTestUtils.setField(controller, "listMaxAge", Duration.ofSeconds(5));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private static JdbcTemplate database(String name, long version, String title) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE IF NOT EXISTS catalog_versions (name VARCHAR(32) PRIMARY KEY, version BIGINT)");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS events (id BIGINT PRIMARY KEY, title VARCHAR(64))");
+        jdbc.execute("DELETE FROM catalog_versions");
+        jdbc.execute("DELETE FROM events");
+        jdbc.update("INSERT INTO catalog_versions VALUES ('EVENTS', ?), ('VENUES', 0)", version);
+        jdbc.update("INSERT INTO events VALUES (1, ?)", title);
+        return jdbc;
+    }
+
+    /**
+     * catalog_versions read through the routing DataSource, so each read lands where the
+     * surrounding transaction was routed.
+     */
+    private CatalogVersionRepository repository() {
+        CatalogVersionRepository repository = mock(CatalogVersionRepository.class);
+        when(repository.existsById(anyString())).thenReturn(true);
+        when(repository.findAll()).thenAnswer(invocation -> routed.query("SELECT name, version FROM catalog_versions",
+                (row, i) -> new CatalogVersion(row.getString(1), row.getLong(2))));
+        when(repository.findVersion(anyString())).thenAnswer(invocation -> Optional.ofNullable(routed.queryForObject(
+                "SELECT version FROM catalog_versions WHERE name = ?", Long.class, invocation.<String>getArgument(0))));
+        return repository;
+    }
+
+    @BeforeEach
+    void loadVersions() {
+        catalogVersions.load();
+        assertEquals("W/\"events-6\"", catalogVersions.etag(CatalogVersions.Catalog.EVENTS));
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private ResultActions list(String ifNoneMatch) throws Exception {
+        return ifNoneMatch == null
+                ? mockMvc.perform(get("/api/events"))
+                : mockMvc.perform(get("/api/events").header("If-None-Match", ifNoneMatch));
+    }
+
+    private static List<String> etags(MvcResult result) {
+        return result.getResponse().getHeaders("ETag");
+    }
+
+    @Test
+    void staleReplicaDataCarriesTheReplicaVersion() throws Exception {
+        MvcResult first = list(null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Concert"))
+                .andReturn();
+        assertEquals(List.of("W/\"events-5\""), etags(first));
+
+        // Still what the replica holds, but the poller is not stuck on it: the tag is checked
+        // against the replica again on every poll
+        list("W/\"events-5\"").andExpect(status().isNotModified());
+
+        // The replica catches up
+        replica.update("UPDATE events SET title = 'Renamed concert'");
+        replica.update("UPDATE catalog_versions SET version = 6 WHERE name = 'EVENTS'");
+
+        MvcResult caughtUp = list("W/\"events-5\"")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Renamed concert"))
+                .andReturn();
+        assertEquals(List.of("W/\"events-6\""), etags(caughtUp));
+
+        list("W/\"events-6\"").andExpect(status().isNotModified());
+    }
+
+    @Test
+    void recentWriterGetsThePrimaryDataAndVersion() throws Exception {
+        User user = User.builder().id(1).username("organizer").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserPrinciple(user), null, List.of()));
+        recentWriters.pin(1);
+
+        MvcResult result = list(null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Renamed concert"))
+                .andReturn();
+        assertEquals(List.of("W/\"events-6\""), etags(result));
+    }
+}
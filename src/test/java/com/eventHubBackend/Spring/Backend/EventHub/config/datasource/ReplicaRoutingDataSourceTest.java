@@ -0,0 +1,121 @@
+package com.eventHubBackend.Spring.Backend.EventHub.config.datasource;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.User;
+import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory databases stand in for the primary and the replica; each has a marker table
+ * naming itself, so a query shows where it was routed.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String SERVICE_READ = "com.eventHubBackend.Spring.Backend.EventHub.service.EventService.getEvents";
+    private static final String REPOSITORY_READ = "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById";
+
+    private final RecentWriters recentWriters = new RecentWriters(Duration.ofMillis(200), 100);
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceTransactionManager transactionManager;
+
+    ReplicaRoutingDataSourceTest() {
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(database("primary"), database("replica"), recentWriters));
+        jdbcTemplate = new JdbcTemplate(routing);
+        transactionManager = new DataSourceTransactionManager(routing);
+        transactionManager.setTransactionExecutionListeners(List.of(recentWriters));
+    }
+
+    private static DataSource database(String name) {
+        DataSource database = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(16))");
+        jdbc.execute("DELETE FROM marker");
+        jdbc.update("INSERT INTO marker VALUES (?)", name);
+        return database;
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String readIn(String transactionName) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setName(transactionName);
+        return template.execute(status -> marker());
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private void write(boolean commit) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET name = name");
+            if (!commit) status.setRollbackOnly();
+        });
+    }
+
+    private static void signIn(int userId) {
+        User user = User.builder().id(userId).username("user" + userId).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserPrinciple(user), null, List.of()));
+    }
+
+    @Test
+    void readOnlyServiceTransactionsGoToTheReplica() {
+        assertEquals("replica", readIn(SERVICE_READ));
+    }
+
+    @Test
+    void everythingElseGoesToThePrimary() {
+        assertEquals("primary", marker());
+        assertEquals("primary", new TransactionTemplate(transactionManager).execute(status -> marker()));
+        assertEquals("primary", readIn(REPOSITORY_READ));
+    }
+
+    @Test
+    void writerReadsFromThePrimaryUntilTheWindowHasPassed() throws InterruptedException {
+        signIn(1);
+        write(true);
+
+        assertEquals("primary", readIn(SERVICE_READ));
+        signIn(2);
+        assertEquals("replica", readIn(SERVICE_READ));
+
+        signIn(1);
+        Thread.sleep(250);
+        assertEquals("replica", readIn(SERVICE_READ));
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPin() {
+        signIn(1);
+        write(false);
+
+        assertEquals("replica", readIn(SERVICE_READ));
+    }
+
+    @Test
+    void backgroundWritesPinNobody() {
+        write(true);
+        signIn(1);
+
+        assertEquals("replica", readIn(SERVICE_READ));
+    }
+}
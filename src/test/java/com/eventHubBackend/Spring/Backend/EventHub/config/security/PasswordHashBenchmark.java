@@ -0,0 +1,61 @@
+package com.eventHubBackend.Spring.Backend.EventHub.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign-in cost per BCrypt work factor, hashed on the calling thread and through the pooled
+ * encoder (which adds the hand-off to the hashing pool). Each step of cost doubles the time;
+ * compare with the calibrated cost logged at startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    @Param({"10", "11", "12", "13"})
+    public int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private PooledPasswordEncoder pooled;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        pooled = new PooledPasswordEncoder(new SimpleMeterRegistry(), 1, 16, Duration.ofMinutes(1),
+                cost, cost, cost, Duration.ofSeconds(1));
+        hash = encoder.encode("correct horse battery staple");
+    }
+
+    @TearDown
+    public void tearDown() {
+        pooled.shutdown();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("correct horse battery staple", hash);
+    }
+
+    @Benchmark
+    public boolean pooledMatches() {
+        return pooled.matches("correct horse battery staple", hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHashBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
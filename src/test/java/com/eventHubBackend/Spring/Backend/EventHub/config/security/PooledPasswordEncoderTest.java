@@ -0,0 +1,86 @@
+package com.eventHubBackend.Spring.Backend.EventHub.config.security;
+
+import com.eventHubBackend.Spring.Backend.EventHub.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledPasswordEncoderTest {
+
+    private PooledPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) encoder.shutdown();
+    }
+
+    @Test
+    void encodesAndMatchesAtConfiguredCost() {
+        encoder = new PooledPasswordEncoder(new SimpleMeterRegistry(), 2, 8, Duration.ofSeconds(5),
+                5, 4, 15, Duration.ofMillis(250));
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void flagsHashesBelowCurrentCostForUpgrade() {
+        encoder = new PooledPasswordEncoder(new SimpleMeterRegistry(), 1, 8, Duration.ofSeconds(5),
+                6, 4, 15, Duration.ofMillis(250));
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(7).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("{noop}plain"));
+    }
+
+    @Test
+    void rejectsWhenPoolAndQueueAreFull() throws Exception {
+        encoder = new PooledPasswordEncoder(new SimpleMeterRegistry(), 1, 1, Duration.ofSeconds(30),
+                14, 4, 15, Duration.ofMillis(250));
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> encoder.encode("secret")));
+            }
+
+            int rejected = 0;
+            for (Future<String> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException ex) {
+                    assertInstanceOf(PasswordHashingRejectedException.class, ex.getCause());
+                    rejected++;
+                }
+            }
+            // one running, one queued, the rest turned away immediately
+            assertTrue(rejected >= 6, "rejected " + rejected);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void calibrationNeverGoesBelowMinimumCost() {
+        encoder = new PooledPasswordEncoder(new SimpleMeterRegistry(), 1, 8, Duration.ofSeconds(5),
+                0, 5, 6, Duration.ofNanos(1));
+
+        assertEquals(5, encoder.getCost());
+    }
+}
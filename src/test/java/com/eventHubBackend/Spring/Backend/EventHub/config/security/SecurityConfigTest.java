@@ -0,0 +1,112 @@
+package com.eventHubBackend.Spring.Backend.EventHub.config.security;
+
+import com.eventHubBackend.Spring.Backend.EventHub.jwt.JwtService;
+import com.eventHubBackend.Spring.Backend.EventHub.model.User;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.Role;
+import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The rules that carve admin-only endpoints out of the public /api/events/** tree, and the split
+ * between the public and the management listener, run through the real filter chain.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String tokenFor(String username, Role role) {
+        User user = userRepo.findByUsername(username);
+        if (user == null) {
+            user = userRepo.save(User.builder()
+                    .username(username)
+                    .email(username + "@example.com")
+                    .password("{noop}unused")
+                    .role(role)
+                    .build());
+        }
+        return "Bearer " + jwtService.generateToken(new UserPrinciple(user));
+    }
+
+    @Test
+    void anonymousImportIsRejected() throws Exception {
+        mockMvc.perform(post("/api/events/import").contentType("application/x-ndjson").content(""))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void importIsForAdminsOnly() throws Exception {
+        mockMvc.perform(post("/api/events/import").contentType("application/x-ndjson").content("")
+                        .header("Authorization", tokenFor("importing-user", Role.USER)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/events/import").contentType("application/x-ndjson").content("")
+                        .header("Authorization", tokenFor("importing-admin", Role.ADMIN)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void anonymousExportIsRejected() throws Exception {
+        mockMvc.perform(get("/api/events/export"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void eventListStaysPublic() throws Exception {
+        mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void metricsAreNotServedOnThePublicListener() {
+        assertNotEquals(serverPort, managementPort);
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + serverPort + "/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+    }
+
+    @Test
+    void prometheusScrapesTheManagementListenerWithoutAToken() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("jvm_memory_used_bytes"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.eventHubBackend.Spring.Backend.EventHub.eventexport;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.likes.EventLikeCounter;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogChangeRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogVersionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EventExportServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final EventLikeCounter eventLikeCounter = new EventLikeCounter(jdbcTemplate,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            new CatalogVersions(mock(CatalogVersionRepository.class), mock(CatalogChangeRepository.class),
+                mock(PlatformTransactionManager.class)), 500, false);
+    private final EventExportService service = new EventExportService(jdbcTemplate, eventLikeCounter, objectMapper, Integer.MIN_VALUE);
+
+    private PreparedStatementCreator statementCreator;
+
+    /**
+     * Feeds the given number of rows to the export's row handler, as a streaming result set would.
+     */
+    @BeforeEach
+    void streamRows() {
+        streamRows(3);
+    }
+
+    private void streamRows(int rows) {
+        doAnswer(invocation -> {
+            statementCreator = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 1; i <= rows; i++) {
+                handler.processRow(row(i));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet row(long id) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        LocalDateTime start = LocalDateTime.parse("2025-09-01T18:00:00").plusDays(id);
+        when(row.getLong(1)).thenReturn(id);
+        when(row.getString(2)).thenReturn("Event " + id);
+        when(row.getString(3)).thenReturn(id == 2 ? null : "Line one\nline \"two\"");
+        when(row.getDouble(4)).thenReturn(10.5);
+        when(row.getTimestamp(5)).thenReturn(Timestamp.valueOf(start));
+        when(row.getTimestamp(6)).thenReturn(Timestamp.valueOf(start.plusHours(2)));
+        when(row.getString(7)).thenReturn("Street " + id);
+        when(row.getString(8)).thenReturn("MUSIC");
+        when(row.getLong(9)).thenReturn(id * 10);
+        return row;
+    }
+
+    @Test
+    void writesOneLinePerEventWithPendingLikes() throws Exception {
+        eventLikeCounter.add(2L, 5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(3, service.exportEvents(EventExportService.Format.NDJSON, out));
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("Line one\nline \"two\"", first.get("description").asText());
+        assertEquals("2025-09-02T18:00:00", first.get("startTime").asText());
+        assertEquals("MUSIC", first.get("eventCategories").asText());
+        assertTrue(objectMapper.readTree(lines.get(1)).get("description").isNull());
+        assertEquals(25, objectMapper.readTree(lines.get(1)).get("likeCount").asLong());
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+    }
+
+    @Test
+    void writesOneArrayAndAsksTheDriverToStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportEvents(EventExportService.Format.JSON, out);
+
+        JsonNode events = objectMapper.readTree(out.toByteArray());
+        assertEquals(3, events.size());
+        assertEquals("Street 3", events.get(2).get("venueAddress").asText());
+
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+        assertSame(statement, statementCreator.createPreparedStatement(connection));
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Test
+    void failedWriteLeavesTheArrayOpen() {
+        streamRows(2_000);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        OutputStream brokenAfter64k = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                if (written.size() >= 64 * 1024) throw new IOException("Broken pipe");
+                written.write(b);
+            }
+        };
+
+        assertThrows(IOException.class, () -> service.exportEvents(EventExportService.Format.JSON, brokenAfter64k));
+        String text = written.toString(StandardCharsets.UTF_8);
+        assertTrue(text.startsWith("["));
+        assertFalse(text.endsWith("]"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.eventHubBackend.Spring.Backend.EventHub.eventimport;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogChangeRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogVersionRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.VenueRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueLockManager;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueScheduleIndex;
+import com.eventHubBackend.Spring.Backend.EventHub.search.EventSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventImportServiceTest {
+
+    private final VenueRepository venueRepository = mock(VenueRepository.class);
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final VenueScheduleIndex venueScheduleIndex = new VenueScheduleIndex(eventRepository);
+    private final EventSearchIndex eventSearchIndex = new EventSearchIndex(eventRepository);
+    private final AtomicLong ids = new AtomicLong(100);
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    private EventImportService service;
+
+    @BeforeEach
+    void setUp() {
+        when(venueRepository.lockAllByIdIn(any())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().filter(id -> id < 10).sorted()
+                        .map(id -> Venue.builder().id(id).name("Hall " + id).address("Street " + id).build())
+                        .toList());
+
+        // Venue 1 already has an event from 18:00 to 20:00
+        EventRepository.ScheduledSlot existing = mock(EventRepository.ScheduledSlot.class);
+        when(existing.getId()).thenReturn(1L);
+        when(existing.getVenueId()).thenReturn(1L);
+        when(existing.getStartTime()).thenReturn(LocalDateTime.parse("2025-09-01T18:00:00"));
+        when(existing.getEndTime()).thenReturn(LocalDateTime.parse("2025-09-01T20:00:00"));
+        when(eventRepository.findSlotsInRange(any(), any(), any())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).contains(1L) ? List.of(existing) : List.of());
+
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+                .thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    KeyHolder keys = invocation.getArgument(2);
+                    batchSizes.add(setter.getBatchSize());
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keys.getKeyList().add(Map.of("GENERATED_KEY", ids.incrementAndGet()));
+                    }
+                    return new int[setter.getBatchSize()];
+                });
+
+        service = new EventImportService(venueRepository, eventRepository, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new VenueLockManager(16),
+                venueScheduleIndex, eventSearchIndex, new CatalogVersions(mock(CatalogVersionRepository.class),
+                        mock(CatalogChangeRepository.class), mock(PlatformTransactionManager.class)),
+                objectMapper, 3);
+    }
+
+    @Test
+    void importsCsvAndReportsEveryRow() throws Exception {
+        String csv = """
+                title,venueId,startTime,endTime,price,description
+                Morning talk,1,2025-09-01T09:00:00,2025-09-01T10:00:00,10,"Coffee, then talk"
+                Clashes with talk,1,2025-09-01T09:30:00,2025-09-01T11:00:00,,
+                Nowhere,42,2025-09-01T09:00:00,2025-09-01T10:00:00,,
+                Bad date,1,tomorrow,2025-09-01T10:00:00,,
+                Evening gig,1,2025-09-01T19:00:00,2025-09-01T21:00:00,,
+                Other hall,2,2025-09-01T09:30:00,2025-09-01T11:00:00,,
+                Afternoon,1,2025-09-01T12:00:00,2025-09-01T13:00:00,,
+                """;
+
+        List<JsonNode> report = run(csv, EventImportService.Format.CSV);
+
+        assertEquals("CREATED", status(report, 1));
+        assertEquals("REJECTED", status(report, 2));
+        assertEquals("REJECTED", status(report, 3));
+        assertEquals("REJECTED", status(report, 4));
+        assertEquals("REJECTED", status(report, 5));
+        assertEquals("CREATED", status(report, 6));
+        assertEquals("CREATED", status(report, 7));
+
+        JsonNode summary = report.get(report.size() - 1);
+        assertEquals(3, summary.get("created").asInt());
+        assertEquals(4, summary.get("rejected").asInt());
+
+        // Rows 1 and 7 landed in different batches but were both checked against the schedule
+        assertTrue(venueScheduleIndex.hasConflict(1L, LocalDateTime.parse("2025-09-01T12:30:00"),
+                LocalDateTime.parse("2025-09-01T12:45:00"), null));
+        // Unparseable rows never join a batch: rows 1-3 form the first, rows 5-7 the second
+        assertEquals(List.of(1, 2), batchSizes);
+        assertEquals(3, eventSearchIndex.search("hall", null, 0, 10).total());
+    }
+
+    @Test
+    void importsNdjsonInBatches() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            ndjson.append("{\"title\":\"Event ").append(i).append("\",\"venueId\":2,")
+                    .append("\"startTime\":\"2025-09-0").append(i + 1).append("T10:00:00\",")
+                    .append("\"endTime\":\"2025-09-0").append(i + 1).append("T12:00:00\"}\n");
+        }
+        ndjson.append("{not json}\n");
+
+        List<JsonNode> report = run(ndjson.toString(), EventImportService.Format.NDJSON);
+
+        assertEquals(9, report.size());
+        assertEquals(List.of(3, 3, 1), batchSizes);
+        assertEquals("REJECTED", status(report, 8));
+        assertEquals(7, report.get(8).get("created").asInt());
+    }
+
+    @Test
+    void splitsQuotedCsvFields() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), EventRowParser.splitCsv("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private List<JsonNode> run(String body, EventImportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.importEvents(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, out);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static String status(List<JsonNode> report, int row) {
+        return report.stream()
+                .filter(n -> n.has("row") && n.get("row").asInt() == row)
+                .findFirst().orElseThrow()
+                .get("status").asText();
+    }
+}
@@ -0,0 +1,62 @@
+package com.eventHubBackend.Spring.Backend.EventHub.geo;
+
+import com.eventHubBackend.Spring.Backend.EventHub.repository.VenueRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius query latency with venues concentrated in a handful of metro areas, as real venues are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VenueGeoIndexBenchmark {
+
+    private static final double[][] CITIES = {
+            {52.52, 13.40}, {48.86, 2.35}, {51.51, -0.13}, {40.71, -74.01}, {19.08, 72.88}, {35.68, 139.69}
+    };
+
+    @Param("50000")
+    public int venues;
+
+    private VenueGeoIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new VenueGeoIndex(Mockito.mock(VenueRepository.class));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int id = 1; id <= venues; id++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            // Roughly a 60 km wide metro area
+            index.put(id, city[0] + random.nextGaussian() * 0.15, city[1] + random.nextGaussian() * 0.2);
+        }
+    }
+
+    @Benchmark
+    public Object cityCentre2km() {
+        return index.within(52.52, 13.40, 2);
+    }
+
+    @Benchmark
+    public Object cityCentre10km() {
+        return index.within(52.52, 13.40, 10);
+    }
+
+    @Benchmark
+    public Object countryside50km() {
+        return index.within(50.0, 10.0, 50);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VenueGeoIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventHubBackend.Spring.Backend.EventHub.geo;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogChangedEvent;
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.VenueRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VenueGeoIndexTest {
+
+    private final VenueRepository venueRepository = mock(VenueRepository.class);
+    private final VenueGeoIndex index = new VenueGeoIndex(venueRepository);
+
+    private static VenueRepository.VenueLocation location(long id, Double latitude, Double longitude) {
+        VenueRepository.VenueLocation location = mock(VenueRepository.VenueLocation.class);
+        when(location.getId()).thenReturn(id);
+        when(location.getLatitude()).thenReturn(latitude);
+        when(location.getLongitude()).thenReturn(longitude);
+        return location;
+    }
+
+    @Test
+    void measuresGreatCircleDistance() {
+        // Berlin to Paris is about 878 km
+        assertEquals(878, VenueGeoIndex.distanceKm(52.5200, 13.4050, 48.8566, 2.3522), 2);
+        assertEquals(0, VenueGeoIndex.distanceKm(10, 20, 10, 20), 1e-9);
+    }
+
+    @Test
+    void findsTheSameVenuesAsAFullScanClosestFirst() {
+        SplittableRandom random = new SplittableRandom(7);
+        double[][] venues = new double[5000][];
+        for (int id = 0; id < venues.length; id++) {
+            // Clustered around a city, plus some spread over the globe
+            venues[id] = id % 5 == 0
+                    ? new double[]{random.nextDouble(-89.9, 89.9), random.nextDouble(-180, 180)}
+                    : new double[]{52.5 + random.nextDouble(-1, 1), 13.4 + random.nextDouble(-1, 1)};
+            index.put(id, venues[id][0], venues[id][1]);
+        }
+
+        double[][] queries = {{52.5, 13.4, 3}, {52.5, 13.4, 40}, {0, 179.95, 150}, {89.5, 0, 100}, {-60, -100, 200}};
+        for (double[] query : queries) {
+            List<Long> expected = new ArrayList<>();
+            for (int id = 0; id < venues.length; id++) {
+                if (VenueGeoIndex.distanceKm(query[0], query[1], venues[id][0], venues[id][1]) <= query[2]) {
+                    expected.add((long) id);
+                }
+            }
+
+            List<VenueGeoIndex.Nearby> found = index.within(query[0], query[1], query[2]);
+            assertEquals(expected.size(), found.size(), "radius " + query[2] + " around " + query[0] + "," + query[1]);
+            assertTrue(found.stream().map(VenueGeoIndex.Nearby::venueId).toList().containsAll(expected));
+            for (int i = 1; i < found.size(); i++) {
+                assertTrue(found.get(i - 1).distanceKm() <= found.get(i).distanceKm());
+            }
+        }
+    }
+
+    @Test
+    void matchesAcrossTheAntimeridian() {
+        index.put(1, 0.0, 179.99);
+        index.put(2, 0.0, -179.99);
+
+        assertEquals(List.of(1L, 2L), index.within(0, 179.995, 5).stream().map(VenueGeoIndex.Nearby::venueId).toList());
+    }
+
+    @Test
+    void movesAndRemovesVenues() {
+        index.put(1, 48.8566, 2.3522);
+        assertEquals(1, index.within(48.85, 2.35, 5).size());
+
+        index.put(1, 52.52, 13.405);
+        assertTrue(index.within(48.85, 2.35, 5).isEmpty());
+        assertEquals(1, index.within(52.52, 13.40, 5).size());
+
+        index.put(1, null, null);
+        assertTrue(index.within(52.52, 13.40, 5).isEmpty());
+        assertEquals(0, index.size());
+
+        index.put(2, 52.52, 13.405);
+        index.remove(2);
+        assertTrue(index.within(52.52, 13.40, 5).isEmpty());
+    }
+
+    @Test
+    void reloadsVenuesAnotherNodeChanged() {
+        index.put(1, 48.8566, 2.3522);
+        index.put(2, 48.8566, 2.3522);
+        index.put(3, 48.8566, 2.3522);
+
+        // Venue 1 moved, venue 2 lost its coordinates and venue 3 was deleted on the other node
+        List<VenueRepository.VenueLocation> changed = List.of(location(1, 52.52, 13.405), location(2, null, null));
+        when(venueRepository.findLocationsByIdIn(anyCollection())).thenReturn(changed);
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogVersions.Catalog.VENUES, Set.of(1L, 2L, 3L)));
+
+        assertTrue(index.within(48.85, 2.35, 5).isEmpty());
+        assertEquals(List.of(1L), index.within(52.52, 13.40, 5).stream().map(VenueGeoIndex.Nearby::venueId).toList());
+        assertEquals(1, index.size());
+    }
+}
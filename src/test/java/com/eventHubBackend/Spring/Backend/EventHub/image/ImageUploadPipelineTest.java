@@ -0,0 +1,133 @@
+package com.eventHubBackend.Spring.Backend.EventHub.image;
+
+import com.eventHubBackend.Spring.Backend.EventHub.exception.ImageUploadRejectedException;
+import com.eventHubBackend.Spring.Backend.EventHub.exception.InvalidImageException;
+import com.eventHubBackend.Spring.Backend.EventHub.service.ImageUploadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageUploadPipelineTest {
+
+    @TempDir
+    Path storageDir;
+
+    private ImageUploadService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @Test
+    void rendersEveryAvatarSizeIntoStorage() throws Exception {
+        service = service(2, 8);
+        CompletableFuture<Map<Integer, String>> completed = new CompletableFuture<>();
+
+        UploadJob job = service.submit(png(1200, 800), 7, completed::complete);
+        Map<Integer, String> urls = completed.get(10, TimeUnit.SECONDS);
+
+        assertEquals(UploadJob.Status.DONE, awaitFinished(job).getStatus());
+        assertEquals(urls, job.getUrls());
+        for (int size : new int[]{256, 64}) {
+            BufferedImage avatar = ImageIO.read(Path.of(URI.create(urls.get(size))).toFile());
+            assertEquals(size, avatar.getWidth());
+            assertEquals(size, avatar.getHeight());
+        }
+    }
+
+    @Test
+    void failsJobForNonImageContent() throws Exception {
+        service = service(1, 8);
+
+        UploadJob job = service.submit(new MockMultipartFile("file", "evil.png", "image/png",
+                "definitely not a png".getBytes()), 7, urls -> fail("must not complete"));
+
+        assertEquals(UploadJob.Status.FAILED, awaitFinished(job).getStatus());
+        assertNotNull(job.getError());
+    }
+
+    @Test
+    void rejectsImagesAboveThePixelLimitBeforeDecoding() throws Exception {
+        service = new ImageUploadService(new LocalFileImageStorage(storageDir, ""), 1, 8,
+                new int[]{64}, 100_000, Duration.ofHours(1));
+
+        UploadJob job = service.submit(png(1000, 1000), 7, null);
+
+        assertEquals(UploadJob.Status.FAILED, awaitFinished(job).getStatus());
+        assertTrue(job.getError().contains("1000x1000"));
+    }
+
+    @Test
+    void rejectsEmptyUploadsOnTheRequestThread() {
+        service = service(1, 8);
+
+        assertThrows(InvalidImageException.class, () -> service.submit(
+                new MockMultipartFile("file", new byte[0]), 7, null));
+    }
+
+    @Test
+    void refusesUploadsWhenWorkersAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ImageStorage blocking = (key, file, contentType) -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return key;
+        };
+        service = new ImageUploadService(blocking, 1, 1, new int[]{64}, 40_000_000, Duration.ofHours(1));
+
+        MockMultipartFile image = png(100, 100);
+        service.submit(image, 7, null);
+        // The first job may still be waiting in the queue, so allow one more before expecting a refusal
+        assertThrows(ImageUploadRejectedException.class, () -> {
+            service.submit(image, 7, null);
+            service.submit(image, 7, null);
+        });
+        release.countDown();
+    }
+
+    private ImageUploadService service(int threads, int queueCapacity) {
+        return new ImageUploadService(new LocalFileImageStorage(storageDir, ""), threads, queueCapacity,
+                new int[]{64, 256}, 40_000_000, Duration.ofHours(1));
+    }
+
+    private static UploadJob awaitFinished(UploadJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return job;
+    }
+
+    private static MockMultipartFile png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("file", "avatar.png", "image/png", out.toByteArray());
+    }
+}
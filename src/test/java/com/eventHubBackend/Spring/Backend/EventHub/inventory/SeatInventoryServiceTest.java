@@ -0,0 +1,57 @@
+package com.eventHubBackend.Spring.Backend.EventHub.inventory;
+
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Seats 3 and 5 were sold when this node loaded the event.
+ */
+class SeatInventoryServiceTest {
+
+    private static final long EVENT_ID = 1L;
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final SeatInventoryService seatInventoryService = new SeatInventoryService(eventRepository, ticketRepository, 10);
+
+    @BeforeEach
+    void stubRepositories() {
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(eventRepository.findCapacityById(EVENT_ID)).thenReturn(Optional.of(10));
+        when(ticketRepository.findSeatNumbersByEventId(EVENT_ID)).thenReturn(List.of("3", "5"));
+    }
+
+    @Test
+    void freeSeatsAreClaimedWithoutTheDatabase() {
+        assertArrayEquals(new int[]{1, 2}, seatInventoryService.reserve(EVENT_ID, new int[]{1, 2}));
+
+        assertEquals(6, seatInventoryService.available(EVENT_ID));
+        verify(ticketRepository, never()).findTakenSeatNumbers(any(), any());
+    }
+
+    @Test
+    void seatReleasedOnAnotherNodeIsConfirmedAgainstTheTickets() {
+        when(ticketRepository.findTakenSeatNumbers(EVENT_ID, List.of("3", "4"))).thenReturn(List.of());
+
+        // Seat 3 is already taken here, so only seat 4 is this call's to hand back
+        assertArrayEquals(new int[]{4}, seatInventoryService.reserve(EVENT_ID, new int[]{3, 4}));
+        assertEquals(7, seatInventoryService.available(EVENT_ID));
+    }
+
+    @Test
+    void soldSeatIsRejectedWithoutHoldingTheOthers() {
+        when(ticketRepository.findTakenSeatNumbers(EVENT_ID, List.of("4", "5"))).thenReturn(List.of("5"));
+
+        assertNull(seatInventoryService.reserve(EVENT_ID, new int[]{4, 5}));
+        assertEquals(8, seatInventoryService.available(EVENT_ID));
+    }
+}
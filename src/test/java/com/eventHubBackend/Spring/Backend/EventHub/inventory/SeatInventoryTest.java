@@ -0,0 +1,79 @@
+package com.eventHubBackend.Spring.Backend.EventHub.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatInventoryTest {
+
+    @Test
+    void seatCanOnlyBeReservedOnceUntilReleased() {
+        SeatInventory inventory = new SeatInventory(100);
+
+        assertTrue(inventory.tryReserve(64));
+        assertFalse(inventory.tryReserve(64));
+        assertEquals(99, inventory.available());
+
+        inventory.release(64);
+        assertTrue(inventory.tryReserve(64));
+    }
+
+    @Test
+    void reserveAllRollsBackWhenAnySeatIsTaken() {
+        SeatInventory inventory = new SeatInventory(10);
+        inventory.tryReserve(3);
+
+        assertFalse(inventory.tryReserveAll(new int[]{1, 2, 3}));
+        assertFalse(inventory.isReserved(1));
+        assertFalse(inventory.isReserved(2));
+        assertEquals(9, inventory.available());
+    }
+
+    @Test
+    void rejectsSeatsOutsideCapacity() {
+        SeatInventory inventory = new SeatInventory(10);
+
+        assertThrows(IllegalArgumentException.class, () -> inventory.tryReserve(0));
+        assertThrows(IllegalArgumentException.class, () -> inventory.tryReserve(11));
+    }
+
+    @Test
+    void contestedSeatsHaveExactlyOneWinner() throws InterruptedException {
+        int seats = 256;
+        int buyers = 16;
+        SeatInventory inventory = new SeatInventory(seats);
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+
+        for (int b = 0; b < buyers; b++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                // Every buyer tries pairs of adjacent seats that share a word with other buyers' pairs
+                for (int seat = 1; seat < seats; seat += 2) {
+                    if (inventory.tryReserveAll(new int[]{seat, seat + 1})) {
+                        wins.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(seats / 2, wins.get());
+        assertEquals(0, inventory.available());
+    }
+}
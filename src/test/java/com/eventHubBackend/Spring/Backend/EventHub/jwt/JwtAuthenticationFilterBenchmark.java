@@ -0,0 +1,112 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.User;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.Role;
+import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.UserRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * What the authentication filter adds to each request: the public-endpoint match on its own,
+ * and a protected request whose token arrives in the Authorization header or among the
+ * browser's cookies (extraction, cached claims, token version check).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain PASS = (request, response) -> {};
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest publicRequest;
+    private MockHttpServletRequest headerRequest;
+    private MockHttpServletRequest cookieRequest;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(JwtKeyRing.inMemory(Duration.ofHours(1)), 50_000);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", Duration.ofHours(1));
+        String token = jwtService.generateToken(new UserPrinciple(User.builder()
+                .id(42)
+                .username("benchmark-user")
+                .role(Role.USER)
+                .build()));
+
+        UserRepo userRepo = mock(UserRepo.class);
+        when(userRepo.findTokenVersionById(any())).thenReturn(Optional.of(0));
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(filter, "tokenVersionCache", new TokenVersionCache(userRepo, Duration.ofHours(1), 1000));
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.registerTimers();
+
+        MockServletContext servletContext = new MockServletContext();
+        publicRequest = new MockHttpServletRequest(servletContext, "POST", "/api/users/signin");
+
+        headerRequest = new MockHttpServletRequest(servletContext, "GET", "/api/users/liked");
+        headerRequest.addHeader("Authorization", "Bearer " + token);
+
+        cookieRequest = new MockHttpServletRequest(servletContext, "GET", "/api/users/liked");
+        cookieRequest.setCookies(new Cookie("_ga", "GA1.1.123456789.1700000000"),
+                new Cookie("theme", "dark"),
+                new Cookie("authToken", token));
+    }
+
+    @Benchmark
+    public Object publicEndpoint() throws Exception {
+        filter.doFilter(publicRequest, response, PASS);
+        return authenticated();
+    }
+
+    @Benchmark
+    public Object bearerHeader() throws Exception {
+        filter.doFilter(headerRequest, response, PASS);
+        return authenticated();
+    }
+
+    @Benchmark
+    public Object authCookie() throws Exception {
+        filter.doFilter(cookieRequest, response, PASS);
+        return authenticated();
+    }
+
+    /**
+     * The filter only authenticates when the context is empty, as it is at the start of a request.
+     */
+    private static Object authenticated() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
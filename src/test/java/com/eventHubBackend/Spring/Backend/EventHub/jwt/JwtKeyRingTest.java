@@ -0,0 +1,104 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final Duration ROTATION = Duration.ofDays(7);
+    private static final Duration RETENTION = Duration.ofDays(1);
+    private static final Duration PROPAGATION = Duration.ofMinutes(2);
+
+    @TempDir
+    Path dir;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void nodesSharingAKeyFileVerifyEachOthersKeys() {
+        Path file = dir.resolve("jwt-keys.json");
+        JwtKeyRing nodeA = ring(file);
+        JwtKeyRing nodeB = ring(file);
+
+        JwtKeyRing.SigningKey signing = nodeA.signingKey();
+        assertEquals(signing.kid(), nodeB.signingKey().kid());
+        assertEquals(signing.key(), nodeB.verificationKey(signing.kid()));
+    }
+
+    @Test
+    void rotatedKeyActivatesAfterPropagationAndOldKeyRetiresAfterRetention() {
+        Path file = dir.resolve("jwt-keys.json");
+        JwtKeyRing nodeA = ring(file);
+        JwtKeyRing nodeB = ring(file);
+        String first = nodeA.signingKey().kid();
+
+        clock.advance(ROTATION);
+        nodeA.refresh();
+        nodeB.refresh();
+
+        // The new key is known everywhere but not used for signing yet
+        assertEquals(first, nodeA.signingKey().kid());
+        assertEquals(first, nodeB.signingKey().kid());
+
+        clock.advance(PROPAGATION);
+        nodeA.refresh();
+        nodeB.refresh();
+        String second = nodeA.signingKey().kid();
+        assertNotEquals(first, second);
+        assertEquals(second, nodeB.signingKey().kid());
+        assertNotNull(nodeB.verificationKey(first));
+
+        clock.advance(RETENTION);
+        nodeB.refresh();
+        assertNull(nodeB.verificationKey(first));
+        assertNotNull(nodeB.verificationKey(second));
+    }
+
+    @Test
+    void unknownKidIsRejected() {
+        JwtKeyRing ring = JwtKeyRing.inMemory(RETENTION);
+
+        assertNull(ring.verificationKey("not-a-key"));
+        assertNull(ring.verificationKey(null));
+    }
+
+    private JwtKeyRing ring(Path file) {
+        return new JwtKeyRing(new FileSigningKeySource(file), ROTATION, RETENTION, PROPAGATION, true, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.User;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.Role;
+import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating one token: the former path (three full parses, each
+ * rebuilding the parser and re-decoding the key) against the prebuilt parser, with and
+ * without the verified-claims cache. Also signing a token at sign-in and validateToken.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String encodedKey;
+    private String token;
+    private JwtParser prebuiltParser;
+    private UserPrinciple principle;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(JwtKeyRing.inMemory(Duration.ofHours(1)), 50_000);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", Duration.ofHours(1));
+        encodedKey = Encoders.BASE64.encode(jwtService.getKey().getEncoded());
+        prebuiltParser = Jwts.parserBuilder().setSigningKey(jwtService.getKey()).build();
+
+        principle = new UserPrinciple(User.builder()
+                .id(42)
+                .username("benchmark-user")
+                .role(Role.USER)
+                .build());
+        token = jwtService.generateToken(principle);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(principle);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token, principle);
+    }
+
+    @Benchmark
+    public Object previousPerRequestPath() {
+        // extractUsername, validateToken -> extractUsername, isTokenExpired -> extractExpiration
+        String username = parseWithFreshParser(token).getSubject();
+        String again = parseWithFreshParser(token).getSubject();
+        Date expiration = parseWithFreshParser(token).getExpiration();
+        return username.equals(again) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public Claims prebuiltParserNoCache() {
+        return prebuiltParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Object parseOnceCached() {
+        return jwtService.toPrinciple(jwtService.parseClaims(token));
+    }
+
+    private Claims parseWithFreshParser(String jwt) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(encodedKey));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,171 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.User;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.Role;
+import com.eventHubBackend.Spring.Backend.EventHub.principles.UserPrinciple;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.UserRepo;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.UserRequest;
+import com.eventHubBackend.Spring.Backend.EventHub.service.UserService;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * A token is only as good as the token version it carries. The users table is a mock holding
+ * the committed version; transactions are real, so commit and rollback behave as in production.
+ */
+class TokenRevocationTest {
+
+    private static final Integer USER_ID = 42;
+
+    private final UserRepo userRepo = mock(UserRepo.class);
+    private final AtomicInteger committedVersion = new AtomicInteger();
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(
+            new DriverManagerDataSource("jdbc:h2:mem:token-revocation;DB_CLOSE_DELAY=-1")));
+
+    private JwtService jwtService;
+    private TokenVersionCache tokenVersionCache;
+    private JwtAuthenticationFilter filter;
+    private UserService userService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(JwtKeyRing.inMemory(Duration.ofHours(1)), 1000);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", Duration.ofHours(1));
+        when(userRepo.findTokenVersionById(USER_ID)).thenAnswer(invocation -> Optional.of(committedVersion.get()));
+
+        tokenVersionCache = new TokenVersionCache(userRepo, Duration.ofHours(1), 1000);
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(filter, "tokenVersionCache", tokenVersionCache);
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.registerTimers();
+
+        user = User.builder().id(USER_ID).username("alice").email("alice@example.com").role(Role.ORGANIZER).build();
+        when(userRepo.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userRepo.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        userService = new UserService();
+        ReflectionTestUtils.setField(userService, "repo", userRepo);
+        ReflectionTestUtils.setField(userService, "tokenVersionCache", tokenVersionCache);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String tokenFor(User user) {
+        return jwtService.generateToken(new UserPrinciple(user));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/liked");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private void renameUser(String username) {
+        UserRequest request = new UserRequest();
+        request.setUsername(username);
+        userService.updateUser(USER_ID, request, new UserPrinciple(user));
+    }
+
+    @Test
+    void principleIsBuiltFromTheClaimsAlone() throws Exception {
+        Authentication authentication = authenticate(tokenFor(user));
+
+        UserPrinciple principle = (UserPrinciple) authentication.getPrincipal();
+        assertEquals(USER_ID, principle.getId());
+        assertEquals("alice", principle.getUsername());
+        assertEquals(Role.ORGANIZER, principle.getRole());
+        assertEquals(0, principle.getTokenVersion());
+        assertEquals(Role.ORGANIZER.name(), authentication.getAuthorities().iterator().next().getAuthority());
+        verify(userRepo, never()).findById(any());
+    }
+
+    @Test
+    void tokenWithoutIdentityClaimsIsRefused() {
+        JwtKeyRing.SigningKey key = ((JwtKeyRing) ReflectionTestUtils.getField(jwtService, "keyRing")).signingKey();
+        String legacy = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                .setSubject("alice")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key.key(), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThrows(BadCredentialsException.class, () -> authenticate(legacy));
+    }
+
+    @Test
+    void tokenIssuedBeforeAUsernameChangeIsRefused() throws Exception {
+        String before = tokenFor(user);
+        assertNotNull(authenticate(before));
+
+        transactionTemplate.executeWithoutResult(status -> renameUser("alice2"));
+        committedVersion.set(user.getTokenVersion());
+
+        assertThrows(BadCredentialsException.class, () -> authenticate(before));
+        assertNotNull(authenticate(tokenFor(user)));
+    }
+
+    @Test
+    void rolledBackUpdateDoesNotRevoke() throws Exception {
+        String before = tokenFor(user);
+        assertNotNull(authenticate(before));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            renameUser("alice2");
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(authenticate(before));
+    }
+
+    @Test
+    void updatesOnOtherNodesAreSeenOnceTheCachedVersionExpires() throws InterruptedException {
+        TokenVersionCache shortLived = new TokenVersionCache(userRepo, Duration.ofMillis(50), 1000);
+        assertTrue(shortLived.isCurrent(USER_ID, 0));
+
+        // A role change committed through another node
+        committedVersion.set(1);
+        assertTrue(shortLived.isCurrent(USER_ID, 0));
+
+        Thread.sleep(100);
+        assertFalse(shortLived.isCurrent(USER_ID, 0));
+        assertTrue(shortLived.isCurrent(USER_ID, 1));
+        verify(userRepo, times(2)).findTokenVersionById(USER_ID);
+    }
+
+    @Test
+    void unknownUserIsNotCurrent() {
+        when(userRepo.findTokenVersionById(7)).thenReturn(Optional.empty());
+
+        assertFalse(tokenVersionCache.isCurrent(7, 0));
+    }
+}
@@ -0,0 +1,46 @@
+package com.eventHubBackend.Spring.Backend.EventHub.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedClaimsCacheTest {
+
+    private static Claims expiringAt(long millis) {
+        return Jwts.claims().setSubject("user").setExpiration(new Date(millis));
+    }
+
+    @Test
+    void fullCacheStopsCachingUntilTheSweep() {
+        long now = System.currentTimeMillis();
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2);
+        cache.put("expired", expiringAt(now - 1_000));
+        cache.put("live", expiringAt(now + 60_000));
+
+        // Full: the miss neither caches nor evicts anything on the caller's thread
+        cache.put("new", expiringAt(now + 60_000));
+        assertEquals(2, cache.size());
+        assertNull(cache.get("new", now));
+
+        cache.evictExpired(now);
+        cache.put("new", expiringAt(now + 60_000));
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("new", now));
+        assertNotNull(cache.get("live", now));
+    }
+
+    @Test
+    void expiredEntryIsNotReturned() {
+        long now = System.currentTimeMillis();
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        cache.put("token", expiringAt(now + 1_000));
+
+        assertNotNull(cache.get("token", now));
+        assertNull(cache.get("token", now + 1_000));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,178 @@
+package com.eventHubBackend.Spring.Backend.EventHub.likes;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogChangeRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class EventLikeCounterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final Map<Long, Long> stored = new ConcurrentHashMap<>();
+
+    private EventLikeCounter counter(int batchSize) {
+        recordBatches();
+        return new EventLikeCounter(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new CatalogVersions(mock(CatalogVersionRepository.class), mock(CatalogChangeRepository.class),
+                mock(PlatformTransactionManager.class)), batchSize, false);
+    }
+
+    /**
+     * Applies each flushed "like_count + ?" to the stored counts, as the database would.
+     */
+    private void recordBatches() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            for (Object[] args : batch) {
+                stored.merge((Long) args[1], (Long) args[0], Long::sum);
+            }
+            return new int[batch.size()];
+        });
+    }
+
+    @Test
+    void flushesEveryDeltaExactlyOnceWhileLikesKeepArriving() throws Exception {
+        EventLikeCounter counter = counter(3);
+        int threads = 8;
+        int likesPerThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < likesPerThread; i++) {
+                    // Event 1 is the hot one; a like and an unlike on event 2 cancel out
+                    counter.add(1L, 1);
+                    counter.add(2L + i % 5, i % 2 == 0 ? 1 : -1);
+                }
+                done.countDown();
+            });
+        }
+        Thread flusher = new Thread(() -> {
+            while (running.get()) counter.flush();
+        });
+        flusher.start();
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        running.set(false);
+        flusher.join();
+        pool.shutdown();
+        counter.flush();
+
+        assertEquals((long) threads * likesPerThread, stored.get(1L));
+        assertEquals(0, counter.pending(1L));
+        long others = stored.entrySet().stream().filter(e -> e.getKey() != 1L).mapToLong(Map.Entry::getValue).sum();
+        assertEquals(0, others);
+    }
+
+    @Test
+    void keepsDeltasPendingWhenAFlushFails() {
+        EventLikeCounter counter = counter(500);
+        counter.add(7L, 3);
+        counter.add(8L, -1);
+
+        doThrow(new QueryTimeoutException("lock wait timeout")).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        counter.flush();
+        assertEquals(3, counter.pending(7L));
+        assertEquals(-1, counter.pending(8L));
+
+        reset(jdbcTemplate);
+        recordBatches();
+        counter.flush();
+        assertEquals(Map.of(7L, 3L, 8L, -1L), stored);
+        assertEquals(0, counter.pending(7L));
+    }
+
+    @Test
+    void aFlushWithNothingPendingIssuesNoStatement() {
+        EventLikeCounter counter = counter(500);
+        counter.add(1L, 1);
+        counter.add(1L, -1);
+
+        counter.flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void followUpRunsWithTheCountOnlyOnceTheLikeCommits() {
+        EventLikeCounter counter = counter(10);
+        AtomicInteger recorded = new AtomicInteger();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.addAfterCommit(1L, 1, recorded::incrementAndGet);
+            assertEquals(0, counter.pending(1L));
+            assertEquals(0, recorded.get());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, counter.pending(1L));
+        assertEquals(1, recorded.get());
+
+        // Rolled back: neither runs
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.addAfterCommit(1L, 1, recorded::incrementAndGet);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, counter.pending(1L));
+        assertEquals(1, recorded.get());
+    }
+
+    @Test
+    void flushesMoveTheEventsVersionAtMostOncePerTagInterval() {
+        recordBatches();
+        CatalogVersions catalogVersions = mock(CatalogVersions.class);
+        EventLikeCounter counter = new EventLikeCounter(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), catalogVersions, 500, false);
+        ReflectionTestUtils.setField(counter, "tagInterval", Duration.ofHours(1));
+
+        for (int i = 0; i < 3; i++) {
+            counter.add(1L, 1);
+            counter.flush();
+        }
+        assertEquals(Map.of(1L, 3L), stored);
+        verify(catalogVersions, never()).bump(any());
+
+        // Once the interval is up, the next flush tags what was written, even with nothing new
+        ReflectionTestUtils.setField(counter, "tagInterval", Duration.ZERO);
+        counter.flush();
+        counter.flush();
+        verify(catalogVersions, times(1)).bump(CatalogVersions.Catalog.EVENTS);
+
+        // Shutdown does not leave written counts untagged
+        ReflectionTestUtils.setField(counter, "tagInterval", Duration.ofHours(1));
+        counter.add(1L, 1);
+        counter.shutdown();
+        verify(catalogVersions, times(2)).bump(CatalogVersions.Catalog.EVENTS);
+    }
+}
@@ -0,0 +1,163 @@
+package com.eventHubBackend.Spring.Backend.EventHub.loggers;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request logging cost of a page of twenty events: the old controller aspect, which
+ * formatted the arguments and the returned list on the request thread, against the access-log
+ * filter handing an entry to the ring buffer. Both write through a logback encoder to a
+ * discarding stream, so formatting and encoding are paid but not disk I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessLogBenchmark {
+
+    private static final Logger ASPECT_LOG = LoggerFactory.getLogger("benchmark.aspect");
+
+    private List<EventResponse> page;
+    private byte[] body;
+    private AccessLogAppender appender;
+    private AccessLogFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %-5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> discard = new OutputStreamAppender<>();
+        discard.setContext(context);
+        discard.setEncoder(encoder);
+        discard.setOutputStream(OutputStream.nullOutputStream());
+        discard.start();
+        root.addAppender(discard);
+
+        page = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            page.add(new EventResponse(id, "Event " + id, "A reasonably long description of event " + id,
+                    25.0, LocalDateTime.now(), LocalDateTime.now().plusHours(2), "1 Main St", EventCategories.MUSIC, 3));
+        }
+        body = page.toString().getBytes(StandardCharsets.UTF_8);
+
+        appender = new AccessLogAppender(8192);
+        appender.start();
+        filter = new AccessLogFilter(appender, 1.0, "", 2048);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        appender.stop();
+    }
+
+    // Creating a servlet context per request would cost more than everything measured here
+    private final MockServletContext servletContext = new MockServletContext();
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/api/events");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/events");
+        request.setParameter("page", "0");
+        return request;
+    }
+
+    /**
+     * The mock response's own stream copies byte by byte, which would swamp the logging cost.
+     */
+    static final class DiscardingResponse extends MockHttpServletResponse {
+        private final ServletOutputStream discard = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return discard;
+        }
+    }
+
+    private final HttpServlet handler = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+            res.getOutputStream().write(body);
+        }
+    };
+
+    @Benchmark
+    public MockHttpServletResponse unlogged() throws Exception {
+        MockHttpServletResponse response = new DiscardingResponse();
+        new MockFilterChain(handler).doFilter(request(), response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse aspect() throws Exception {
+        MockHttpServletResponse response = new DiscardingResponse();
+        Object[] args = {0, 20};
+        ASPECT_LOG.info("Incoming request -> {}.{} with args: {}", "EventController", "getAllEvents", args);
+        new MockFilterChain(handler).doFilter(request(), response);
+        ASPECT_LOG.info("Response from -> {}.{} : {}", "EventController", "getAllEvents", page);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse accessLogFilter() throws Exception {
+        MockHttpServletResponse response = new DiscardingResponse();
+        filter.doFilter(request(), response, new MockFilterChain(handler));
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AccessLogBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,196 @@
+package com.eventHubBackend.Spring.Backend.EventHub.loggers;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private final AccessLogAppender appender = new AccessLogAppender(1024);
+    private final ch.qos.logback.classic.Logger accessLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("eventhub.access");
+
+    @AfterEach
+    void resetLevel() {
+        accessLogger.setLevel(null);
+    }
+
+    private List<AccessLogEntry> drained() {
+        List<AccessLogEntry> entries = new ArrayList<>();
+        appender.drain(entries::add);
+        return entries;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String template) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, template);
+        return request;
+    }
+
+    private static MockFilterChain respondingWith(int status, String body) {
+        return new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req,
+                                   jakarta.servlet.http.HttpServletResponse res) throws java.io.IOException {
+                req.getInputStream().readAllBytes();
+                res.setStatus(status);
+                res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+
+    @Test
+    void recordsRouteTemplateStatusUserAndSizes() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(appender, 1.0, "", 2048);
+        MockHttpServletRequest request = request("PUT", "/api/events/42", "/api/events/{id}");
+        request.setContent("{\"title\":\"x\"}".getBytes(StandardCharsets.UTF_8));
+        request.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, 7);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, respondingWith(200, "{\"id\":42}"));
+
+        AccessLogEntry entry = drained().get(0);
+        assertEquals("PUT", entry.method());
+        assertEquals("/api/events/{id}", entry.route());
+        assertEquals(200, entry.status());
+        assertEquals(7, entry.userId());
+        assertEquals(13, entry.requestBytes());
+        assertEquals(9, entry.responseBytes());
+        assertNull(entry.requestPayload(), "payloads are only kept at DEBUG");
+        assertNull(entry.responsePayload());
+        assertEquals("{\"id\":42}", response.getContentAsString(), "the body still reaches the client");
+    }
+
+    @Test
+    void samplesPerRouteButAlwaysKeepsServerErrors() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(appender, 1.0, "GET /api/events/{id}=0, /api/venues=0", 2048);
+
+        for (int i = 0; i < 100; i++) {
+            filter.doFilter(request("GET", "/api/events/1", "/api/events/{id}"), new MockHttpServletResponse(), respondingWith(200, "{}"));
+            filter.doFilter(request("POST", "/api/venues", "/api/venues"), new MockHttpServletResponse(), respondingWith(201, "{}"));
+        }
+        filter.doFilter(request("GET", "/api/events/1", "/api/events/{id}"), new MockHttpServletResponse(), respondingWith(503, "{}"));
+        filter.doFilter(request("PUT", "/api/events/1", "/api/events/{id}"), new MockHttpServletResponse(), respondingWith(200, "{}"));
+
+        List<AccessLogEntry> entries = drained();
+        assertEquals(2, entries.size());
+        assertEquals(503, entries.get(0).status());
+        assertEquals("PUT", entries.get(1).method());
+    }
+
+    @Test
+    void recordsAnEscapingExceptionAsServerError() {
+        AccessLogFilter filter = new AccessLogFilter(appender, 0.0, "", 2048);
+        MockFilterChain failing = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req, jakarta.servlet.http.HttpServletResponse res)
+                    throws ServletException {
+                throw new ServletException("boom");
+            }
+        });
+
+        assertThrows(ServletException.class,
+                () -> filter.doFilter(request("GET", "/api/events", "/api/events"), new MockHttpServletResponse(), failing));
+        assertEquals(500, drained().get(0).status());
+    }
+
+    @Test
+    void capturesCappedRedactedPayloadsOnlyAtDebug() throws Exception {
+        accessLogger.setLevel(Level.DEBUG);
+        AccessLogFilter filter = new AccessLogFilter(appender, 1.0, "", 16);
+        MockHttpServletRequest request = request("POST", "/api/users/me/password", "/api/users/me/password");
+        request.setContent("{\"password\":\"hunter2\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest signin = request("POST", "/api/users/signin", "/api/users/signin");
+        signin.setContent("{\"email\":\"a@b.c\",\"password\":\"hunter2\"}".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request, new MockHttpServletResponse(), respondingWith(200, "0123456789abcdefghij"));
+        filter.doFilter(signin, new MockHttpServletResponse(), respondingWith(200, "{}"));
+
+        List<AccessLogEntry> entries = drained();
+        AccessLogEntry entry = entries.get(0);
+        assertEquals(16, entry.requestPayload().length);
+        assertEquals("0123456789abcdef", new String(entry.responsePayload(), StandardCharsets.UTF_8));
+        assertEquals(20, entry.responseBytes(), "the count covers the whole body, not just the capture");
+
+        String line = AccessLogAppender.render(entry);
+        assertTrue(line.contains("resp_body=0123456789abcdef...(truncated)"), line);
+        assertNull(entries.get(1).requestPayload(), "credentials are never captured");
+        assertTrue(AccessLogAppender.render(new AccessLogEntry(0, "POST", "/x", 200, 1, null, 22, 0,
+                "{\"password\":\"hunter2\"}".getBytes(StandardCharsets.UTF_8), null)).contains("{\"password\":\"***\"}"));
+    }
+
+    @Test
+    void appenderThreadWritesEverythingOfferedBeforeStop() throws Exception {
+        ListAppender<ILoggingEvent> written = new ListAppender<>();
+        written.start();
+        accessLogger.setLevel(Level.INFO);
+        accessLogger.addAppender(written);
+        try {
+            appender.start();
+            for (int i = 0; i < 500; i++) {
+                appender.append(new AccessLogEntry(i, "GET", "/api/events", 200, 1, null, 0, 0, null, null));
+            }
+            appender.stop();
+        } finally {
+            accessLogger.detachAppender(written);
+        }
+
+        assertEquals(500, written.list.size());
+        assertTrue(drained().isEmpty());
+    }
+
+    @Test
+    void ringBufferLosesNothingAcrossProducersAndDropsWhenFull() throws Exception {
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            pool.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) Thread.yield();
+                }
+                done.countDown();
+            });
+        }
+
+        boolean[] seen = new boolean[producers * perProducer];
+        long[] lastPerProducer = new long[producers];
+        java.util.Arrays.fill(lastPerProducer, -1);
+        int received = 0;
+        while (received < seen.length) {
+            received += buffer.drain(value -> {
+                int producer = (int) (value / perProducer);
+                assertFalse(seen[value.intValue()], "delivered twice: " + value);
+                assertTrue(value > lastPerProducer[producer], "out of order for its producer: " + value);
+                seen[value.intValue()] = true;
+                lastPerProducer[producer] = value;
+            }, 32);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        for (long i = 0; i < 1024; i++) assertTrue(buffer.offer(i));
+        assertFalse(buffer.offer(1024L), "a full ring refuses instead of overwriting");
+    }
+}
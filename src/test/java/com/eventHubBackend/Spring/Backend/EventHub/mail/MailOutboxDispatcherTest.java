@@ -0,0 +1,203 @@
+package com.eventHubBackend.Spring.Backend.EventHub.mail;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.OutboxMail;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.MailStatus;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.OutboxMailRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final OutboxMailRepository repository = mock(OutboxMailRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    private final List<OutboxMail> outbox = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        when(repository.claimDue(any(), any(), any())).thenAnswer(invocation -> outbox.stream()
+                .filter(m -> invocation.<Collection<MailStatus>>getArgument(0).contains(m.getStatus()))
+                .filter(m -> !m.getNextAttemptAt().isAfter(invocation.getArgument(1)))
+                .limit(invocation.<Pageable>getArgument(2).getPageSize())
+                .toList());
+        when(repository.lockAllById(any())).thenAnswer(invocation -> outbox.stream()
+                .filter(m -> invocation.<Collection<Long>>getArgument(0).contains(m.getId()))
+                .toList());
+    }
+
+    @Test
+    void sendsDueMailsInBatchesAndMarksThemSent() {
+        for (int i = 0; i < 5; i++) {
+            outbox.add(mail("user" + i + "@example.com"));
+        }
+
+        dispatcher(sender(greenMail.getSmtp().getPort()), 2).dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(5, received.length);
+        assertTrue(outbox.stream().allMatch(m -> m.getStatus() == MailStatus.SENT && m.getSentAt() != null));
+        assertEquals(3, meterRegistry.get("eventhub.mail.send").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void reschedulesWithBackoffWhenServerIsUnreachable() {
+        OutboxMail mail = mail("user@example.com");
+        outbox.add(mail);
+        LocalDateTime before = LocalDateTime.now();
+
+        MailOutboxDispatcher dispatcher = dispatcher(sender(1), 10);
+        dispatcher.dispatchBatch();
+
+        assertEquals(MailStatus.PENDING, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertNotNull(mail.getLastError());
+        assertFalse(mail.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+
+        // not due yet, so the next run leaves it alone
+        assertEquals(0, dispatcher.dispatchBatch());
+    }
+
+    @Test
+    void deadLettersAfterMaxAttempts() {
+        OutboxMail mail = mail("user@example.com");
+        mail.setAttempts(2);
+        outbox.add(mail);
+
+        dispatcher(sender(1), 10).dispatchBatch();
+
+        assertEquals(MailStatus.DEAD, mail.getStatus());
+        assertEquals(3, mail.getAttempts());
+    }
+
+    @Test
+    void sendsWithTheBatchLeasedButNoTransactionOpen() {
+        OutboxMail mail = mail("user@example.com");
+        outbox.add(mail);
+        JavaMailSenderImpl sender = sender(greenMail.getSmtp().getPort());
+        JavaMailSenderImpl watched = mock(JavaMailSenderImpl.class);
+        AtomicInteger openTransactions = new AtomicInteger();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            openTransactions.incrementAndGet();
+            return mock(TransactionStatus.class);
+        });
+        doAnswer(invocation -> openTransactions.decrementAndGet()).when(transactionManager).commit(any());
+        List<String> whileSending = new ArrayList<>();
+        doAnswer(invocation -> {
+            whileSending.add(mail.getStatus() + " in " + openTransactions.get() + " transactions");
+            sender.send(Arrays.copyOf(invocation.getArguments(), invocation.getArguments().length, SimpleMailMessage[].class));
+            return null;
+        }).when(watched).send(any(SimpleMailMessage[].class));
+
+        dispatcher(watched, 10).dispatchBatch();
+
+        assertEquals(List.of("SENDING in 0 transactions"), whileSending);
+        assertEquals(MailStatus.SENT, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        // Claim and mark are two separate transactions around the send
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void reclaimsMailsWhoseLeaseRanOut() {
+        OutboxMail orphaned = mail("orphaned@example.com");
+        orphaned.setStatus(MailStatus.SENDING);
+        orphaned.setAttempts(1);
+        orphaned.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        OutboxMail leased = mail("leased@example.com");
+        leased.setStatus(MailStatus.SENDING);
+        leased.setAttempts(1);
+        leased.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+        outbox.add(orphaned);
+        outbox.add(leased);
+
+        assertEquals(1, dispatcher(sender(greenMail.getSmtp().getPort()), 10).dispatchBatch());
+
+        assertEquals(MailStatus.SENT, orphaned.getStatus());
+        assertEquals(2, orphaned.getAttempts());
+        assertEquals(MailStatus.SENDING, leased.getStatus());
+        assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void deadLettersALapsedLeaseOnItsLastAttempt() {
+        OutboxMail mail = mail("user@example.com");
+        mail.setStatus(MailStatus.SENDING);
+        mail.setAttempts(3);
+        mail.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outbox.add(mail);
+
+        dispatcher(sender(greenMail.getSmtp().getPort()), 10).dispatchBatch();
+
+        assertEquals(MailStatus.DEAD, mail.getStatus());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        MailOutboxDispatcher dispatcher = dispatcher(sender(1), 10);
+
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(60), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(120), dispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(5), dispatcher.backoff(10));
+    }
+
+    private MailOutboxDispatcher dispatcher(JavaMailSenderImpl sender, int batchSize) {
+        return new MailOutboxDispatcher(meterRegistry, repository, sender, transactionTemplate, "noreply@eventhub.test",
+                batchSize, 3, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofMinutes(5));
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "1000");
+        return sender;
+    }
+
+    private OutboxMail mail(String to) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxMail.builder()
+                .id(ids.incrementAndGet())
+                .recipient(to)
+                .subject("Verify your account")
+                .body("Click the link")
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
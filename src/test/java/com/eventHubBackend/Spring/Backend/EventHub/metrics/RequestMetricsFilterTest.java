@@ -0,0 +1,81 @@
+package com.eventHubBackend.Spring.Backend.EventHub.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, Duration.ofMillis(20));
+
+    /**
+     * Stands in for a handler whose Hibernate session runs the given statements.
+     */
+    private static MockFilterChain runningStatements(long... millis) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                StatementTimingListener session = new StatementTimingListener();
+                for (long statementMillis : millis) {
+                    session.jdbcExecuteStatementStart();
+                    sleep(statementMillis);
+                    session.jdbcExecuteStatementEnd();
+                }
+            }
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MockHttpServletRequest request(String uri, String template) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, template);
+        return request;
+    }
+
+    @Test
+    void recordsStatementsTimeAndSlowStatementsPerRoute() throws Exception {
+        filter.doFilter(request("/api/users/liked", "/api/users/liked"), new MockHttpServletResponse(), runningStatements(0, 0, 30));
+        filter.doFilter(request("/api/events/7", "/api/events/{id}"), new MockHttpServletResponse(), runningStatements(0));
+
+        var statements = meterRegistry.get("eventhub.db.statements").tag("uri", "/api/users/liked").summary();
+        assertEquals(1, statements.count());
+        assertEquals(3, statements.totalAmount());
+        assertTrue(meterRegistry.get("eventhub.db.time").tag("uri", "/api/users/liked").timer()
+                .totalTime(TimeUnit.MILLISECONDS) >= 30);
+        assertEquals(1, meterRegistry.get("eventhub.db.slow-statements").tag("uri", "/api/users/liked").counter().count());
+
+        assertEquals(1, meterRegistry.get("eventhub.db.statements").tag("uri", "/api/events/{id}").summary().totalAmount());
+        assertNull(meterRegistry.find("eventhub.db.slow-statements").tag("uri", "/api/events/{id}").counter());
+    }
+
+    @Test
+    void statementsOutsideARequestAreNotAttributed() throws Exception {
+        StatementTimingListener scheduler = new StatementTimingListener();
+        scheduler.jdbcExecuteStatementStart();
+        scheduler.jdbcExecuteStatementEnd();
+
+        filter.doFilter(request("/api/nowhere", null), new MockHttpServletResponse(), runningStatements());
+
+        assertNull(RequestDbStats.current());
+        assertEquals(0, meterRegistry.get("eventhub.db.statements").tag("uri", "UNKNOWN").summary().totalAmount());
+    }
+}
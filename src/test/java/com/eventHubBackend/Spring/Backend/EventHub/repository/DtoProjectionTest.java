@@ -0,0 +1,142 @@
+package com.eventHubBackend.Spring.Backend.EventHub.repository;
+
+import com.eventHubBackend.Spring.Backend.EventHub.dto.VenueDTO;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The DTO reads against H2: each is a single statement, no entity is loaded, and the
+ * constructor expressions line up with the DTO fields.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DtoProjectionTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 9, 1, 18, 0);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Venue hall;
+    private Event concert;
+
+    @BeforeEach
+    void setUp() {
+        hall = venueRepository.save(Venue.builder().name("Hall").address("Main street 1").latitude(52.5).longitude(13.4).build());
+        venueRepository.save(Venue.builder().name("Arena").address("Ring road 3").build());
+        venueRepository.save(Venue.builder().name("Club").address("Side street 2").build());
+
+        concert = eventRepository.save(Event.builder().title("Concert").description("Loud").price(25)
+                .startTime(DAY).endTime(DAY.plusHours(2)).eventCategory(EventCategories.MUSIC)
+                .venue(hall).likeCount(7).build());
+        eventRepository.save(Event.builder().title("Talk").price(0)
+                .startTime(DAY.plusHours(3)).endTime(DAY.plusHours(4)).eventCategory(EventCategories.GENERAL)
+                .venue(hall).build());
+        eventRepository.save(Event.builder().title("Workshop").price(40)
+                .startTime(DAY.plusHours(5)).endTime(DAY.plusHours(6)).eventCategory(EventCategories.GENERAL)
+                .venue(hall).likeCount(2).build());
+
+        // Reads below start from an empty persistence context and clean counters
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private void assertStatementsWithoutEntities(long statements) {
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findResponsesMapsEveryColumnInOneStatement() {
+        Specification<Event> paid = (root, query, cb) -> cb.greaterThan(root.get("price"), 0.0);
+
+        List<EventResponse> responses = eventRepository.findResponses(paid,
+                Sort.by(Sort.Direction.DESC, "startTime").and(Sort.by("id")), 10);
+
+        assertStatementsWithoutEntities(1);
+        assertEquals(List.of("Workshop", "Concert"), responses.stream().map(EventResponse::getTitle).toList());
+        EventResponse response = responses.get(1);
+        assertEquals(concert.getId(), response.getId());
+        assertEquals("Loud", response.getDescription());
+        assertEquals(25, response.getPrice());
+        assertEquals(DAY, response.getStartTime());
+        assertEquals(DAY.plusHours(2), response.getEndTime());
+        assertEquals("Main street 1", response.getVenueAddress());
+        assertEquals(EventCategories.MUSIC, response.getEventCategories());
+        assertEquals(7, response.getLikeCount());
+    }
+
+    @Test
+    void findResponsesHonoursTheLimit() {
+        List<EventResponse> responses = eventRepository.findResponses((root, query, cb) -> null,
+                Sort.by("startTime", "id"), 2);
+
+        assertStatementsWithoutEntities(1);
+        assertEquals(List.of("Concert", "Talk"), responses.stream().map(EventResponse::getTitle).toList());
+    }
+
+    @Test
+    void findResponseByIdIsOneStatement() {
+        EventResponse response = eventRepository.findResponseById(concert.getId()).orElseThrow();
+
+        assertStatementsWithoutEntities(1);
+        assertEquals("Concert", response.getTitle());
+        assertEquals(7, response.getLikeCount());
+        assertEquals("Main street 1", response.getVenueAddress());
+    }
+
+    @Test
+    void findAllDtosAppliesThePageableSort() {
+        Page<VenueDTO> first = venueRepository.findAllDtos(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name")));
+
+        // The page and its count
+        assertStatementsWithoutEntities(2);
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of("Hall", "Club"), first.getContent().stream().map(VenueDTO::getName).toList());
+        VenueDTO venue = first.getContent().get(0);
+        assertEquals(hall.getId(), venue.getId());
+        assertEquals("Main street 1", venue.getAddress());
+        assertEquals(52.5, venue.getLatitude());
+        assertEquals(13.4, venue.getLongitude());
+
+        statistics.clear();
+        Page<VenueDTO> last = venueRepository.findAllDtos(PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "name")));
+
+        assertEquals(List.of("Arena"), last.getContent().stream().map(VenueDTO::getName).toList());
+        assertNull(last.getContent().get(0).getLatitude());
+        // A short last page needs no count query
+        assertStatementsWithoutEntities(1);
+    }
+}
@@ -0,0 +1,89 @@
+package com.eventHubBackend.Spring.Backend.EventHub.schedule;
+
+import com.eventHubBackend.Spring.Backend.EventHub.dto.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VenueScheduleTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+
+    @Test
+    void detectsOverlapsButAllowsTouchingSlots() {
+        VenueSchedule schedule = new VenueSchedule();
+        schedule.put(1, at(10), at(12));
+        schedule.put(2, at(14), at(16));
+
+        assertTrue(schedule.conflicts(at(11), at(13), null));
+        assertTrue(schedule.conflicts(at(9), at(17), null));
+        assertTrue(schedule.conflicts(at(15), at(15).plusMinutes(30), null));
+        assertFalse(schedule.conflicts(at(12), at(14), null));
+        assertFalse(schedule.conflicts(at(8), at(10), null));
+        assertFalse(schedule.conflicts(at(16), at(18), null));
+    }
+
+    @Test
+    void ignoresTheEventBeingUpdated() {
+        VenueSchedule schedule = new VenueSchedule();
+        schedule.put(1, at(10), at(12));
+        schedule.put(2, at(8), at(9));
+
+        assertFalse(schedule.conflicts(at(11), at(13), 1L));
+        assertTrue(schedule.conflicts(at(8), at(13), 1L));
+    }
+
+    @Test
+    void movingAnEventFreesItsOldSlot() {
+        VenueSchedule schedule = new VenueSchedule();
+        schedule.put(1, at(10), at(12));
+        schedule.put(1, at(18), at(20));
+
+        assertFalse(schedule.conflicts(at(10), at(12), null));
+        assertTrue(schedule.conflicts(at(19), at(21), null));
+        assertEquals(1, schedule.size());
+
+        schedule.remove(1);
+        assertEquals(0, schedule.size());
+    }
+
+    @Test
+    void sweepsFreeSlotsAcrossTheRange() {
+        VenueSchedule schedule = new VenueSchedule();
+        schedule.put(1, at(6), at(9));    // starts before the range
+        schedule.put(2, at(12), at(13));
+        schedule.put(3, at(13), at(15));  // back to back with 2
+        schedule.put(4, at(20), at(23));  // runs past the range
+
+        List<TimeSlot> free = schedule.freeSlots(at(8), at(21));
+
+        assertEquals(List.of(
+                new TimeSlot(at(9), at(12)),
+                new TimeSlot(at(15), at(20))
+        ), free);
+    }
+
+    @Test
+    void emptyScheduleIsFreeForTheWholeRange() {
+        assertEquals(List.of(new TimeSlot(at(0), at(24))), new VenueSchedule().freeSlots(at(0), at(24)));
+    }
+
+    @Test
+    void listsEventsStartingInTheRangeSoonestFirst() {
+        VenueSchedule schedule = new VenueSchedule();
+        schedule.put(1, at(6), at(9));    // already running at the start of the range
+        schedule.put(3, at(14), at(15));
+        schedule.put(2, at(10), at(12));
+        schedule.put(4, at(20), at(23));
+
+        assertEquals(List.of(2L, 3L, 4L), schedule.startingBetween(at(8), at(21), 10));
+        assertEquals(List.of(2L), schedule.startingBetween(at(8), at(21), 1));
+    }
+}
@@ -0,0 +1,93 @@
+package com.eventHubBackend.Spring.Backend.EventHub.search;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventFilter;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency over one million synthetic events. Words are drawn from a skewed vocabulary so
+ * that some terms are in a large share of the documents, as real titles are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class EventSearchIndexBenchmark {
+
+    private static final String[] COMMON = {"live", "night", "festival", "concert", "workshop", "meetup", "tour", "party"};
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Param("1000000")
+    public int events;
+
+    private EventSearchIndex index;
+    private EventFilter musicThisMonth;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new EventSearchIndex(Mockito.mock(EventRepository.class));
+        SplittableRandom random = new SplittableRandom(42);
+        EventCategories[] categories = EventCategories.values();
+
+        for (int id = 1; id <= events; id++) {
+            String title = COMMON[random.nextInt(COMMON.length)] + " " + word(random) + " " + word(random);
+            String description = word(random) + " " + word(random) + " " + word(random) + " " + word(random);
+            index.index(new EventSearchIndex.Entry(id, title, description, (long) random.nextInt(2000),
+                    "Venue " + word(random), word(random) + " street", categories[random.nextInt(categories.length)],
+                    START.plusHours(random.nextInt(24 * 365)), random.nextInt(200)));
+        }
+
+        musicThisMonth = new EventFilter();
+        musicThisMonth.setCategory(EventCategories.MUSIC);
+        musicThisMonth.setFrom(START);
+        musicThisMonth.setTo(START.plusDays(30));
+    }
+
+    /**
+     * About 20k distinct words with a Zipf-like skew: low ranks are far more frequent.
+     */
+    private static String word(SplittableRandom random) {
+        int rank = (int) Math.pow(20_000, random.nextDouble());
+        return "w" + Integer.toString(rank, 36);
+    }
+
+    @Benchmark
+    public Object commonTerm() {
+        return index.search("festival", null, 0, 20);
+    }
+
+    @Benchmark
+    public Object rareTerm() {
+        return index.search("wabc", null, 0, 20);
+    }
+
+    @Benchmark
+    public Object twoTerms() {
+        return index.search("live w1", null, 0, 20);
+    }
+
+    @Benchmark
+    public Object prefix() {
+        return index.search("concert wa", null, 0, 20);
+    }
+
+    @Benchmark
+    public Object filtered() {
+        return index.search("night", musicThisMonth, 0, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventSearchIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
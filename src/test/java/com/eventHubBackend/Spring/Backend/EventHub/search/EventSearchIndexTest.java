@@ -0,0 +1,158 @@
+package com.eventHubBackend.Spring.Backend.EventHub.search;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogChangedEvent;
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventFilter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 9, 1, 20, 0);
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final EventSearchIndex index = new EventSearchIndex(eventRepository);
+
+    private void add(long id, String title, String description, EventCategories category, int dayOffset) {
+        index.index(new EventSearchIndex.Entry(id, title, description, 1L, "Blue Note", "Main Street 5",
+                category, DAY.plusDays(dayOffset), 25));
+    }
+
+    private static EventRepository.SearchDocument document(long id, String title, long venueId, String venueName) {
+        EventRepository.SearchDocument document = mock(EventRepository.SearchDocument.class);
+        when(document.getId()).thenReturn(id);
+        when(document.getTitle()).thenReturn(title);
+        when(document.getVenueId()).thenReturn(venueId);
+        when(document.getVenueName()).thenReturn(venueName);
+        when(document.getEventCategory()).thenReturn(EventCategories.MUSIC);
+        when(document.getStartTime()).thenReturn(DAY);
+        return document;
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        add(1, "Summer party", "Jazz trio plays late", EventCategories.MUSIC, 0);
+        add(2, "Jazz night", "An evening of standards", EventCategories.MUSIC, 0);
+        add(3, "Tech meetup", "Talks about databases", EventCategories.TECHNOLOGY, 0);
+
+        assertEquals(List.of(2L, 1L), index.search("jazz", null, 0, 10).eventIds());
+    }
+
+    @Test
+    void requiresEveryTermAndExpandsTheLastOneAsPrefix() {
+        add(1, "Jazz night", null, EventCategories.MUSIC, 0);
+        add(2, "Jazz brunch", null, EventCategories.FOOD_AND_DRINK, 0);
+        add(3, "Night market", null, EventCategories.FOOD_AND_DRINK, 0);
+
+        assertEquals(List.of(1L), index.search("jazz nig", null, 0, 10).eventIds());
+        assertEquals(2, index.search("ja", null, 0, 10).total());
+        assertEquals(0, index.search("jazz market", null, 0, 10).total());
+    }
+
+    @Test
+    void matchesVenueTextAndIgnoresCaseAndAccents() {
+        add(1, "Café Concert", null, EventCategories.MUSIC, 0);
+
+        assertEquals(List.of(1L), index.search("CAFE", null, 0, 10).eventIds());
+        assertEquals(List.of(1L), index.search("blue note", null, 0, 10).eventIds());
+    }
+
+    @Test
+    void appliesCategoryAndDateFilters() {
+        add(1, "Open air jazz", null, EventCategories.MUSIC, 0);
+        add(2, "Jazz cooking class", null, EventCategories.FOOD_AND_DRINK, 3);
+        add(3, "Jazz history talk", null, EventCategories.MUSIC, 10);
+
+        EventFilter music = new EventFilter();
+        music.setCategory(EventCategories.MUSIC);
+        assertEquals(2, index.search("jazz", music, 0, 10).total());
+
+        EventFilter nextWeek = new EventFilter();
+        nextWeek.setCategory(EventCategories.MUSIC);
+        nextWeek.setFrom(DAY.plusDays(1));
+        nextWeek.setTo(DAY.plusDays(14));
+        assertEquals(List.of(3L), index.search("jazz", nextWeek, 0, 10).eventIds());
+    }
+
+    @Test
+    void updatesReplaceAndRemovalsHideDocuments() {
+        add(1, "Jazz night", null, EventCategories.MUSIC, 0);
+        add(1, "Rock night", null, EventCategories.MUSIC, 0);
+
+        assertEquals(0, index.search("jazz", null, 0, 10).total());
+        assertEquals(List.of(1L), index.search("rock", null, 0, 10).eventIds());
+
+        index.remove(1);
+        assertEquals(0, index.search("rock", null, 0, 10).total());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void pagesThroughResultsAndSurvivesCompaction() {
+        for (long id = 1; id <= 3000; id++) {
+            add(id, "Concert " + id, id % 2 == 0 ? "even" : "odd", EventCategories.MUSIC, (int) (id % 30));
+        }
+        // Enough tombstones to trigger compaction
+        for (long id = 1; id <= 3000; id += 2) {
+            index.remove(id);
+        }
+
+        EventSearchIndex.Result first = index.search("concert", null, 0, 20);
+        EventSearchIndex.Result second = index.search("concert", null, 20, 20);
+        assertEquals(1500, first.total());
+        assertEquals(20, first.eventIds().size());
+        assertTrue(first.eventIds().stream().noneMatch(second.eventIds()::contains));
+        assertEquals(0, index.search("odd", null, 0, 10).total());
+        // "42" is also a prefix of 420..428; the exact term ranks first
+        assertEquals(42L, index.search("concert 42", null, 0, 10).eventIds().get(0));
+    }
+
+    @Test
+    void intersectsBroadAndNarrowTermsAlike() {
+        for (long id = 1; id <= 300; id++) {
+            String title = "Market" + (id % 3 == 0 ? " fair" : "") + (id == 15 || id == 16 ? " rare" : "");
+            add(id, title, "stalls", EventCategories.FOOD_AND_DRINK, 0);
+        }
+
+        // Comparable sizes: the second term is walked once
+        assertEquals(100, index.search("fair market", null, 0, 10).total());
+        // A rare driver: the broad term is only probed for its two candidates
+        assertEquals(2, index.search("rare market", null, 0, 10).total());
+        assertEquals(List.of(15L), index.search("rare fair market", null, 0, 10).eventIds());
+    }
+
+    @Test
+    void reindexesWhatAnotherNodeChanged() {
+        add(1, "Jazz night", null, EventCategories.MUSIC, 0);
+        add(2, "Jazz brunch", null, EventCategories.MUSIC, 0);
+        add(3, "Rock night", null, EventCategories.MUSIC, 0);
+
+        // Event 1 was renamed and event 2 deleted on the other node
+        List<EventRepository.SearchDocument> renamed = List.of(document(1, "Blues night", 1, "Blue Note"));
+        when(eventRepository.findSearchDocumentsByIdIn(anyCollection())).thenReturn(renamed);
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogVersions.Catalog.EVENTS, Set.of(1L, 2L)));
+
+        assertEquals(0, index.search("jazz", null, 0, 10).total());
+        assertEquals(List.of(1L), index.search("blues", null, 0, 10).eventIds());
+
+        // The venue was renamed and lost event 3
+        EventRepository.SearchDocument moved = document(1, "Blues night", 1, "Green Room");
+        when(eventRepository.streamSearchDocumentsByVenueId(1L)).thenReturn(Stream.of(moved));
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogVersions.Catalog.VENUES, Set.of(1L)));
+
+        assertEquals(List.of(1L), index.search("green room", null, 0, 10).eventIds());
+        assertEquals(0, index.search("rock", null, 0, 10).total());
+        assertEquals(1, index.size());
+    }
+}
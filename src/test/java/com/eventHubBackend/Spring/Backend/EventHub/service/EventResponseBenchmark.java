@@ -0,0 +1,106 @@
+package com.eventHubBackend.Spring.Backend.EventHub.service;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.likes.EventLikeCounter;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogChangeRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogVersionRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.CursorPage;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Turning a page of loaded events into the response body: mapToResponse over the page, then
+ * Jackson serialization with the object mapper Spring MVC builds by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventResponseBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private EventService eventService;
+    private Method mapToResponse;
+    private ObjectMapper objectMapper;
+    private List<Event> page;
+    private CursorPage<EventResponse> mapped;
+
+    @Setup
+    public void setUp() throws Exception {
+        eventService = new EventService();
+        ReflectionTestUtils.setField(eventService, "eventLikeCounter", new EventLikeCounter(
+                mock(JdbcTemplate.class), new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new CatalogVersions(mock(CatalogVersionRepository.class), mock(CatalogChangeRepository.class),
+                mock(PlatformTransactionManager.class)), 500, false));
+        // Private; called reflectively so the service keeps its shape
+        mapToResponse = EventService.class.getDeclaredMethod("mapToResponse", Event.class);
+        mapToResponse.setAccessible(true);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Venue venue = Venue.builder().id(1L).name("Hall").address("1 Main Street, Springfield").build();
+        LocalDateTime start = LocalDateTime.of(2026, 6, 1, 19, 0);
+        page = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            page.add(Event.builder()
+                    .id(id)
+                    .title("Summer concert series, night " + id)
+                    .description("An evening of live music in the park with food trucks and a late set from a guest band.")
+                    .price(25.0)
+                    .startTime(start.plusDays(id))
+                    .endTime(start.plusDays(id).plusHours(3))
+                    .venue(venue)
+                    .eventCategory(EventCategories.values()[(int) (id % EventCategories.values().length)])
+                    .build());
+        }
+        mapped = map();
+    }
+
+    @Benchmark
+    public CursorPage<EventResponse> map() throws Exception {
+        List<EventResponse> items = new ArrayList<>(page.size());
+        for (Event event : page) {
+            items.add((EventResponse) mapToResponse.invoke(eventService, event));
+        }
+        return CursorPage.<EventResponse>builder().items(items).nextCursor("cursor").hasMore(true).build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(mapped);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(map());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventResponseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
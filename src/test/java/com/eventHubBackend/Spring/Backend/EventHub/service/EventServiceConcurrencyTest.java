@@ -0,0 +1,137 @@
+package com.eventHubBackend.Spring.Backend.EventHub.service;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.likes.EventLikeCounter;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogChangeRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogVersionRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.VenueRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventRequest;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueLockManager;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueScheduleIndex;
+import com.eventHubBackend.Spring.Backend.EventHub.search.EventSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Many organisers booking slots at one venue at once. The repositories are mocks whose
+ * overlap check and insert are deliberately slow, so without venue locking the
+ * check-then-insert window is wide open.
+ */
+class EventServiceConcurrencyTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final VenueRepository venueRepository = mock(VenueRepository.class);
+    private final List<Event> committed = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private EventService eventService;
+
+    @BeforeEach
+    void setUp() {
+        Venue venue = Venue.builder().id(1L).name("Hall").address("Main street 1").build();
+        when(venueRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(venue));
+
+        when(eventRepository.existsOverlapping(eq(1L), any(), any(), isNull())).thenAnswer(invocation -> {
+            LocalDateTime start = invocation.getArgument(1);
+            LocalDateTime end = invocation.getArgument(2);
+            boolean overlaps = committed.stream().anyMatch(e -> e.getStartTime().isBefore(end) && e.getEndTime().isAfter(start));
+            Thread.sleep(1);
+            return overlaps;
+        });
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> {
+            Event event = invocation.getArgument(0);
+            Thread.sleep(1);
+            event.setId(ids.incrementAndGet());
+            committed.add(event);
+            return event;
+        });
+
+        eventService = new EventService();
+        ReflectionTestUtils.setField(eventService, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(eventService, "venueRepository", venueRepository);
+        ReflectionTestUtils.setField(eventService, "venueScheduleIndex", new VenueScheduleIndex(eventRepository));
+        ReflectionTestUtils.setField(eventService, "venueLockManager", new VenueLockManager(64));
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", new EventSearchIndex(eventRepository));
+        CatalogVersions catalogVersions = new CatalogVersions(mock(CatalogVersionRepository.class), mock(CatalogChangeRepository.class),
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(eventService, "catalogVersions", catalogVersions);
+        ReflectionTestUtils.setField(eventService, "eventLikeCounter", new EventLikeCounter(mock(JdbcTemplate.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), catalogVersions, 500, false));
+        ReflectionTestUtils.setField(eventService, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void concurrentBookingsNeverCommitOverlappingSlots() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 40;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        LocalDateTime from = DAY.plusMinutes(30L * random.nextInt(96));
+                        LocalDateTime to = from.plusMinutes(30L * (1 + random.nextInt(6)));
+                        try {
+                            eventService.createEvent(EventRequest.builder()
+                                    .title("Event").venueId(1L).startTime(from).endTime(to).build());
+                        } catch (IllegalStateException ex) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertFalse(committed.isEmpty());
+        assertEquals(threads * attemptsPerThread, committed.size() + rejected.get());
+        for (int i = 0; i < committed.size(); i++) {
+            for (int j = i + 1; j < committed.size(); j++) {
+                Event a = committed.get(i);
+                Event b = committed.get(j);
+                assertFalse(a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime()),
+                        "events " + a.getId() + " and " + b.getId() + " overlap");
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.eventHubBackend.Spring.Backend.EventHub.service;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.controller.EventController;
+import com.eventHubBackend.Spring.Backend.EventHub.controllerAdvice.GlobalExceptionHandler;
+import com.eventHubBackend.Spring.Backend.EventHub.likes.EventLikeCounter;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogChangeRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogVersionRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.VenueRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.CursorPage;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventFilter;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset paging against the real queries. Many events share a start time, so pages only
+ * line up if the id tie-breaker in the cursor works.
+ */
+@DataJpaTest
+class EventServiceCursorTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 9, 1, 18, 0);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    private EventService eventService;
+    private final List<Event> events = new ArrayList<>();
+    private Venue hall;
+
+    @BeforeEach
+    void setUp() {
+        hall = venueRepository.save(Venue.builder().name("Hall").address("Main street 1").build());
+        Venue club = venueRepository.save(Venue.builder().name("Club").address("Side street 2").build());
+
+        // Three start times, seven events each, alternating venue, category and price
+        for (int i = 0; i < 21; i++) {
+            LocalDateTime start = DAY.plusHours(i % 3);
+            events.add(eventRepository.save(Event.builder()
+                    .title("Event " + i)
+                    .startTime(start)
+                    .endTime(start.plusHours(1))
+                    .price(i % 4 * 10)
+                    .eventCategory(i % 2 == 0 ? EventCategories.MUSIC : EventCategories.GENERAL)
+                    .venue(i % 3 == 0 ? club : hall)
+                    .build()));
+        }
+
+        eventService = new EventService();
+        ReflectionTestUtils.setField(eventService, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(eventService, "eventLikeCounter", new EventLikeCounter(mock(JdbcTemplate.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new CatalogVersions(mock(CatalogVersionRepository.class), mock(CatalogChangeRepository.class),
+                mock(PlatformTransactionManager.class)), 500, false));
+    }
+
+    private List<Long> readAll(EventFilter filter, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<EventResponse> page = eventService.getEvents(filter, cursor, size);
+            assertTrue(page.getItems().size() <= size);
+            page.getItems().forEach(event -> ids.add(event.getId()));
+            assertEquals(page.isHasMore(), page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> expected(Predicate<Event> filter) {
+        return events.stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(Event::getStartTime).thenComparing(Event::getId))
+                .map(Event::getId)
+                .toList();
+    }
+
+    @Test
+    void pagesAcrossEqualStartTimesWithoutGapsOrRepeats() {
+        assertEquals(expected(event -> true), readAll(new EventFilter(), 2));
+        assertEquals(expected(event -> true), readAll(new EventFilter(), 7));
+    }
+
+    @Test
+    void filtersApplyOnEveryPage() {
+        EventFilter filter = EventFilter.builder()
+                .category(EventCategories.MUSIC)
+                .venueId(hall.getId())
+                .minPrice(10.0)
+                .build();
+
+        List<Long> ids = readAll(filter, 2);
+
+        assertFalse(ids.isEmpty());
+        assertEquals(expected(event -> event.getEventCategory() == EventCategories.MUSIC
+                && event.getVenue() == hall && event.getPrice() >= 10), ids);
+    }
+
+    @Test
+    void dateRangeCombinesWithTheCursor() {
+        EventFilter filter = EventFilter.builder()
+                .from(DAY.plusHours(1))
+                .to(DAY.plusHours(2))
+                .maxPrice(20.0)
+                .build();
+
+        assertEquals(expected(event -> event.getStartTime().equals(DAY.plusHours(1)) && event.getPrice() <= 20),
+                readAll(filter, 3));
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> eventService.getEvents(new EventFilter(), "not-a-cursor", 5));
+
+        EventController controller = new EventController();
+        ReflectionTestUtils.setField(controller, "eventService", eventService);
+        ReflectionTestUtils.setField(controller, "catalogVersions", new CatalogVersions(
+                mock(CatalogVersionRepository.class), mock(CatalogChangeRepository.class), mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(controller, "listMaxAge", Duration.ofSeconds(5));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/api/events").param("cursor", "bm90IGEgY3Vyc29y"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: bm90IGEgY3Vyc29y"));
+        mockMvc.perform(get("/api/events").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,179 @@
+package com.eventHubBackend.Spring.Backend.EventHub.service;
+
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogChangedEvent;
+import com.eventHubBackend.Spring.Backend.EventHub.catalog.CatalogVersions;
+import com.eventHubBackend.Spring.Backend.EventHub.likes.EventLikeCounter;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Event;
+import com.eventHubBackend.Spring.Backend.EventHub.model.Venue;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogChangeRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.CatalogVersionRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.EventRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.repository.VenueRepository;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventRequest;
+import com.eventHubBackend.Spring.Backend.EventHub.reqresdto.EventResponse;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueLockManager;
+import com.eventHubBackend.Spring.Backend.EventHub.schedule.VenueScheduleIndex;
+import com.eventHubBackend.Spring.Backend.EventHub.search.EventSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Two EventService instances with their own stripe locks and schedule indexes stand in for two
+ * nodes, so only the venue row lock and the overlap query inside it can keep their bookings
+ * apart. Each booking commits for real.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:venue-row-lock;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventServiceRowLockTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        eventRepository.deleteAll();
+        venueRepository.deleteAll();
+    }
+
+    /**
+     * The real repository, with a pause after the overlap query to hold the check-then-insert
+     * window open.
+     */
+    private EventRepository slowOverlapCheck() {
+        EventRepository slow = mock(EventRepository.class, delegatesTo(eventRepository));
+        doAnswer(invocation -> {
+            boolean overlaps = eventRepository.existsOverlapping(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2), invocation.getArgument(3));
+            Thread.sleep(2);
+            return overlaps;
+        }).when(slow).existsOverlapping(any(), any(), any(), any());
+        return slow;
+    }
+
+    private EventService node() {
+        EventService eventService = new EventService();
+        ReflectionTestUtils.setField(eventService, "eventRepository", slowOverlapCheck());
+        ReflectionTestUtils.setField(eventService, "venueRepository", venueRepository);
+        ReflectionTestUtils.setField(eventService, "venueScheduleIndex", new VenueScheduleIndex(eventRepository));
+        ReflectionTestUtils.setField(eventService, "venueLockManager", new VenueLockManager(64));
+        ReflectionTestUtils.setField(eventService, "eventSearchIndex", new EventSearchIndex(eventRepository));
+        CatalogVersions catalogVersions = new CatalogVersions(mock(CatalogVersionRepository.class), mock(CatalogChangeRepository.class),
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(eventService, "catalogVersions", catalogVersions);
+        ReflectionTestUtils.setField(eventService, "eventLikeCounter", new EventLikeCounter(mock(JdbcTemplate.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), catalogVersions, 500, false));
+        ReflectionTestUtils.setField(eventService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        return eventService;
+    }
+
+    @Test
+    void twoNodesNeverCommitOverlappingSlots() throws Exception {
+        Long venueId = venueRepository.save(Venue.builder().name("Hall").address("Main street 1").build()).getId();
+        List<EventService> nodes = List.of(node(), node());
+        int threadsPerNode = 4;
+        int rounds = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(nodes.size() * threadsPerNode);
+        // Every thread on both nodes goes for the same hour in each round
+        CyclicBarrier round = new CyclicBarrier(nodes.size() * threadsPerNode);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        for (EventService node : nodes) {
+            for (int t = 0; t < threadsPerNode; t++) {
+                pool.execute(() -> {
+                    try {
+                        for (int i = 0; i < rounds; i++) {
+                            LocalDateTime from = DAY.plusHours(i).plusMinutes(15L * ThreadLocalRandom.current().nextInt(3));
+                            round.await();
+                            try {
+                                node.createEvent(EventRequest.builder()
+                                        .title("Event").venueId(venueId).startTime(from).endTime(from.plusHours(1)).build());
+                                created.incrementAndGet();
+                            } catch (IllegalStateException ex) {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException | BrokenBarrierException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        }
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        List<Event> committed = new ArrayList<>(eventRepository.findAll());
+        assertEquals(nodes.size() * threadsPerNode * rounds, created.get() + rejected.get());
+        assertEquals(created.get(), committed.size());
+        assertTrue(rejected.get() > 0);
+        for (int i = 0; i < committed.size(); i++) {
+            for (int j = i + 1; j < committed.size(); j++) {
+                Event a = committed.get(i);
+                Event b = committed.get(j);
+                assertFalse(a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime()),
+                        "events " + a.getId() + " and " + b.getId() + " overlap");
+            }
+        }
+    }
+
+    @Test
+    void staleConflictInTheIndexIsOnlyAHint() {
+        Long venueId = venueRepository.save(Venue.builder().name("Hall").address("Main street 1").build()).getId();
+        EventService first = node();
+        EventService second = node();
+        VenueScheduleIndex secondIndex = (VenueScheduleIndex) ReflectionTestUtils.getField(second, "venueScheduleIndex");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> secondIndex.rebuild());
+        EventRequest slot = EventRequest.builder()
+                .title("Event").venueId(venueId).startTime(DAY).endTime(DAY.plusHours(1)).build();
+
+        // The second node learns of the first node's event, then misses its deletion
+        EventResponse event = first.createEvent(slot);
+        secondIndex.onCatalogChanged(new CatalogChangedEvent(CatalogVersions.Catalog.EVENTS, Set.of(event.getId())));
+        assertTrue(secondIndex.hasConflict(venueId, DAY, DAY.plusHours(1), null));
+        eventRepository.deleteById(event.getId());
+
+        EventResponse replacement = second.createEvent(slot);
+        assertNotEquals(event.getId(), replacement.getId());
+        assertThrows(IllegalStateException.class, () -> second.createEvent(slot));
+        assertEquals(List.of(replacement.getId()), secondIndex.upcoming(venueId, DAY, DAY.plusDays(1), 10));
+    }
+}
@@ -0,0 +1,59 @@
+package com.eventHubBackend.Spring.Backend.EventHub.trending;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interaction throughput with eight request threads recording a Zipf-like stream, and the cost
+ * of reading a rail after a million interactions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrendingEventsTrackerBenchmark {
+
+    private static final EventCategories[] CATEGORIES = EventCategories.values();
+
+    private TrendingEventsTracker tracker;
+
+    @State(Scope.Thread)
+    public static class Stream {
+        final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tracker = new TrendingEventsTracker(2048, 4, 64, 5, Path.of("target", "trending-benchmark.snapshot"));
+        Stream warm = new Stream();
+        for (int i = 0; i < 1_000_000; i++) {
+            record(warm);
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void record(Stream stream) {
+        long eventId = (long) Math.pow(100_000, stream.random.nextDouble());
+        tracker.recordView(eventId, CATEGORIES[(int) (eventId % CATEGORIES.length)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public Object topOfCategoryForTheDay() {
+        return tracker.top(EventCategories.MUSIC, TrendingEventsTracker.Window.DAY, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TrendingEventsTrackerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,173 @@
+package com.eventHubBackend.Spring.Backend.EventHub.trending;
+
+import com.eventHubBackend.Spring.Backend.EventHub.model.enums.EventCategories;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingEventsTrackerTest {
+
+    private static final int WIDTH = 2048;
+
+    @TempDir
+    Path tempDir;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-09-01T12:00:00Z"));
+
+    private TrendingEventsTracker tracker() {
+        return new TrendingEventsTracker(WIDTH, 4, 64, 5, tempDir.resolve("trending.snapshot"), clock);
+    }
+
+    @Test
+    void findsTheTrueTopEventsOfASkewedStream() {
+        TrendingEventsTracker tracker = tracker();
+        SplittableRandom random = new SplittableRandom(1);
+        Map<Long, Long> exact = new HashMap<>();
+        int interactions = 500_000;
+
+        for (int i = 0; i < interactions; i++) {
+            // Zipf-like over 50k events, spread over the hour
+            long eventId = (long) Math.pow(50_000, random.nextDouble());
+            tracker.recordView(eventId, EventCategories.MUSIC);
+            exact.merge(eventId, 1L, Long::sum);
+            if (i % 10_000 == 0) clock.advance(Duration.ofSeconds(30));
+        }
+
+        List<Long> expected = exact.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(10).map(Map.Entry::getKey).toList();
+        List<TrendingEventsTracker.Trend> top = tracker.top(EventCategories.MUSIC, TrendingEventsTracker.Window.HOUR, 10);
+
+        assertEquals(expected, top.stream().map(TrendingEventsTracker.Trend::eventId).toList());
+        // Never under, and over by at most e/width of the stream per live bucket
+        long bound = (long) (Math.E / WIDTH * interactions);
+        for (TrendingEventsTracker.Trend trend : top) {
+            long truth = exact.get(trend.eventId());
+            assertTrue(trend.score() >= truth);
+            assertTrue(trend.score() - truth <= bound, "overcount " + (trend.score() - truth) + " > " + bound);
+        }
+    }
+
+    @Test
+    void ranksWithinACategoryAndWeighsLikesAboveViews() {
+        TrendingEventsTracker tracker = tracker();
+        for (int i = 0; i < 10; i++) tracker.recordView(1, EventCategories.MUSIC);
+        for (int i = 0; i < 3; i++) tracker.recordLike(2, EventCategories.MUSIC);
+        for (int i = 0; i < 50; i++) tracker.recordView(3, EventCategories.SPORTS_AND_FITNESS);
+
+        assertEquals(List.of(new TrendingEventsTracker.Trend(2, 15), new TrendingEventsTracker.Trend(1, 10)),
+                tracker.top(EventCategories.MUSIC, TrendingEventsTracker.Window.HOUR, 10));
+        assertEquals(List.of(3L, 2L, 1L), ids(tracker.top(null, TrendingEventsTracker.Window.DAY, 10)));
+    }
+
+    @Test
+    void forgetsInteractionsOnceTheyLeaveTheWindow() {
+        TrendingEventsTracker tracker = tracker();
+        tracker.recordView(1, EventCategories.MUSIC);
+
+        clock.advance(Duration.ofMinutes(61));
+        tracker.recordView(2, EventCategories.MUSIC);
+        assertEquals(List.of(2L), ids(tracker.top(EventCategories.MUSIC, TrendingEventsTracker.Window.HOUR, 10)));
+        assertEquals(List.of(1L, 2L), ids(tracker.top(EventCategories.MUSIC, TrendingEventsTracker.Window.DAY, 10))
+                .stream().sorted().toList());
+
+        clock.advance(Duration.ofHours(25));
+        assertTrue(tracker.top(EventCategories.MUSIC, TrendingEventsTracker.Window.DAY, 10).isEmpty());
+    }
+
+    @Test
+    void survivesARestartThroughTheSnapshot() {
+        TrendingEventsTracker before = tracker();
+        for (int i = 0; i < 3; i++) before.recordView(7, EventCategories.TECHNOLOGY);
+        before.recordLike(8, EventCategories.TECHNOLOGY);
+        before.snapshot();
+
+        clock.advance(Duration.ofMinutes(10));
+        TrendingEventsTracker after = tracker();
+        after.restore();
+
+        assertEquals(List.of(new TrendingEventsTracker.Trend(8, 5), new TrendingEventsTracker.Trend(7, 3)),
+                after.top(EventCategories.TECHNOLOGY, TrendingEventsTracker.Window.HOUR, 10));
+
+        // A snapshot older than the window brings nothing back
+        clock.advance(Duration.ofDays(2));
+        TrendingEventsTracker stale = tracker();
+        stale.restore();
+        assertTrue(stale.top(null, TrendingEventsTracker.Window.DAY, 10).isEmpty());
+    }
+
+    @Test
+    void countsEveryInteractionUnderConcurrentWriters() throws Exception {
+        TrendingEventsTracker tracker = tracker();
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            pool.execute(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < perThread; i++) {
+                    // Half the traffic on one hot event, the rest spread thin
+                    long eventId = i % 2 == 0 ? 42 : 1000 + random.nextInt(100_000);
+                    tracker.recordView(eventId, EventCategories.MUSIC);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        TrendingEventsTracker.Trend hot = tracker.top(EventCategories.MUSIC, TrendingEventsTracker.Window.HOUR, 1).get(0);
+        assertEquals(42, hot.eventId());
+        assertTrue(hot.score() >= (long) threads * perThread / 2);
+    }
+
+    private static List<Long> ids(List<TrendingEventsTracker.Trend> trends) {
+        return trends.stream().map(TrendingEventsTracker.Trend::eventId).toList();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}